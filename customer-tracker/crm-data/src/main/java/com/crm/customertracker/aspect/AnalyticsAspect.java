@@ -1,36 +1,71 @@
 package com.crm.customertracker.aspect;
 
-import com.crm.customertracker.utils.CustomersMethodCall;
+import com.crm.customertracker.utils.MethodCalls;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.stereotype.Component;
 
-import java.util.logging.Logger;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Aspect
 @Component
 public class AnalyticsAspect {
-	// Logger for AnalyticsAspect Class
-	private final Logger logger = Logger.getLogger(getClass().getName());
+	private static final String APPLICATION_PACKAGE = "com.crm.customertracker.";
 
-	private final CustomersMethodCall customerMethodCalls;
+	private final MethodCalls methodCalls;
 
-	public AnalyticsAspect(CustomersMethodCall customerMethodCalls) {
-		this.customerMethodCalls = customerMethodCalls;
+	// Metric name of each method, per proxy class: a Spring Data method such as findById is declared by
+	// CrudRepository, so its name has to come from the repository interface the proxy implements
+	private final Map<Class<?>, Map<Method, String>> methodNames = new ConcurrentHashMap<>();
+
+	public AnalyticsAspect(MethodCalls methodCalls) {
+		this.methodCalls = methodCalls;
+	}
+
+	@Around("com.crm.customertracker.aspect.PointcutDeclarations.webAppFlow()")
+	public Object methodCallMetrics(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+		long begin = System.nanoTime();
+		boolean failed = true;
+
+		try {
+			// Execute the method and return its result
+			Object result = proceedingJoinPoint.proceed();
+			failed = false;
+			return result;
+		} finally {
+			// Count the call and record its duration, whether it returned or threw
+			methodCalls.recordMethodCall(methodName(proceedingJoinPoint), System.nanoTime() - begin, failed);
+		}
+	}
+
+	// Helper method: Metric name of the method, "Type.method"
+	String methodName(ProceedingJoinPoint proceedingJoinPoint) {
+		Method method = ((MethodSignature) proceedingJoinPoint.getSignature()).getMethod();
+		Object proxy = proceedingJoinPoint.getThis();
+		Class<?> proxyClass = proxy == null ? method.getDeclaringClass() : proxy.getClass();
+
+		return methodNames.computeIfAbsent(proxyClass, newProxyClass -> new ConcurrentHashMap<>())
+				.computeIfAbsent(method, newMethod -> ownerType(proxyClass, method).getSimpleName() + "." + method.getName());
 	}
 
-	@Around("com.crm.customertracker.aspect.PointcutDeclarations.NumberOfCallsForSaveCustomer()")
-	public void saveCustomerCalls(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
-		// Display Method we are calling
-		String methodSignature = proceedingJoinPoint.getSignature().toShortString();
-		logger.info("Method: " + methodSignature);
-		
-		// Execute the method
-		proceedingJoinPoint.proceed();
-	
-		// Increase the number of calls to this method by one and log the result
-		customerMethodCalls.numberOfMethodCalls();
-		logger.info("saveCustomer() Calls: " + customerMethodCalls.getSaveCustomerCalls());
+	// Helper method: The application type the method belongs to
+	private static Class<?> ownerType(Class<?> proxyClass, Method method) {
+		Class<?> declaringClass = method.getDeclaringClass();
+
+		if (declaringClass.getName().startsWith(APPLICATION_PACKAGE)) {
+			return declaringClass;
+		}
+
+		for (Class<?> proxyInterface : proxyClass.getInterfaces()) {
+			if (proxyInterface.getName().startsWith(APPLICATION_PACKAGE) && declaringClass.isAssignableFrom(proxyInterface)) {
+				return proxyInterface;
+			}
+		}
+
+		return declaringClass;
 	}
-}
\ No newline at end of file
+}
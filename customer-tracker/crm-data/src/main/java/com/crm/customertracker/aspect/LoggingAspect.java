@@ -1,11 +1,8 @@
 package com.crm.customertracker.aspect;
 
-import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
 import org.springframework.stereotype.Component;
 
 import java.util.logging.Logger;
@@ -16,32 +13,6 @@ public class LoggingAspect {
 	// Setup Logger
 	private final Logger logger = Logger.getLogger(getClass().getName());
 	
-	@Before("com.crm.customertracker.aspect.PointcutDeclarations.webAppFlow()")
-	public void beforeWebAppFlow(JoinPoint joinPoint) {
-		// Display Method Signature we are calling
-		String methodSignature = joinPoint.getSignature().toShortString();
-		logger.info("@Before: " + methodSignature);
-		
-		// Get the Method Arguments
-		Object[] args = joinPoint.getArgs();
-		
-		// Display the Method Arguments
-		for (Object arg : args) {
-			System.out.println("Method Argument: " + arg);
-		}
-	}
-	
-	@AfterReturning(pointcut = "com.crm.customertracker.aspect.PointcutDeclarations.webAppFlow()",
-			returning = "result")
-	public void afterReturningWebAppFlow(JoinPoint joinPoint, Object result) {
-		// Display Method we are returning from
-		String methodSignature = joinPoint.getSignature().toShortString();
-		logger.info("@AfterReturning: " + methodSignature);
-		
-		// Display Data Returned
-		logger.info("Result: " + result);
-	}
-	
 	@Around("com.crm.customertracker.aspect.PointcutDeclarations.searchCustomers()")
 	public Object searchCustomersDuration(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
 		// Display Method we are calling
@@ -22,13 +22,14 @@ public class PointcutDeclarations {
 	@Pointcut("execution (* com.crm.customertracker.*.*.search*(..))")
 	public void searchCustomers() {}
 	
-	// Pointcut Declaration: Match on any Method that called saveCustomer with any number
-	// of parameters in any Class within the Dao package
-	@Pointcut("execution (* com.crm.customertracker.service.*.saveCustomer(..))")
-	public void NumberOfCallsForSaveCustomer() {}
-	
 	// Combine Pointcut Declarations to match any Method with any number of parameters in
 	// any Class within the Controller, Service, and Dao packages
 	@Pointcut("servicePackage() || repositoryPackage()")
 	public void webAppFlow() {}
+
+	// Pointcut Declaration: Methods whose arguments are rendered into their traces. Opt a method in only
+	// if its arguments are small and safe to log (search terms, ids), never entities, lists or passwords
+	@Pointcut("execution(* com.crm.customertracker.service.*.findCustomersByName(..)) || "
+			+ "execution(* com.crm.customertracker.repository.*.*.search*(..))")
+	public void traceArguments() {}
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.crm.customertracker.aspect;
+
+import com.crm.customertracker.pagination.KeysetPage;
+import com.crm.customertracker.tracing.TraceEvent;
+import com.crm.customertracker.tracing.TraceRecorder;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+@Aspect
+@Component
+public class TracingAspect {
+	// Longest rendering of a single argument, so a large argument can't bloat the trace
+	private static final int MAX_ARGUMENT_LENGTH = 100;
+
+	private final TraceRecorder traceRecorder;
+
+	public TracingAspect(TraceRecorder traceRecorder) {
+		this.traceRecorder = traceRecorder;
+	}
+
+	@Around("com.crm.customertracker.aspect.PointcutDeclarations.webAppFlow() && " +
+			"!com.crm.customertracker.aspect.PointcutDeclarations.traceArguments()")
+	public Object traceWebAppFlow(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+		return trace(proceedingJoinPoint, false);
+	}
+
+	@Around("com.crm.customertracker.aspect.PointcutDeclarations.webAppFlow() && " +
+			"com.crm.customertracker.aspect.PointcutDeclarations.traceArguments()")
+	public Object traceWebAppFlowWithArguments(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+		return trace(proceedingJoinPoint, true);
+	}
+
+	Object trace(ProceedingJoinPoint proceedingJoinPoint, boolean renderArguments) throws Throwable {
+		// Most executions are not sampled and only pay for this check
+		if (!traceRecorder.sample()) {
+			return proceedingJoinPoint.proceed();
+		}
+
+		long startedAtMillis = System.currentTimeMillis();
+		long begin = System.nanoTime();
+		Object result = null;
+		String exception = null;
+
+		try {
+			// Execute the method and store its result
+			result = proceedingJoinPoint.proceed();
+			return result;
+		} catch (Throwable throwable) {
+			exception = throwable.getClass().getSimpleName();
+			throw throwable;
+		} finally {
+			long duration = System.nanoTime() - begin;
+
+			// Only record what the method returned and how long it took, formatting happens on the drain thread
+			traceRecorder.record(new TraceEvent(proceedingJoinPoint.getSignature().toShortString(), startedAtMillis,
+					duration, resultSize(result), Thread.currentThread().getName(),
+					renderArguments ? renderArguments(proceedingJoinPoint.getArgs()) : null, exception));
+		}
+	}
+
+	// Helper method: Number of elements in the result, without calling toString() on it
+	static int resultSize(Object result) {
+		if (result == null) {
+			return 0;
+		} else if (result instanceof Collection) {
+			return ((Collection<?>) result).size();
+		} else if (result instanceof Map) {
+			return ((Map<?, ?>) result).size();
+		} else if (result instanceof Slice) {
+			return ((Slice<?>) result).getNumberOfElements();
+		} else if (result instanceof KeysetPage) {
+			return ((KeysetPage<?>) result).getContent().size();
+		} else if (result instanceof Optional) {
+			return ((Optional<?>) result).isPresent() ? 1 : 0;
+		} else if (result.getClass().isArray()) {
+			return Array.getLength(result);
+		}
+		return 1;
+	}
+
+	// Helper method: Render the arguments of a method opted in to argument tracing, each one truncated
+	static String renderArguments(Object[] args) {
+		StringBuilder rendered = new StringBuilder("[");
+
+		for (int index = 0; index < args.length; index++) {
+			String argument = String.valueOf(args[index]);
+
+			if (argument.length() > MAX_ARGUMENT_LENGTH) {
+				argument = argument.substring(0, MAX_ARGUMENT_LENGTH) + "...";
+			}
+
+			rendered.append(index == 0 ? "" : ", ").append(argument);
+		}
+
+		return rendered.append("]").toString();
+	}
+}
@@ -0,0 +1,231 @@
+package com.crm.customertracker.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Read-through cache bounded by size and time to live, with W-TinyLFU style admission: new entries enter a small
+// LRU window, and an entry leaving the window only replaces the main area's LRU victim if it has been requested
+// more often. A burst of one-off reads therefore can't flush the entries that are read over and over.
+public class BoundedCache<K, V> implements CacheStatistics {
+	private final long ttlMillis;
+	private final int windowSize;
+	private final int mainSize;
+
+	// Both areas are access ordered, so their eldest entry is the least recently used one
+	private final LinkedHashMap<K, Entry<V>> window = new LinkedHashMap<>(16, 0.75f, true);
+	private final LinkedHashMap<K, Entry<V>> main = new LinkedHashMap<>(16, 0.75f, true);
+	private final FrequencySketch frequencies;
+
+	// Bumped by every invalidation, a load that overlapped one is not cached since it may have read stale data
+	private final AtomicLong invalidations = new AtomicLong();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	public BoundedCache(int maximumSize, long ttlMillis) {
+		this.ttlMillis = ttlMillis;
+
+		// 1% of the entries form the admission window, as in W-TinyLFU
+		this.windowSize = Math.max(1, maximumSize / 100);
+		this.mainSize = Math.max(1, maximumSize - windowSize);
+		this.frequencies = new FrequencySketch(maximumSize);
+	}
+
+	// Return the cached value, or load it, cache it and return it
+	public V get(K key, Function<? super K, ? extends V> loader) {
+		V value = getIfPresent(key);
+
+		if (value != null) {
+			return value;
+		}
+
+		long invalidationsBeforeLoad = invalidations.get();
+		value = loader.apply(key);
+
+		if (value != null && invalidations.get() == invalidationsBeforeLoad) {
+			put(key, value);
+		}
+
+		return value;
+	}
+
+	public V getIfPresent(K key) {
+		long now = System.currentTimeMillis();
+		Entry<V> entry;
+
+		synchronized (this) {
+			frequencies.increment(key);
+
+			entry = main.get(key);
+			if (entry == null) {
+				entry = window.get(key);
+			}
+
+			if (entry != null && now > entry.expiresAt) {
+				main.remove(key);
+				window.remove(key);
+				entry = null;
+			}
+		}
+
+		if (entry == null) {
+			misses.increment();
+			return null;
+		}
+
+		hits.increment();
+		return entry.value;
+	}
+
+	public synchronized void put(K key, V value) {
+		Entry<V> entry = new Entry<>(value, System.currentTimeMillis() + ttlMillis);
+
+		// Replace an entry in place, wherever it is
+		if (main.containsKey(key)) {
+			main.put(key, entry);
+			return;
+		}
+
+		window.put(key, entry);
+
+		if (window.size() > windowSize) {
+			admit(window.entrySet().iterator());
+		}
+	}
+
+	public void invalidate(K key) {
+		invalidations.incrementAndGet();
+
+		synchronized (this) {
+			main.remove(key);
+			window.remove(key);
+		}
+	}
+
+	public void invalidateAll() {
+		invalidations.incrementAndGet();
+
+		synchronized (this) {
+			main.clear();
+			window.clear();
+		}
+	}
+
+	@Override
+	public long getHits() {
+		return hits.sum();
+	}
+
+	@Override
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	@Override
+	public synchronized int size() {
+		return main.size() + window.size();
+	}
+
+	// Move the window's LRU entry into the main area, evicting whichever of it and the main area's
+	// LRU victim has been requested less often
+	private void admit(Iterator<Map.Entry<K, Entry<V>>> windowIterator) {
+		Map.Entry<K, Entry<V>> candidate = windowIterator.next();
+		windowIterator.remove();
+
+		if (main.size() < mainSize) {
+			main.put(candidate.getKey(), candidate.getValue());
+			return;
+		}
+
+		Iterator<Map.Entry<K, Entry<V>>> mainIterator = main.entrySet().iterator();
+		Map.Entry<K, Entry<V>> victim = mainIterator.next();
+
+		if (frequencies.frequency(candidate.getKey()) > frequencies.frequency(victim.getKey())) {
+			mainIterator.remove();
+			main.put(candidate.getKey(), candidate.getValue());
+		}
+
+		evictions.increment();
+	}
+
+	private static class Entry<V> {
+		private final V value;
+		private final long expiresAt;
+
+		private Entry(V value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	// Count-Min sketch of how often each key was requested recently: 4 rows of small counters, read as the
+	// minimum over the rows. Every counter is halved once enough requests were counted, so old popularity fades.
+	static class FrequencySketch {
+		private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+		private static final int MAX_COUNT = 15;
+
+		private final byte[][] counters;
+		private final int mask;
+		private final int resetAfter;
+		private int increments;
+
+		FrequencySketch(int maximumSize) {
+			// 8 counters per cached entry and row keeps collisions between one-off keys rare
+			int width = Integer.highestOneBit(Math.max(16, maximumSize - 1)) << 4;
+
+			this.counters = new byte[SEEDS.length][width];
+			this.mask = width - 1;
+			this.resetAfter = 10 * Math.max(16, maximumSize);
+		}
+
+		void increment(Object key) {
+			int hash = key.hashCode();
+
+			for (int row = 0; row < SEEDS.length; row++) {
+				int index = index(hash, row);
+
+				if (counters[row][index] < MAX_COUNT) {
+					counters[row][index]++;
+				}
+			}
+
+			if (++increments >= resetAfter) {
+				age();
+			}
+		}
+
+		int frequency(Object key) {
+			int hash = key.hashCode();
+			int frequency = MAX_COUNT;
+
+			for (int row = 0; row < SEEDS.length; row++) {
+				frequency = Math.min(frequency, counters[row][index(hash, row)]);
+			}
+
+			return frequency;
+		}
+
+		private int index(int hash, int row) {
+			int spread = hash * SEEDS[row];
+			return (spread ^ (spread >>> 16)) & mask;
+		}
+
+		private void age() {
+			for (byte[] row : counters) {
+				for (int index = 0; index < row.length; index++) {
+					row[index] >>= 1;
+				}
+			}
+			increments /= 2;
+		}
+	}
+}
@@ -0,0 +1,12 @@
+package com.crm.customertracker.cache;
+
+public interface CacheStatistics {
+	long getHits();
+	long getMisses();
+	int size();
+
+	default double getHitRatio() {
+		long requests = getHits() + getMisses();
+		return requests == 0 ? 0 : (double) getHits() / requests;
+	}
+}
@@ -0,0 +1,87 @@
+package com.crm.customertracker.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Cache of approximate row counts keyed by entity and filter, so paginated pages don't have to run
+// a SELECT COUNT(*) on every request. Counts are adjusted by writes and re-counted in the background.
+@Slf4j
+@Component
+public class CountCache {
+	public static final String CUSTOMERS = key("customer", null);
+	public static final String LICENSES = key("license", null);
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	// Counts older than this are re-counted by the background refresh even if no write invalidated them
+	private final long maxAgeMillis;
+
+	public CountCache(@Value("${app.count-cache.max-age:60000}") long maxAgeMillis) {
+		this.maxAgeMillis = maxAgeMillis;
+	}
+
+	public static String key(String entity, String filter) {
+		return filter == null || filter.isEmpty() ? entity : entity + "?" + filter;
+	}
+
+	// Return the cached count, only running the counter on the very first request for this key
+	public long get(String key, LongSupplier counter) {
+		return entries.computeIfAbsent(key, newKey -> new Entry(counter, counter.getAsLong())).count.get();
+	}
+
+	// Apply a known change (e.g. +1 after an insert, -1 after a delete) without re-counting
+	public void adjust(String key, long delta) {
+		Entry entry = entries.get(key);
+
+		if (entry != null) {
+			entry.count.addAndGet(delta);
+		}
+	}
+
+	// Mark the count as stale when a write changed it by an unknown amount (e.g. a cascading delete)
+	public void invalidate(String key) {
+		Entry entry = entries.get(key);
+
+		if (entry != null) {
+			entry.stale = true;
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.count-cache.refresh-delay:5000}")
+	public void refresh() {
+		long now = System.currentTimeMillis();
+
+		entries.forEach((key, entry) -> {
+			if (entry.stale || now - entry.countedAt > maxAgeMillis) {
+				try {
+					// Clear the flag first so an invalidation during the count triggers another refresh
+					entry.stale = false;
+					entry.count.set(entry.counter.getAsLong());
+					entry.countedAt = System.currentTimeMillis();
+				} catch (RuntimeException exception) {
+					entry.stale = true;
+					log.warn("Unable to refresh count for " + key + ": " + exception);
+				}
+			}
+		});
+	}
+
+	private static class Entry {
+		private final LongSupplier counter;
+		private final AtomicLong count;
+		private volatile boolean stale = false;
+		private volatile long countedAt = System.currentTimeMillis();
+
+		private Entry(LongSupplier counter, long count) {
+			this.counter = counter;
+			this.count = new AtomicLong(count);
+		}
+	}
+}
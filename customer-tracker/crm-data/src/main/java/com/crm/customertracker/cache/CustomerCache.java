@@ -0,0 +1,52 @@
+package com.crm.customertracker.cache;
+
+import com.crm.customertracker.dto.CustomerDto;
+import com.crm.customertracker.dto.CustomerLicensesDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+// Customers read by ID, and Customers read along with their Licenses, so reopening the same Customer's
+// form or Licenses doesn't go to the DB again. Writes through CustomerService invalidate the entries.
+// Only immutable DTOs are cached: they are shared between request threads, and unlike detached entities
+// they have no lazy associations to fail outside of a transaction.
+@Component
+public class CustomerCache {
+	private final BoundedCache<Integer, CustomerDto> customers;
+	private final BoundedCache<Integer, CustomerLicensesDto> customerLicenses;
+
+	public CustomerCache(@Value("${app.customer-cache.max-size:1000}") int maximumSize,
+						 @Value("${app.customer-cache.ttl:300000}") long ttlMillis) {
+		this.customers = new BoundedCache<>(maximumSize, ttlMillis);
+		this.customerLicenses = new BoundedCache<>(maximumSize, ttlMillis);
+	}
+
+	// A loader returning null (an unknown Customer) leaves nothing in the cache
+	public CustomerDto getCustomer(int customerId, Function<Integer, CustomerDto> loader) {
+		return customers.get(customerId, loader);
+	}
+
+	public CustomerLicensesDto getCustomerLicenses(int customerId, Function<Integer, CustomerLicensesDto> loader) {
+		return customerLicenses.get(customerId, loader);
+	}
+
+	// Drop every cached copy of the Customer after it was saved or deleted
+	public void invalidateCustomer(int customerId) {
+		customers.invalidate(customerId);
+		customerLicenses.invalidate(customerId);
+	}
+
+	// Drop every Customer's cached Licenses, used when a License is deleted by its own ID
+	public void invalidateAllLicenses() {
+		customerLicenses.invalidateAll();
+	}
+
+	public CacheStatistics getCustomers() {
+		return customers;
+	}
+
+	public CacheStatistics getCustomerLicenses() {
+		return customerLicenses;
+	}
+}
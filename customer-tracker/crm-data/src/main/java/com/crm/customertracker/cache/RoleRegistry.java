@@ -0,0 +1,75 @@
+package com.crm.customertracker.cache;
+
+import com.crm.customertracker.entity.security.Role;
+import com.crm.customertracker.repository.security.RoleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Every Role by its name, loaded once into an immutable map so registering a User resolves its Roles without
+// a query per Role. Roles are only ever inserted, so the map is reloaded on a schedule or from the admin page.
+@Slf4j
+@Component
+public class RoleRegistry {
+	private final RoleRepository roleRepository;
+
+	// Replaced as a whole by every refresh, null until the Roles were first loaded
+	private volatile Map<String, Role> rolesByName;
+
+	public RoleRegistry(RoleRepository roleRepository) {
+		this.roleRepository = roleRepository;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(initialDelayString = "${app.role-registry.refresh-delay:600000}",
+			fixedDelayString = "${app.role-registry.refresh-delay:600000}")
+	public void refresh() {
+		Map<String, Role> roles = roleRepository.findAll().stream()
+				.collect(Collectors.toUnmodifiableMap(Role::getName, Function.identity()));
+
+		rolesByName = roles;
+		log.info("Role registry loaded " + roles.size() + " roles");
+	}
+
+	// Resolve the Roles of the given names in the same order, throwing for a name no Role has
+	public List<Role> resolve(List<String> roleNames) {
+		Map<String, Role> roles = roles();
+		List<Role> resolved = new ArrayList<>(roleNames.size());
+
+		for (String roleName : roleNames) {
+			Role role = roles.get(roleName);
+
+			if (role == null) {
+				throw new IllegalArgumentException("Role not found: " + roleName);
+			}
+
+			resolved.add(role);
+		}
+
+		return resolved;
+	}
+
+	public int size() {
+		return roles().size();
+	}
+
+	// Helper method: The loaded Roles, loading them first if a caller comes before the application is ready
+	private Map<String, Role> roles() {
+		Map<String, Role> roles = rolesByName;
+
+		if (roles == null) {
+			refresh();
+			roles = rolesByName;
+		}
+
+		return roles;
+	}
+}
@@ -0,0 +1,47 @@
+package com.crm.customertracker.cache;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.orm.jpa.EntityManagerFactoryInfo;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Hit, miss and put counts of the Hibernate Second Level Cache regions of every persistence unit
+@Component
+public class SecondLevelCacheStatistics {
+	private final List<EntityManagerFactory> entityManagerFactories;
+
+	public SecondLevelCacheStatistics(List<EntityManagerFactory> entityManagerFactories) {
+		this.entityManagerFactories = entityManagerFactories;
+	}
+
+	// Return the statistics of every region, keyed by "persistence unit: region"
+	public Map<String, CacheRegionStatistics> regionStatistics() {
+		Map<String, CacheRegionStatistics> regionStatistics = new LinkedHashMap<>();
+
+		for (EntityManagerFactory entityManagerFactory : entityManagerFactories) {
+			Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+			String persistenceUnit = persistenceUnitName(entityManagerFactory);
+
+			for (String region : statistics.getSecondLevelCacheRegionNames()) {
+				regionStatistics.put(persistenceUnit + ": " + region, statistics.getCacheRegionStatistics(region));
+			}
+		}
+
+		return regionStatistics;
+	}
+
+	// Helper method: Name of the persistence unit of the Entity Manager Factory, as configured by Spring
+	private static String persistenceUnitName(EntityManagerFactory entityManagerFactory) {
+		if (entityManagerFactory instanceof EntityManagerFactoryInfo) {
+			return ((EntityManagerFactoryInfo) entityManagerFactory).getPersistenceUnitName();
+		}
+
+		return "default";
+	}
+}
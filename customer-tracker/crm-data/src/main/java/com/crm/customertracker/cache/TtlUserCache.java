@@ -0,0 +1,111 @@
+package com.crm.customertracker.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded cache of UserDetails used by the DaoAuthenticationProvider, so repeated logins of the same User
+// don't run the User and Roles query every time. Entries expire after a TTL and the least recently used
+// entry is evicted once the cache is full.
+@Component
+public class TtlUserCache implements UserCache, CacheStatistics {
+	private final long ttlMillis;
+	private final int maxSize;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	// Access ordered, so the eldest entry is the least recently used one
+	private final LinkedHashMap<String, Entry> entries;
+
+	public TtlUserCache(@Value("${app.user-cache.ttl:300000}") long ttlMillis,
+						@Value("${app.user-cache.max-size:10000}") int maxSize) {
+		this.ttlMillis = ttlMillis;
+		this.maxSize = maxSize;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > TtlUserCache.this.maxSize;
+			}
+		};
+	}
+
+	@Override
+	public UserDetails getUserFromCache(String username) {
+		Entry entry;
+
+		synchronized (entries) {
+			entry = entries.get(username);
+
+			if (entry != null && System.currentTimeMillis() > entry.expiresAt) {
+				entries.remove(username);
+				entry = null;
+			}
+		}
+
+		if (entry == null) {
+			misses.increment();
+			return null;
+		}
+
+		hits.increment();
+
+		// The ProviderManager erases the credentials of the UserDetails it authenticated, so hand out a copy
+		// instead of the cached instance to keep the cached password intact
+		return copy(entry.userDetails);
+	}
+
+	@Override
+	public void putUserInCache(UserDetails user) {
+		Entry entry = new Entry(copy(user), System.currentTimeMillis() + ttlMillis);
+
+		synchronized (entries) {
+			entries.put(user.getUsername(), entry);
+		}
+	}
+
+	@Override
+	public void removeUserFromCache(String username) {
+		synchronized (entries) {
+			entries.remove(username);
+		}
+	}
+
+	@Override
+	public long getHits() {
+		return hits.sum();
+	}
+
+	@Override
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	@Override
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	// Helper method: Copy the UserDetails into a new Spring Security User
+	private static UserDetails copy(UserDetails user) {
+		return User.withUserDetails(user).build();
+	}
+
+	private static class Entry {
+		private final UserDetails userDetails;
+		private final long expiresAt;
+
+		private Entry(UserDetails userDetails, long expiresAt) {
+			this.userDetails = userDetails;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
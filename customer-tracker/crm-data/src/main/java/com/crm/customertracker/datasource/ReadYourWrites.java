@@ -0,0 +1,57 @@
+package com.crm.customertracker.datasource;
+
+import java.util.function.Supplier;
+
+// Reads that have to see the latest writes, so ReplicaRoutingDataSource sends them to the primary even inside a
+// read-only transaction: loads that fill a cache (a row read from a lagging replica would be cached for its whole
+// TTL) and, for a while after a user wrote, that user's requests (the page redirected to must show the write).
+// State is kept per thread, so a request's reads and writes are tracked on the thread handling the request.
+public final class ReadYourWrites {
+	private static final ThreadLocal<Integer> PRIMARY_READS = ThreadLocal.withInitial(() -> 0);
+	private static final ThreadLocal<Boolean> WROTE = ThreadLocal.withInitial(() -> false);
+
+	private ReadYourWrites() {
+	}
+
+	// Run the read with every connection it obtains taken from the primary
+	public static <T> T onPrimary(Supplier<T> read) {
+		PRIMARY_READS.set(PRIMARY_READS.get() + 1);
+
+		try {
+			return read.get();
+		} finally {
+			int primaryReads = PRIMARY_READS.get() - 1;
+
+			if (primaryReads == 0) {
+				PRIMARY_READS.remove();
+			} else {
+				PRIMARY_READS.set(primaryReads);
+			}
+		}
+	}
+
+	public static boolean isPrimaryRequired() {
+		return PRIMARY_READS.get() > 0;
+	}
+
+	// Note that the current thread wrote, read back (and cleared) by whoever handles the request with endRequest()
+	public static void recordWrite() {
+		WROTE.set(true);
+	}
+
+	// Start handling a request, reading from the primary throughout if its user wrote recently
+	public static void beginRequest(boolean primaryRequired) {
+		PRIMARY_READS.set(primaryRequired ? 1 : 0);
+		WROTE.remove();
+	}
+
+	// Finish handling a request, returning whether it wrote
+	public static boolean endRequest() {
+		boolean wrote = WROTE.get();
+
+		PRIMARY_READS.remove();
+		WROTE.remove();
+
+		return wrote;
+	}
+}
@@ -0,0 +1,27 @@
+package com.crm.customertracker.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Read replicas of a database, bound from app.datasource.<name>.replica
+@Getter
+@Setter
+public class ReplicaProperties {
+	// JDBC URLs of the replicas, read-only work stays on the primary while this is empty
+	private List<String> urls = new ArrayList<>();
+
+	// Credentials for the replicas, the primary's are used when not set
+	private String username;
+	private String password;
+
+	private ReplicaRoutingDataSource.Selection selection = ReplicaRoutingDataSource.Selection.ROUND_ROBIN;
+
+	// Milliseconds a replica that failed to connect is skipped before it is tried again
+	private long retryDelay = 30000;
+
+	// Milliseconds a user's reads stay on the primary after the user wrote, longer than the replicas' usual lag
+	private long readYourWritesWindow = 5000;
+}
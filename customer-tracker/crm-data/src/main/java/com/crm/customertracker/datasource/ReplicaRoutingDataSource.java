@@ -0,0 +1,149 @@
+package com.crm.customertracker.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// Hands out connections to a replica inside @Transactional(readOnly = true) work and to the primary otherwise,
+// or when ReadYourWrites requires the read to see the latest writes.
+// A replica that fails to connect is skipped until its retry delay has passed, and if no replica can connect
+// the read falls back to the primary.
+// The read-only flag of a transaction is only set once its connection has been obtained, so this DataSource
+// must sit behind a LazyConnectionDataSourceProxy, which obtains the connection on the first statement.
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+	public enum Selection {
+		// Take turns between the replicas
+		ROUND_ROBIN,
+		// Pick the replica with the fewest connections in use
+		LEAST_CONNECTIONS
+	}
+
+	private final DataSource primary;
+	private final List<Replica> replicas;
+	private final Selection selection;
+	private final long retryDelayMillis;
+
+	private final AtomicInteger nextReplica = new AtomicInteger();
+
+	public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas, Selection selection,
+									long retryDelayMillis) {
+		this.primary = primary;
+		this.replicas = replicas.stream().map(Replica::new).collect(Collectors.toUnmodifiableList());
+		this.selection = selection;
+		this.retryDelayMillis = retryDelayMillis;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return connect(DataSource::getConnection);
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return connect(dataSource -> dataSource.getConnection(username, password));
+	}
+
+	// Close the replicas' pools, the primary is closed by its owner
+	@Override
+	public void close() {
+		for (Replica replica : replicas) {
+			if (replica.dataSource instanceof Closeable) {
+				try {
+					((Closeable) replica.dataSource).close();
+				} catch (Exception e) {
+					log.warn("Unable to close replica {}", replica.dataSource, e);
+				}
+			}
+		}
+	}
+
+	// Helper method: Connect to a replica for read-only work, otherwise (or if every replica fails) to the primary
+	private Connection connect(ConnectionOpener opener) throws SQLException {
+		if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+				|| ReadYourWrites.isPrimaryRequired()) {
+			return opener.open(primary);
+		}
+
+		for (Replica replica : candidates()) {
+			try {
+				Connection connection = opener.open(replica.dataSource);
+				replica.retryAt = 0;
+
+				return connection;
+			} catch (SQLException e) {
+				replica.retryAt = System.currentTimeMillis() + retryDelayMillis;
+				log.warn("Replica {} is unavailable for {} ms: {}", replica.dataSource, retryDelayMillis, e.getMessage());
+			}
+		}
+
+		return opener.open(primary);
+	}
+
+	// Helper method: The replicas that are not waiting out a failure, in the order they should be tried
+	private List<Replica> candidates() {
+		long now = System.currentTimeMillis();
+		List<Replica> available = new ArrayList<>(replicas.size());
+
+		if (selection == Selection.LEAST_CONNECTIONS) {
+			for (Replica replica : replicas) {
+				if (replica.retryAt <= now) {
+					available.add(replica);
+				}
+			}
+
+			available.sort(Comparator.comparingInt(Replica::activeConnections));
+		} else {
+			// Start from the next replica in turn and try the others after it
+			int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+
+			for (int offset = 0; offset < replicas.size(); offset++) {
+				Replica replica = replicas.get((start + offset) % replicas.size());
+
+				if (replica.retryAt <= now) {
+					available.add(replica);
+				}
+			}
+		}
+
+		return available;
+	}
+
+	@FunctionalInterface
+	private interface ConnectionOpener {
+		Connection open(DataSource dataSource) throws SQLException;
+	}
+
+	private static class Replica {
+		private final DataSource dataSource;
+
+		// Time before which the replica is skipped after failing to connect, 0 while it is healthy
+		private volatile long retryAt;
+
+		private Replica(DataSource dataSource) {
+			this.dataSource = dataSource;
+		}
+
+		// Connections in use, as reported by the replica's Hikari pool (0 until the pool has started)
+		private int activeConnections() {
+			if (dataSource instanceof HikariDataSource) {
+				HikariPoolMXBean pool = ((HikariDataSource) dataSource).getHikariPoolMXBean();
+				return pool != null ? pool.getActiveConnections() : 0;
+			}
+
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package com.crm.customertracker.dto;
+
+import com.crm.customertracker.entity.customer.Customer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Read-only copy of the Customer columns shown by the list page and the API, selected straight into this class
+// so that a listing neither loads nor tracks any Customer entity
+@Getter
+@AllArgsConstructor
+public class CustomerDto {
+	// Attributes passed to the constructor by a projection query, in constructor order
+	public static final String[] ATTRIBUTES = {"id", "firstName", "lastName", "email"};
+
+	private final int id;
+	private final String firstName;
+	private final String lastName;
+	private final String email;
+
+	public static CustomerDto of(Customer customer) {
+		return new CustomerDto(customer.getId(), customer.getFirstName(), customer.getLastName(), customer.getEmail());
+	}
+}
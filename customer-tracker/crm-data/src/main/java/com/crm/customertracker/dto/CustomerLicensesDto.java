@@ -0,0 +1,17 @@
+package com.crm.customertracker.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+// Read-only copy of a Customer along with its Licenses, as shown by the Customer's Licenses page
+@Getter
+public class CustomerLicensesDto {
+	private final CustomerDto customer;
+	private final List<LicenseDto> licenses;
+
+	public CustomerLicensesDto(CustomerDto customer, List<LicenseDto> licenses) {
+		this.customer = customer;
+		this.licenses = List.copyOf(licenses);
+	}
+}
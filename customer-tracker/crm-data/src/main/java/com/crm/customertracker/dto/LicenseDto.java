@@ -0,0 +1,22 @@
+package com.crm.customertracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+// Read-only copy of a License's columns, with the ID of its Customer instead of the Customer itself
+@Getter
+@AllArgsConstructor
+public class LicenseDto {
+	// Attributes passed to the constructor by a projection query, in constructor order
+	public static final String[] ATTRIBUTES = {"id", "licenseName", "startDate", "expirationDate", "customer.id"};
+
+	private final int id;
+	private final String licenseName;
+	private final Date startDate;
+	private final Date expirationDate;
+
+	// Null when the License doesn't belong to a Customer
+	private final Integer customerId;
+}
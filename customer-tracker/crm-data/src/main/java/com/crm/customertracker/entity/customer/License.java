@@ -4,17 +4,22 @@ import lombok.*;
 
 import java.util.Date;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
 @Builder
 @Getter
 @Setter
@@ -22,9 +27,18 @@ import javax.persistence.Table;
 @NoArgsConstructor
 @Entity
 @Table(name = "license")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "license")
 public class License {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	// Pooled-lo table generator, same as Customer's, so Licenses saved along with a Customer are batched too
+	@GeneratedValue(generator = "licenseIdGenerator")
+	@GenericGenerator(name = "licenseIdGenerator", strategy = "org.hibernate.id.enhanced.TableGenerator", parameters = {
+			@Parameter(name = "table_name", value = "id_generator"),
+			@Parameter(name = "segment_value", value = "license"),
+			@Parameter(name = "increment_size", value = "50"),
+			@Parameter(name = "optimizer", value = "pooled-lo")
+	})
 	@Column(name = "id")
 	private int id;
 	
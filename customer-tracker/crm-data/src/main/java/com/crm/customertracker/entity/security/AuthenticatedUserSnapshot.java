@@ -0,0 +1,44 @@
+package com.crm.customertracker.entity.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.List;
+
+// Immutable copy of the authenticated User's identity, kept in the HTTP Session so that rendering a page
+// (navbar first name, profile image) does not need to query the security database
+@Builder
+@Getter
+@AllArgsConstructor
+public class AuthenticatedUserSnapshot implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	// Name of the HTTP Session (and HTTP Request) attribute holding the snapshot
+	public static final String ATTRIBUTE_NAME = "authenticatedUserSnapshot";
+
+	private final int id;
+	private final String username;
+	private final String firstName;
+	private final String lastName;
+	private final List<String> roles;
+
+	// Hash of the User's uploaded Image, null if the User has not uploaded an Image
+	private final String imageHash;
+
+	// Version of the User's data this snapshot was taken from, a saved User gets a new version
+	private final long version;
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "(" +
+				"id = " + id + ", " +
+				"username = " + username + ", " +
+				"firstName = " + firstName + ", " +
+				"lastName = " + lastName + ", " +
+				"roles = " + roles + ", " +
+				"imageHash = " + imageHash + ", " +
+				"version = " + version + ")";
+	}
+}
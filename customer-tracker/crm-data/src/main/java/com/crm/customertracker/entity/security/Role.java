@@ -2,6 +2,7 @@ package com.crm.customertracker.entity.security;
 
 import lombok.*;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
@@ -9,6 +10,10 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+
 @Builder
 @Getter
 @Setter
@@ -16,6 +21,10 @@ import javax.persistence.Table;
 @NoArgsConstructor
 @Entity
 @Table(name = "role")
+@Immutable
+@Cacheable
+// Roles are only ever inserted, never updated, so the cheaper read-only strategy is enough
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "role")
 public class Role {
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -3,7 +3,9 @@ package com.crm.customertracker.entity.security;
 import lombok.*;
 
 import javax.persistence.*;
-import java.util.Arrays;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.Collection;
 
 @Builder
@@ -34,12 +36,16 @@ public class User {
 	@Column(name = "email")
 	private String email;
 
-	@Lob
-	private Byte[] image;
+	// Version of the User's data shown from the HTTP Session (name, image), increased by every save so each
+	// application instance sharing the HTTP Sessions reloads its snapshots. Only ever changed by
+	// UserRepository.incrementSnapshotVersion, never by saving the User.
+	@Column(name = "snapshot_version", updatable = false)
+	private long snapshotVersion;
 	
 	// CascadeType.MERGE because Role already exists in DB, and we're trying to insert already persisted Role
 	// (Role is automatically merged instead)
 	@ManyToMany(fetch = FetchType.LAZY, cascade = CascadeType.MERGE)
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user.roles")
 	@JoinTable(name = "users_roles",
 			joinColumns = @JoinColumn(name = "user_id"),
 			inverseJoinColumns = @JoinColumn(name = "role_id"))
@@ -53,7 +59,6 @@ public class User {
 				"password = " + password + ", " +
 				"firstName = " + firstName + ", " +
 				"lastName = " + lastName + ", " +
-				"email = " + email + ", " +
-				"image = " + Arrays.toString(image) + ")";
+				"email = " + email + ")";
 	}
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.crm.customertracker.entity.security;
+
+import lombok.*;
+
+import javax.persistence.Basic;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+
+// A User's profile image, kept out of the user table so that loading a User never reads the blob
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "user_image")
+public class UserImage {
+	// Shares the Primary Key of the User the image belongs to (one image per User)
+	@Id
+	@Column(name = "user_id")
+	private int userId;
+
+	@Lob
+	@Basic(fetch = FetchType.LAZY)
+	@Column(name = "content")
+	private byte[] content;
+
+	// Hex encoded SHA-256 of the content, used as the image's ETag
+	@Column(name = "content_hash", length = 64)
+	private String contentHash;
+
+	@Column(name = "size")
+	private long size;
+
+	@Override
+	public String toString() {
+		return "UserImage [userId=" + userId + ", contentHash=" + contentHash + ", size=" + size + "]";
+	}
+}
@@ -0,0 +1,55 @@
+package com.crm.customertracker.exporting;
+
+import java.io.IOException;
+import java.io.Writer;
+
+// Writes rows as RFC 4180 CSV, quoting only the values that need it
+class CsvExportRowWriter implements ExportRowWriter {
+	private final Writer writer;
+
+	CsvExportRowWriter(Writer writer, String... columns) throws IOException {
+		this.writer = writer;
+
+		// Header row
+		writeRow((Object[]) columns);
+	}
+
+	@Override
+	public void writeRow(Object... values) throws IOException {
+		for (int index = 0; index < values.length; index++) {
+			if (index > 0) {
+				writer.write(',');
+			}
+
+			if (values[index] != null) {
+				writeValue(values[index].toString());
+			}
+		}
+
+		writer.write("\r\n");
+	}
+
+	@Override
+	public void flush() throws IOException {
+		writer.flush();
+	}
+
+	// Helper method: Quote a value holding a comma, quote or line break, doubling the quotes inside it
+	private void writeValue(String value) throws IOException {
+		boolean quote = false;
+
+		for (int index = 0; index < value.length() && !quote; index++) {
+			char character = value.charAt(index);
+			quote = character == ',' || character == '"' || character == '\n' || character == '\r';
+		}
+
+		if (!quote) {
+			writer.write(value);
+			return;
+		}
+
+		writer.write('"');
+		writer.write(value.replace("\"", "\"\""));
+		writer.write('"');
+	}
+}
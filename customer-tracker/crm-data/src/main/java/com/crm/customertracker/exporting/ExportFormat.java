@@ -0,0 +1,41 @@
+package com.crm.customertracker.exporting;
+
+import java.io.IOException;
+import java.io.Writer;
+
+// Formats Customers and Licenses can be exported in
+public enum ExportFormat {
+	// Comma separated values, with a header row naming the columns
+	CSV("text/csv", "csv") {
+		@Override
+		public ExportRowWriter open(Writer writer, String... columns) throws IOException {
+			return new CsvExportRowWriter(writer, columns);
+		}
+	},
+	// Newline delimited JSON, one object per row keyed by the column names
+	NDJSON("application/x-ndjson", "ndjson") {
+		@Override
+		public ExportRowWriter open(Writer writer, String... columns) throws IOException {
+			return new NdjsonExportRowWriter(writer, columns);
+		}
+	};
+
+	private final String contentType;
+	private final String fileExtension;
+
+	ExportFormat(String contentType, String fileExtension) {
+		this.contentType = contentType;
+		this.fileExtension = fileExtension;
+	}
+
+	// Start writing rows of the given columns (the CSV header row is written right away)
+	public abstract ExportRowWriter open(Writer writer, String... columns) throws IOException;
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public String getFileExtension() {
+		return fileExtension;
+	}
+}
@@ -0,0 +1,12 @@
+package com.crm.customertracker.exporting;
+
+import java.io.IOException;
+
+// Writes exported rows straight to the underlying Writer, one at a time
+public interface ExportRowWriter {
+	// Write a row, with one value per column (null for an empty value)
+	void writeRow(Object... values) throws IOException;
+
+	// Flush the rows written so far to the underlying Writer
+	void flush() throws IOException;
+}
@@ -0,0 +1,50 @@
+package com.crm.customertracker.exporting;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+
+// Writes rows as newline delimited JSON objects, generated field by field without building a tree per row
+class NdjsonExportRowWriter implements ExportRowWriter {
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	private final String[] columns;
+	private final JsonGenerator generator;
+
+	NdjsonExportRowWriter(Writer writer, String... columns) throws IOException {
+		this.columns = columns;
+
+		// The generator must not close the response's Writer, and every row ends with its own line break
+		// instead of the default space between root values
+		this.generator = JSON_FACTORY.createGenerator(writer)
+				.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+				.setRootValueSeparator(null);
+	}
+
+	@Override
+	public void writeRow(Object... values) throws IOException {
+		generator.writeStartObject();
+
+		for (int index = 0; index < columns.length; index++) {
+			generator.writeFieldName(columns[index]);
+
+			if (values[index] instanceof Number) {
+				generator.writeNumber(values[index].toString());
+			} else if (values[index] != null) {
+				generator.writeString(values[index].toString());
+			} else {
+				generator.writeNull();
+			}
+		}
+
+		generator.writeEndObject();
+		generator.writeRaw('\n');
+	}
+
+	@Override
+	public void flush() throws IOException {
+		generator.flush();
+	}
+}
@@ -0,0 +1,165 @@
+package com.crm.customertracker.importing;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Reads Customers from CSV (RFC 4180: quoted fields may hold commas, doubled quotes and line breaks).
+// The header row decides which column holds which field, so the columns may come in any order.
+class CsvCustomerRowReader implements CustomerRowReader {
+	// A row longer than this is rejected instead of being buffered, e.g. when a quote is never closed
+	static final int MAX_ROW_LENGTH = 64 * 1024;
+
+	private static final String[] COLUMNS = {"firstname", "lastname", "email"};
+
+	private final BufferedReader reader;
+
+	// Physical lines read so far, a quoted field with line breaks spans several
+	private long lineNumber;
+	private int[] columnIndexes;
+	private int columnCount;
+	private boolean rowTooLong;
+
+	CsvCustomerRowReader(BufferedReader reader) {
+		this.reader = reader;
+	}
+
+	@Override
+	public CustomerRow next() throws IOException {
+		if (columnIndexes == null && !readHeader()) {
+			return null;
+		}
+
+		while (true) {
+			long rowLineNumber = lineNumber + 1;
+			List<String> fields = readRow();
+
+			if (fields == null) {
+				return null;
+			}
+
+			if (rowTooLong) {
+				return CustomerRow.malformed(rowLineNumber, "row is longer than " + MAX_ROW_LENGTH + " characters");
+			}
+
+			// Skip blank lines
+			if (fields.size() == 1 && fields.get(0).isBlank()) {
+				continue;
+			}
+
+			if (fields.size() != columnCount) {
+				return CustomerRow.malformed(rowLineNumber,
+						"expected " + columnCount + " columns but found " + fields.size());
+			}
+
+			return CustomerRow.parsed(rowLineNumber, field(fields, 0), field(fields, 1), field(fields, 2));
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	// Helper method: Find the first name, last name and email columns in the header row
+	private boolean readHeader() throws IOException {
+		List<String> header = readRow();
+
+		if (header == null) {
+			return false;
+		}
+
+		columnCount = header.size();
+		columnIndexes = new int[COLUMNS.length];
+
+		for (int column = 0; column < COLUMNS.length; column++) {
+			columnIndexes[column] = -1;
+
+			for (int index = 0; index < header.size(); index++) {
+				if (normalize(header.get(index)).equals(COLUMNS[column])) {
+					columnIndexes[column] = index;
+				}
+			}
+
+			if (columnIndexes[column] < 0) {
+				throw new IllegalArgumentException("CSV header must name the first_name, last_name and email columns");
+			}
+		}
+
+		return true;
+	}
+
+	// Helper method: Read the fields of the next row, or return null at the end of the upload
+	private List<String> readRow() throws IOException {
+		int character = reader.read();
+
+		if (character == -1) {
+			return null;
+		}
+
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		int length = 0;
+		rowTooLong = false;
+
+		while (true) {
+			if (character == -1) {
+				fields.add(field.toString());
+				lineNumber++;
+				return fields;
+			}
+
+			if (quoted) {
+				if (character == '"') {
+					int nextCharacter = reader.read();
+
+					// A doubled quote is an escaped quote, a single one closes the quoted field
+					if (nextCharacter != '"') {
+						quoted = false;
+						character = nextCharacter;
+						continue;
+					}
+				} else if (character == '\n') {
+					lineNumber++;
+				}
+
+				field.append((char) character);
+			} else if (character == '"') {
+				quoted = true;
+			} else if (character == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else if (character == '\n') {
+				fields.add(field.toString());
+				lineNumber++;
+				return fields;
+			} else if (character != '\r') {
+				field.append((char) character);
+			}
+
+			if (++length > MAX_ROW_LENGTH) {
+				// Keep stepping through the quotes without buffering anything, so the row ends at its own line
+				// break outside quotes rather than at one inside a quoted field
+				rowTooLong = true;
+				fields.clear();
+				field.setLength(0);
+			}
+
+			character = reader.read();
+		}
+	}
+
+	// Helper method: Trimmed value of a Customer field, null when the column is empty
+	private String field(List<String> fields, int column) {
+		String value = fields.get(columnIndexes[column]).trim();
+		return value.isEmpty() ? null : value;
+	}
+
+	// Helper method: Compare column names case-insensitively, ignoring underscores, spaces and a byte order mark
+	private static String normalize(String columnName) {
+		return columnName.replaceAll("[^A-Za-z]", "").toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,36 @@
+package com.crm.customertracker.importing;
+
+import java.io.BufferedReader;
+
+// Formats a Customer import can be uploaded in
+public enum CustomerImportFormat {
+	// Comma separated values, with a header row naming the first_name, last_name and email columns
+	CSV {
+		@Override
+		public CustomerRowReader open(BufferedReader reader) {
+			return new CsvCustomerRowReader(reader);
+		}
+	},
+	// Newline delimited JSON, one {"firstName", "lastName", "email"} object per line
+	NDJSON {
+		@Override
+		public CustomerRowReader open(BufferedReader reader) {
+			return new NdjsonCustomerRowReader(reader);
+		}
+	};
+
+	public abstract CustomerRowReader open(BufferedReader reader);
+
+	// Pick the format from the uploaded file's name, defaulting to CSV
+	public static CustomerImportFormat fromFileName(String fileName) {
+		if (fileName != null) {
+			String lowerCaseName = fileName.toLowerCase();
+
+			if (lowerCaseName.endsWith(".ndjson") || lowerCaseName.endsWith(".jsonl")) {
+				return NDJSON;
+			}
+		}
+
+		return CSV;
+	}
+}
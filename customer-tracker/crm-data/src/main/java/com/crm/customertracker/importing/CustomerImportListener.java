@@ -0,0 +1,11 @@
+package com.crm.customertracker.importing;
+
+// Told about the progress of a Customer import while it runs
+public interface CustomerImportListener {
+	// Called after every batch of Customers has been written
+	void onProgress(CustomerImportResult result);
+
+	// Called for every row that is not saved
+	default void onRejected(RejectedRow rejectedRow) {
+	}
+}
@@ -0,0 +1,43 @@
+package com.crm.customertracker.importing;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Running totals of a Customer import. Every rejected row is counted, but only the first ones are kept,
+// so a file full of bad rows can't fill the heap.
+@Getter
+public class CustomerImportResult {
+	private final int maxRejectedRows;
+	private final List<RejectedRow> rejectedRows = new ArrayList<>();
+
+	private long processed;
+	private long imported;
+	private long rejected;
+
+	public CustomerImportResult(int maxRejectedRows) {
+		this.maxRejectedRows = maxRejectedRows;
+	}
+
+	public void processed() {
+		processed++;
+	}
+
+	public void imported(int rows) {
+		imported += rows;
+	}
+
+	public void rejected(RejectedRow rejectedRow) {
+		rejected++;
+
+		if (rejectedRows.size() < maxRejectedRows) {
+			rejectedRows.add(rejectedRow);
+		}
+	}
+
+	public List<RejectedRow> getRejectedRows() {
+		return Collections.unmodifiableList(rejectedRows);
+	}
+}
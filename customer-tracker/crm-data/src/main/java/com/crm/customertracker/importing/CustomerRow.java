@@ -0,0 +1,27 @@
+package com.crm.customertracker.importing;
+
+import com.crm.customertracker.entity.customer.Customer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// A row of a Customer import: either the Customer it describes, or the reason it could not be parsed
+@Getter
+@AllArgsConstructor
+public class CustomerRow {
+	private final long lineNumber;
+	private final Customer customer;
+	private final String error;
+
+	public static CustomerRow parsed(long lineNumber, String firstName, String lastName, String email) {
+		return new CustomerRow(lineNumber,
+				Customer.builder().firstName(firstName).lastName(lastName).email(email).build(), null);
+	}
+
+	public static CustomerRow malformed(long lineNumber, String error) {
+		return new CustomerRow(lineNumber, null, error);
+	}
+
+	public boolean isMalformed() {
+		return error != null;
+	}
+}
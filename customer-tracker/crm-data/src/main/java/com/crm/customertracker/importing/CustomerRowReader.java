@@ -0,0 +1,10 @@
+package com.crm.customertracker.importing;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// Reads the rows of an uploaded Customer import one at a time, so the file is never held in memory
+public interface CustomerRowReader extends Closeable {
+	// Return the next row, or null once the upload has been read to the end
+	CustomerRow next() throws IOException;
+}
@@ -0,0 +1,68 @@
+package com.crm.customertracker.importing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+// Reads Customers from newline delimited JSON, one object per line, so each line is parsed on its own
+// and a malformed line only rejects that row
+class NdjsonCustomerRowReader implements CustomerRowReader {
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	private final BufferedReader reader;
+	private long lineNumber;
+
+	NdjsonCustomerRowReader(BufferedReader reader) {
+		this.reader = reader;
+	}
+
+	@Override
+	public CustomerRow next() throws IOException {
+		String line;
+
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+
+			// Skip blank lines
+			if (line.isBlank()) {
+				continue;
+			}
+
+			JsonNode node;
+
+			try {
+				node = OBJECT_MAPPER.readTree(line);
+			} catch (JsonProcessingException e) {
+				return CustomerRow.malformed(lineNumber, "malformed JSON: " + e.getOriginalMessage());
+			}
+
+			if (!node.isObject()) {
+				return CustomerRow.malformed(lineNumber, "expected a JSON object");
+			}
+
+			return CustomerRow.parsed(lineNumber, text(node, "firstName"), text(node, "lastName"), text(node, "email"));
+		}
+
+		return null;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	// Helper method: Trimmed text of a JSON field, null when the field is missing, null or empty
+	private static String text(JsonNode node, String fieldName) {
+		JsonNode field = node.get(fieldName);
+
+		if (field == null || field.isNull()) {
+			return null;
+		}
+
+		String value = field.asText().trim();
+		return value.isEmpty() ? null : value;
+	}
+}
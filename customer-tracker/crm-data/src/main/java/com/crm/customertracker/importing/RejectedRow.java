@@ -0,0 +1,12 @@
+package com.crm.customertracker.importing;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// A row of a Customer import that was not saved, along with why
+@Getter
+@AllArgsConstructor
+public class RejectedRow {
+	private final long lineNumber;
+	private final String reason;
+}
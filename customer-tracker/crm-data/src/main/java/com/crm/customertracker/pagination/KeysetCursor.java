@@ -0,0 +1,110 @@
+package com.crm.customertracker.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.beans.PropertyDescriptor;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+// Position of a row in a listing sorted by (sortField, id), used to seek to the next or previous page
+// instead of skipping over all the rows before it with an OFFSET
+@Getter
+@AllArgsConstructor
+public class KeysetCursor {
+	private static final String VERSION = "k1";
+	private static final String SEPARATOR = "|";
+	private static final String NULL_VALUE = "-";
+	private static final String NON_NULL_VALUE = "+";
+
+	private final String sortField;
+
+	// Value of the sort field in the row the cursor points at, of the sorted attribute's Java type (null if the
+	// value was null)
+	private final Object sortValue;
+
+	private final int id;
+
+	// True when the cursor seeks the page before the row instead of the page after it
+	private final boolean backward;
+
+	// Create an opaque token pointing after the given row (used for the "Next" link)
+	public static String after(Object row, String sortField) {
+		return of(row, sortField, false).encode();
+	}
+
+	// Create an opaque token pointing before the given row (used for the "Previous" link)
+	public static String before(Object row, String sortField) {
+		return of(row, sortField, true).encode();
+	}
+
+	public static KeysetCursor of(Object row, String sortField, boolean backward) {
+		BeanWrapperImpl beanWrapper = new BeanWrapperImpl(row);
+		Object value = beanWrapper.getPropertyValue(sortField);
+		int id = (Integer) beanWrapper.getPropertyValue("id");
+
+		return new KeysetCursor(sortField, value, id, backward);
+	}
+
+	// Decode a token for a listing of rowClass rows, returning null (the first page) if the token is missing,
+	// malformed, was created for a different sort field or holds a value that isn't of the sort field's type
+	public static KeysetCursor decode(String token, String sortField, Class<?> rowClass) {
+		if (token == null || token.isBlank()) {
+			return null;
+		}
+
+		PropertyDescriptor sortProperty = BeanUtils.getPropertyDescriptor(rowClass, sortField);
+
+		if (sortProperty == null) {
+			return null;
+		}
+
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			String[] parts = decoded.split("\\" + SEPARATOR, 5);
+
+			if (parts.length != 5 || !VERSION.equals(parts[0]) || !parts[2].equals(sortField)) {
+				return null;
+			}
+
+			// Parse the value here, so a tampered token starts from the first page instead of failing the query
+			Object sortValue = parts[4].startsWith(NON_NULL_VALUE)
+					? fromSortValue(parts[4].substring(1), sortProperty.getPropertyType()) : null;
+
+			return new KeysetCursor(parts[2], sortValue, Integer.parseInt(parts[3]), "B".equals(parts[1]));
+		} catch (IllegalArgumentException exception) {
+			return null;
+		}
+	}
+
+	public String encode() {
+		String value = sortValue == null ? NULL_VALUE : NON_NULL_VALUE + toSortValue(sortValue);
+		String raw = String.join(SEPARATOR, VERSION, backward ? "B" : "F", sortField, String.valueOf(id), value);
+
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	// Convert the String form of a sort value back to the Java type of the sorted attribute
+	private static Object fromSortValue(String sortValue, Class<?> javaType) {
+		if (Date.class.isAssignableFrom(javaType)) {
+			return new Date(Long.parseLong(sortValue));
+		} else if (javaType == Integer.class || javaType == int.class) {
+			return Integer.valueOf(sortValue);
+		} else if (javaType == Long.class || javaType == long.class) {
+			return Long.valueOf(sortValue);
+		}
+
+		return sortValue;
+	}
+
+	private static String toSortValue(Object value) {
+		if (value instanceof Date) {
+			return String.valueOf(((Date) value).getTime());
+		}
+
+		return value.toString();
+	}
+}
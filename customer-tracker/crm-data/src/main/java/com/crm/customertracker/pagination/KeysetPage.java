@@ -0,0 +1,47 @@
+package com.crm.customertracker.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// A page of rows read by seeking from a KeysetCursor, along with the opaque cursor tokens
+// of the pages before and after it (null when there is no such page)
+@Getter
+@AllArgsConstructor
+public class KeysetPage<T> {
+	private final List<T> content;
+	private final String nextCursor;
+	private final String previousCursor;
+
+	// Build a page from the rows of a keyset query that asked for one row more than the page size
+	public static <T> KeysetPage<T> of(List<T> rows, int pageSize, KeysetCursor cursor, String sortField) {
+		boolean hasMoreRows = rows.size() > pageSize;
+		List<T> content = new ArrayList<>(hasMoreRows ? rows.subList(0, pageSize) : rows);
+
+		boolean backward = cursor != null && cursor.isBackward();
+		boolean hasNext;
+		boolean hasPrevious;
+
+		if (backward) {
+			// Rows before the cursor are read in reverse order, so put them back in display order
+			Collections.reverse(content);
+			hasNext = true;
+			hasPrevious = hasMoreRows;
+		} else {
+			hasNext = hasMoreRows;
+			hasPrevious = cursor != null;
+		}
+
+		if (content.isEmpty()) {
+			return new KeysetPage<>(content, null, null);
+		}
+
+		String nextCursor = hasNext ? KeysetCursor.after(content.get(content.size() - 1), sortField) : null;
+		String previousCursor = hasPrevious ? KeysetCursor.before(content.get(0), sortField) : null;
+
+		return new KeysetPage<>(content, nextCursor, previousCursor);
+	}
+}
@@ -0,0 +1,92 @@
+package com.crm.customertracker.pagination;
+
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.List;
+
+// Builds and runs "seek" queries: WHERE (sortField, id) is after/before the cursor ORDER BY sortField, id LIMIT n.
+// The cost of a page no longer depends on how many rows come before it, unlike LIMIT offset, n.
+public final class KeysetQuery {
+	private KeysetQuery() {
+	}
+
+	// Only the given attributes are selected (a dot navigates to an association's ID, such as "customer.id") and
+	// passed to the result class's constructor, so no entity is loaded or managed
+	public static <T, R> List<R> find(EntityManager entityManager, Class<T> entityClass, Class<R> resultClass,
+									  KeysetCursor cursor, String sortField, Sort.Direction direction, int limit,
+									  String... attributes) {
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<R> query = criteriaBuilder.createQuery(resultClass);
+		Root<T> root = query.from(entityClass);
+
+		Selection<?>[] selections = new Selection<?>[attributes.length];
+		for (int index = 0; index < attributes.length; index++) {
+			selections[index] = path(root, attributes[index]);
+		}
+		query.select(criteriaBuilder.construct(resultClass, selections));
+
+		return find(entityManager, query, root, cursor, sortField, direction, limit);
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static <R> List<R> find(EntityManager entityManager, CriteriaQuery<R> query, Root<?> root,
+									KeysetCursor cursor, String sortField, Sort.Direction direction, int limit) {
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+
+		Path<Comparable> field = root.get(sortField);
+		Path<Integer> id = root.get("id");
+
+		// Seeking backward reads the rows before the cursor in reverse order
+		boolean ascending = direction.isAscending() != (cursor != null && cursor.isBackward());
+
+		if (cursor != null) {
+			Comparable value = (Comparable) cursor.getSortValue();
+			query.where(seekPredicate(criteriaBuilder, field, id, value, cursor.getId(), ascending));
+		}
+
+		query.orderBy(ascending ? criteriaBuilder.asc(field) : criteriaBuilder.desc(field),
+				ascending ? criteriaBuilder.asc(id) : criteriaBuilder.desc(id));
+
+		return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+	}
+
+	// Helper method: Resolve a dotted attribute name against the root
+	private static Path<?> path(Root<?> root, String attribute) {
+		Path<?> path = root;
+
+		for (String name : attribute.split("\\.")) {
+			path = path.get(name);
+		}
+
+		return path;
+	}
+
+	// MySQL sorts NULLs first in ascending order and last in descending order, so rows with a NULL sort value
+	// come before every other row when ascending and after every other row when descending
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static Predicate seekPredicate(CriteriaBuilder criteriaBuilder, Path<Comparable> field, Path<Integer> id,
+										   Comparable value, int cursorId, boolean ascending) {
+		Predicate idAfterCursor = ascending ? criteriaBuilder.greaterThan(id, cursorId)
+				: criteriaBuilder.lessThan(id, cursorId);
+
+		if (value == null) {
+			Predicate sameNullValue = criteriaBuilder.and(criteriaBuilder.isNull(field), idAfterCursor);
+
+			return ascending ? criteriaBuilder.or(sameNullValue, criteriaBuilder.isNotNull(field)) : sameNullValue;
+		}
+
+		Predicate valueAfterCursor = ascending ? criteriaBuilder.greaterThan(field, value)
+				: criteriaBuilder.lessThan(field, value);
+		Predicate sameValue = criteriaBuilder.and(criteriaBuilder.equal(field, value), idAfterCursor);
+
+		return ascending ? criteriaBuilder.or(valueAfterCursor, sameValue)
+				: criteriaBuilder.or(valueAfterCursor, sameValue, criteriaBuilder.isNull(field));
+	}
+}
@@ -0,0 +1,10 @@
+package com.crm.customertracker.repository.customer;
+
+import java.util.List;
+
+import com.crm.customertracker.entity.customer.Customer;
+
+public interface CustomerBatchRepository {
+	// Insert or update the Customers (and their Licenses) in one transaction, sending the statements in JDBC batches
+	void saveAllInBatches(List<Customer> customers);
+}
@@ -0,0 +1,43 @@
+package com.crm.customertracker.repository.customer;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.crm.customertracker.entity.customer.Customer;
+
+public class CustomerBatchRepositoryImpl implements CustomerBatchRepository {
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private final int batchSize;
+
+	public CustomerBatchRepositoryImpl(@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	@Transactional
+	public void saveAllInBatches(List<Customer> customers) {
+		for (int index = 0; index < customers.size(); index++) {
+			Customer customer = customers.get(index);
+
+			// A Customer without an ID (Primary Key) is inserted rather than updated
+			if (customer.getId() == 0) {
+				entityManager.persist(customer);
+			} else {
+				entityManager.merge(customer);
+			}
+
+			// Flush a full JDBC batch at a time and detach it, so the persistence context doesn't grow with the list
+			if ((index + 1) % batchSize == 0) {
+				entityManager.flush();
+				entityManager.clear();
+			}
+		}
+	}
+}
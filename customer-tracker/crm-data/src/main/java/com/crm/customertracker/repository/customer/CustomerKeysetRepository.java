@@ -0,0 +1,14 @@
+package com.crm.customertracker.repository.customer;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+
+import com.crm.customertracker.dto.CustomerDto;
+import com.crm.customertracker.pagination.KeysetCursor;
+
+public interface CustomerKeysetRepository {
+	// Get the columns of the Customers sorted by the sort field (and ID) that come after the cursor,
+	// or of the first ones if cursor is null
+	List<CustomerDto> findKeysetDtos(KeysetCursor cursor, String sortField, Sort.Direction direction, int limit);
+}
@@ -0,0 +1,24 @@
+package com.crm.customertracker.repository.customer;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.springframework.data.domain.Sort;
+
+import com.crm.customertracker.dto.CustomerDto;
+import com.crm.customertracker.entity.customer.Customer;
+import com.crm.customertracker.pagination.KeysetCursor;
+import com.crm.customertracker.pagination.KeysetQuery;
+
+public class CustomerKeysetRepositoryImpl implements CustomerKeysetRepository {
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<CustomerDto> findKeysetDtos(KeysetCursor cursor, String sortField, Sort.Direction direction, int limit) {
+		return KeysetQuery.find(entityManager, Customer.class, CustomerDto.class, cursor, sortField, direction, limit,
+				CustomerDto.ATTRIBUTES);
+	}
+}
\ No newline at end of file
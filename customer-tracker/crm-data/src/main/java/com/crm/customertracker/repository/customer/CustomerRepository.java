@@ -1,23 +1,65 @@
 package com.crm.customertracker.repository.customer;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import com.crm.customertracker.dto.CustomerDto;
 import com.crm.customertracker.entity.customer.Customer;
 
-public interface CustomerRepository extends JpaRepository<Customer, Integer> {
+import static org.hibernate.annotations.QueryHints.CACHE_MODE;
+import static org.hibernate.annotations.QueryHints.FETCH_SIZE;
+import static org.hibernate.annotations.QueryHints.READ_ONLY;
+
+public interface CustomerRepository extends JpaRepository<Customer, Integer>, CustomerKeysetRepository,
+		CustomerBatchRepository {
 	// JPA performs a Query based on particular characteristics (naming convention of the method):
 	// SELECT c FROM Customer c ORDER BY c.lastName
 	List<Customer> findAllByOrderByLastNameAsc();
 	
-	// Use @Query to create Custom Query to get a Customer along with its Licenses by ID (Primary Key)
-	@Query("SELECT c FROM Customer c JOIN FETCH c.licenses WHERE c.id = ?1")
-	Customer findCustomerLicenses(int customerId);
-	
+	// Use @Query to select only the columns the Customer list page shows into CustomerDtos, so a page neither
+	// hydrates nor dirty checks Customer entities (returning a Slice skips the SELECT COUNT(*) a Page would run)
+	@Query("SELECT new com.crm.customertracker.dto.CustomerDto(c.id, c.firstName, c.lastName, c.email) FROM Customer c")
+	Slice<CustomerDto> findCustomerDtos(Pageable pageable);
+
 	// Use @Query to create Custom Query to get all Customers whose first or last name sorted by last name
-	// matches the name entered by the user
-	@Query("SELECT c FROM Customer c WHERE LOWER(c.firstName) LIKE %?1% OR LOWER(c.lastName) LIKE %?1% ORDER BY c.lastName")
+	// matches the name entered by the user (lower-cased, with % and _ matched literally like the CustomerNameIndex)
+	@Query("SELECT c FROM Customer c WHERE LOWER(c.firstName) LIKE %?#{escape([0])}% ESCAPE ?#{escapeCharacter()}"
+			+ " OR LOWER(c.lastName) LIKE %?#{escape([0])}% ESCAPE ?#{escapeCharacter()} ORDER BY c.lastName")
 	List<Customer> searchEmployeeByFirstOrLastName(String customerName);
+
+	// Use @Query to load only the id and name columns of every Customer (used to build the CustomerNameIndex)
+	@Query("SELECT c.id AS id, c.firstName AS firstName, c.lastName AS lastName FROM Customer c")
+	List<CustomerName> findAllCustomerNames();
+
+	// JPA performs a Query based on particular characteristics (naming convention of the method):
+	// SELECT c FROM Customer c WHERE c.id IN ?1 ORDER BY c.lastName
+	List<Customer> findByIdInOrderByLastNameAsc(Collection<Integer> customerIds);
+
+	// Stream every Customer ordered by ID through a forward-only cursor that fetches 1000 rows at a time.
+	// Streamed Customers are read-only (no dirty-checking snapshot) and bypass the Second Level Cache,
+	// so a full export can't flush it.
+	// The caller must keep a transaction open while consuming the Stream, and close it.
+	@Query("SELECT c FROM Customer c ORDER BY c.id")
+	@QueryHints({
+			@QueryHint(name = FETCH_SIZE, value = "1000"),
+			@QueryHint(name = READ_ONLY, value = "true"),
+			@QueryHint(name = CACHE_MODE, value = "IGNORE")
+	})
+	Stream<Customer> streamAllByOrderById();
+
+	// Projection of the columns needed to index a Customer's name
+	interface CustomerName {
+		int getId();
+		String getFirstName();
+		String getLastName();
+	}
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.crm.customertracker.repository.customer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.Map;
+
+// Moves the id_generator rows of Customer and License above the highest ID already in their tables at startup.
+// On a database that had IDENTITY columns, Hibernate creates id_generator empty and would start handing out
+// IDs from 1 again, colliding with the existing rows. A row is only ever moved forward, never back.
+// Hibernate stores the last ID handed out in next_val (hibernate.id.generator.stored_last_used), so a segment
+// is seeded with its table's MAX(id).
+@Slf4j
+@Component
+public class IdGeneratorSeeder {
+	// Segment of the id_generator table -> table whose IDs it hands out
+	private static final Map<String, String> SEGMENTS = Map.of("customer", "customer", "license", "license");
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	// Runs before the first request, once Hibernate has created the id_generator table
+	@EventListener(ContextRefreshedEvent.class)
+	@Transactional
+	public void seed() {
+		SEGMENTS.forEach((segment, table) -> {
+			long maximumId = ((Number) entityManager.createNativeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)
+					.getSingleResult()).longValue();
+
+			// Lock the segment's row, so an instance starting at the same time waits for this one's seed
+			List<?> nextValues = entityManager
+					.createNativeQuery("SELECT next_val FROM id_generator WHERE sequence_name = ?1 FOR UPDATE")
+					.setParameter(1, segment)
+					.getResultList();
+
+			if (nextValues.isEmpty()) {
+				entityManager.createNativeQuery("INSERT INTO id_generator (sequence_name, next_val) VALUES (?1, ?2)")
+						.setParameter(1, segment)
+						.setParameter(2, maximumId)
+						.executeUpdate();
+			} else if (nextValues.get(0) == null || ((Number) nextValues.get(0)).longValue() < maximumId) {
+				entityManager.createNativeQuery("UPDATE id_generator SET next_val = ?2 WHERE sequence_name = ?1")
+						.setParameter(1, segment)
+						.setParameter(2, maximumId)
+						.executeUpdate();
+			} else {
+				return;
+			}
+
+			log.info("Seeded id_generator segment " + segment + " with " + maximumId);
+		});
+	}
+}
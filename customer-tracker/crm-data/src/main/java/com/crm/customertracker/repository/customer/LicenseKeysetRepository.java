@@ -0,0 +1,14 @@
+package com.crm.customertracker.repository.customer;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+
+import com.crm.customertracker.dto.LicenseDto;
+import com.crm.customertracker.pagination.KeysetCursor;
+
+public interface LicenseKeysetRepository {
+	// Get the columns of the Licenses sorted by the sort field (and ID) that come after the cursor,
+	// or of the first ones if cursor is null
+	List<LicenseDto> findKeysetDtos(KeysetCursor cursor, String sortField, Sort.Direction direction, int limit);
+}
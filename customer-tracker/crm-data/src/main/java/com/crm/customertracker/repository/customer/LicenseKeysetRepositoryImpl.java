@@ -0,0 +1,24 @@
+package com.crm.customertracker.repository.customer;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.springframework.data.domain.Sort;
+
+import com.crm.customertracker.dto.LicenseDto;
+import com.crm.customertracker.entity.customer.License;
+import com.crm.customertracker.pagination.KeysetCursor;
+import com.crm.customertracker.pagination.KeysetQuery;
+
+public class LicenseKeysetRepositoryImpl implements LicenseKeysetRepository {
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<LicenseDto> findKeysetDtos(KeysetCursor cursor, String sortField, Sort.Direction direction, int limit) {
+		return KeysetQuery.find(entityManager, License.class, LicenseDto.class, cursor, sortField, direction, limit,
+				LicenseDto.ATTRIBUTES);
+	}
+}
\ No newline at end of file
@@ -1,9 +1,42 @@
 package com.crm.customertracker.repository.customer;
 
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import com.crm.customertracker.dto.LicenseDto;
 import com.crm.customertracker.entity.customer.License;
 
-public interface LicenseRepository extends JpaRepository<License, Integer> {
+import static org.hibernate.annotations.QueryHints.CACHE_MODE;
+import static org.hibernate.annotations.QueryHints.FETCH_SIZE;
+import static org.hibernate.annotations.QueryHints.READ_ONLY;
+
+public interface LicenseRepository extends JpaRepository<License, Integer>, LicenseKeysetRepository {
+	// Use @Query to select only the columns the License list page shows into LicenseDtos, read the same way
+	// as CustomerRepository.findCustomerDtos()
+	@Query("SELECT new com.crm.customertracker.dto.LicenseDto(l.id, l.licenseName, l.startDate, l.expirationDate, l.customer.id) "
+			+ "FROM License l")
+	Slice<LicenseDto> findLicenseDtos(Pageable pageable);
+
+	// Use @Query to select only the columns of a Customer's Licenses (l.customer.id reads the foreign key
+	// column, it doesn't join the customer table)
+	@Query("SELECT new com.crm.customertracker.dto.LicenseDto(l.id, l.licenseName, l.startDate, l.expirationDate, l.customer.id) "
+			+ "FROM License l WHERE l.customer.id = ?1 ORDER BY l.id")
+	List<LicenseDto> findLicenseDtosByCustomerId(int customerId);
 
+	// Stream every License ordered by ID, read the same way as CustomerRepository.streamAllByOrderById()
+	@Query("SELECT l FROM License l ORDER BY l.id")
+	@QueryHints({
+			@QueryHint(name = FETCH_SIZE, value = "1000"),
+			@QueryHint(name = READ_ONLY, value = "true"),
+			@QueryHint(name = CACHE_MODE, value = "IGNORE")
+	})
+	Stream<License> streamAllByOrderById();
 }
\ No newline at end of file
@@ -2,11 +2,16 @@ package com.crm.customertracker.repository.security;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.QueryHint;
 
 import com.crm.customertracker.entity.security.Role;
 
 public interface RoleRepository extends JpaRepository<Role, Integer> {
 	// Use @Query to create Custom Query to get a Role based on its name
+	// The result is kept in the query cache, so registrations don't query the DB for the same Roles again
 	@Query("SELECT r FROM Role r WHERE r.name = ?1")
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
 	Role findRoleByName(String roleName);
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.crm.customertracker.repository.security;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.crm.customertracker.entity.security.UserImage;
+
+public interface UserImageRepository extends JpaRepository<UserImage, Integer> {
+	// Use @Query to create Custom Query to get only the content hash of a User's image (without reading the blob)
+	@Query("SELECT i.contentHash FROM UserImage i WHERE i.userId = ?1")
+	String findContentHashByUserId(int userId);
+}
@@ -1,7 +1,9 @@
 package com.crm.customertracker.repository.security;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.crm.customertracker.entity.security.User;
 
@@ -9,4 +11,14 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 	// Use @Query to create Custom Query to get a User along with its Roles by the username
 	@Query("SELECT u FROM User u JOIN FETCH u.roles WHERE u.username = ?1")
 	User findByUserName(String username);
+
+	// Use @Query to get only the version of a User's snapshot data (null if there is no such User)
+	@Query("SELECT u.snapshotVersion FROM User u WHERE u.username = ?1")
+	Long findSnapshotVersionByUsername(String username);
+
+	// Use @Query to move a User's snapshot data to a new version in the DB, where every instance reads it
+	@Transactional
+	@Modifying
+	@Query("UPDATE User u SET u.snapshotVersion = u.snapshotVersion + 1 WHERE u.username = ?1")
+	int incrementSnapshotVersion(String username);
 }
\ No newline at end of file
@@ -0,0 +1,287 @@
+package com.crm.customertracker.search;
+
+import com.crm.customertracker.entity.customer.Customer;
+import com.crm.customertracker.repository.customer.CustomerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory trigram index of Customer first and last names, used to resolve the IDs of Customers whose
+// name contains a search term without running a LIKE '%x%' table scan against the database.
+// The index only sees the saves and deletes made through this application instance, so with several
+// instances each one misses the others' writes until its next scheduled rebuild from the database.
+@Slf4j
+@Component
+public class CustomerNameIndex {
+	// Terms shorter than a trigram cannot be answered by the index
+	public static final int GRAM_SIZE = 3;
+
+	private static final int[] NO_IDS = new int[0];
+
+	private final CustomerRepository customerRepository;
+
+	// Terms with more candidates than this are left to the database, rather than loading that many IDs
+	private final int maximumCandidates;
+
+	// Replaced as a whole by every rebuild, so lookups keep using the previous index while it is rebuilt
+	private volatile Postings current = new Postings();
+
+	// The index being rebuilt, which also receives the writes made while it is loaded (guarded by this)
+	private Postings rebuilding;
+
+	private volatile boolean ready = false;
+
+	public CustomerNameIndex(CustomerRepository customerRepository,
+							 @Value("${app.customer-name-index.max-candidates:1000}") int maximumCandidates) {
+		this.customerRepository = customerRepository;
+		this.maximumCandidates = maximumCandidates;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(initialDelayString = "${app.customer-name-index.rebuild-delay:600000}",
+			fixedDelayString = "${app.customer-name-index.rebuild-delay:600000}")
+	public void rebuild() {
+		long begin = System.currentTimeMillis();
+		Postings postings = new Postings();
+
+		synchronized (this) {
+			rebuilding = postings;
+		}
+
+		try {
+			// Load only the id and name columns of every Customer to build the index
+			for (CustomerRepository.CustomerName customerName : customerRepository.findAllCustomerNames()) {
+				synchronized (this) {
+					// A Customer saved while the index was loaded is already indexed under its saved name
+					if (!postings.contains(customerName.getId())) {
+						postings.index(customerName.getId(), customerName.getFirstName(), customerName.getLastName());
+					}
+				}
+			}
+
+			synchronized (this) {
+				current = postings;
+			}
+		} finally {
+			synchronized (this) {
+				rebuilding = null;
+			}
+		}
+
+		ready = true;
+		log.info("Customer name index built for " + postings.size() + " customers in "
+				+ (System.currentTimeMillis() - begin) + " milliseconds");
+	}
+
+	public boolean isReady() {
+		return ready;
+	}
+
+	// The index can only answer terms that contain at least one full trigram
+	public boolean supports(String term) {
+		return term != null && normalizeTerm(term).length() >= GRAM_SIZE;
+	}
+
+	public synchronized void index(Customer customer) {
+		// Nothing to index for a Customer that was never persisted
+		if (customer == null || customer.getId() == 0) {
+			return;
+		}
+
+		current.index(customer.getId(), customer.getFirstName(), customer.getLastName());
+
+		if (rebuilding != null) {
+			rebuilding.index(customer.getId(), customer.getFirstName(), customer.getLastName());
+		}
+	}
+
+	public synchronized void remove(int customerId) {
+		current.remove(customerId);
+
+		if (rebuilding != null) {
+			rebuilding.remove(customerId);
+		}
+	}
+
+	// Return the IDs of all Customers whose first or last name contains the term (case-insensitive), or
+	// nothing if the term has too many candidates to be worth answering from the index
+	public Optional<Set<Integer>> lookup(String term) {
+		return current.lookup(normalizeTerm(term), maximumCandidates);
+	}
+
+	// Number of trigrams indexed, used by tests
+	int trigrams() {
+		return current.postings.size();
+	}
+
+	// Trim and lower-case a search term, the same term is passed to the index and the LIKE query
+	public static String normalizeTerm(String term) {
+		return term == null ? "" : term.trim().toLowerCase(Locale.ROOT);
+	}
+
+	// Names are only lower-cased (not trimmed), the same as LOWER(column) in the LIKE query
+	private static String normalizeName(String name) {
+		return name == null ? "" : name.toLowerCase(Locale.ROOT);
+	}
+
+	// Trigram -> sorted IDs of the Customers having it, along with the names indexed for each Customer.
+	// Posting arrays are never changed once published, every write replaces the array, so lookups read
+	// them without locking and an int[] per trigram avoids a boxed Integer per entry.
+	private static class Postings {
+		private final Map<String, int[]> postings = new ConcurrentHashMap<>();
+
+		// Customer ID -> lower-cased names currently indexed for that Customer
+		private final Map<Integer, String[]> names = new ConcurrentHashMap<>();
+
+		private int size() {
+			return names.size();
+		}
+
+		private boolean contains(int customerId) {
+			return names.containsKey(customerId);
+		}
+
+		private void index(int customerId, String firstName, String lastName) {
+			// Drop any stale trigrams of a Customer whose name has been updated
+			remove(customerId);
+
+			String[] indexedNames = {normalizeName(firstName), normalizeName(lastName)};
+			names.put(customerId, indexedNames);
+
+			for (String gram : grams(indexedNames)) {
+				postings.compute(gram, (key, ids) -> add(ids == null ? NO_IDS : ids, customerId));
+			}
+		}
+
+		private void remove(int customerId) {
+			String[] indexedNames = names.remove(customerId);
+
+			if (indexedNames != null) {
+				// A trigram no Customer has anymore is dropped rather than kept with an empty posting
+				for (String gram : grams(indexedNames)) {
+					postings.computeIfPresent(gram, (key, ids) -> {
+						int[] remaining = without(ids, customerId);
+						return remaining.length == 0 ? null : remaining;
+					});
+				}
+			}
+		}
+
+		private Optional<Set<Integer>> lookup(String term, int maximumCandidates) {
+			List<int[]> candidateSets = new ArrayList<>();
+
+			for (String gram : grams(term)) {
+				int[] ids = postings.get(gram);
+
+				// A trigram no Customer has means nothing can match
+				if (ids == null) {
+					return Optional.of(Set.of());
+				}
+
+				candidateSets.add(ids);
+			}
+
+			// Intersect starting with the smallest posting to keep the work proportional to the result
+			candidateSets.sort(Comparator.comparingInt(ids -> ids.length));
+
+			if (candidateSets.isEmpty() || candidateSets.get(0).length > maximumCandidates) {
+				return Optional.empty();
+			}
+
+			Set<Integer> matches = new HashSet<>();
+
+			for (int candidate : candidateSets.get(0)) {
+				if (containsInAll(candidateSets, candidate) && nameContains(candidate, term)) {
+					matches.add(candidate);
+				}
+			}
+
+			return Optional.of(matches);
+		}
+
+		// Trigram containment is necessary but not sufficient, so confirm against the indexed names
+		private boolean nameContains(int customerId, String term) {
+			String[] indexedNames = names.get(customerId);
+
+			if (indexedNames == null) {
+				return false;
+			}
+
+			for (String name : indexedNames) {
+				if (name.contains(term)) {
+					return true;
+				}
+			}
+
+			return false;
+		}
+	}
+
+	private static boolean containsInAll(List<int[]> candidateSets, int candidate) {
+		for (int i = 1; i < candidateSets.size(); i++) {
+			if (Arrays.binarySearch(candidateSets.get(i), candidate) < 0) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	// Helper method: Copy of the sorted IDs with the ID inserted in order
+	private static int[] add(int[] ids, int id) {
+		int position = Arrays.binarySearch(ids, id);
+
+		if (position >= 0) {
+			return ids;
+		}
+
+		int insertAt = -position - 1;
+		int[] added = new int[ids.length + 1];
+		System.arraycopy(ids, 0, added, 0, insertAt);
+		added[insertAt] = id;
+		System.arraycopy(ids, insertAt, added, insertAt + 1, ids.length - insertAt);
+
+		return added;
+	}
+
+	// Helper method: Copy of the sorted IDs without the ID
+	private static int[] without(int[] ids, int id) {
+		int position = Arrays.binarySearch(ids, id);
+
+		if (position < 0) {
+			return ids;
+		}
+
+		int[] remaining = new int[ids.length - 1];
+		System.arraycopy(ids, 0, remaining, 0, position);
+		System.arraycopy(ids, position + 1, remaining, position, ids.length - position - 1);
+
+		return remaining;
+	}
+
+	private static Set<String> grams(String... values) {
+		Set<String> grams = new HashSet<>();
+
+		for (String value : values) {
+			for (int i = 0; i + GRAM_SIZE <= value.length(); i++) {
+				grams.add(value.substring(i, i + GRAM_SIZE));
+			}
+		}
+
+		return grams;
+	}
+}
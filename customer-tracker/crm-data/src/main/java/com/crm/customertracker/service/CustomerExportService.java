@@ -0,0 +1,11 @@
+package com.crm.customertracker.service;
+
+import com.crm.customertracker.exporting.ExportFormat;
+
+import java.io.IOException;
+import java.io.Writer;
+
+public interface CustomerExportService {
+	long exportCustomers(Writer writer, ExportFormat format) throws IOException;
+	long exportLicenses(Writer writer, ExportFormat format) throws IOException;
+}
@@ -0,0 +1,97 @@
+package com.crm.customertracker.service;
+
+import com.crm.customertracker.entity.customer.Customer;
+import com.crm.customertracker.entity.customer.License;
+import com.crm.customertracker.exporting.ExportFormat;
+import com.crm.customertracker.exporting.ExportRowWriter;
+import com.crm.customertracker.repository.customer.CustomerRepository;
+import com.crm.customertracker.repository.customer.LicenseRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class CustomerExportServiceImpl implements CustomerExportService {
+	// Streamed entities are detached after this many rows, so the persistence context stays small
+	static final int CLEAR_INTERVAL = 1000;
+
+	private final CustomerRepository customerRepository;
+	private final LicenseRepository licenseRepository;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public CustomerExportServiceImpl(CustomerRepository customerRepository, LicenseRepository licenseRepository) {
+		this.customerRepository = customerRepository;
+		this.licenseRepository = licenseRepository;
+	}
+
+	@Override
+	// The transaction keeps the connection, and with it the cursor, open while the Stream is consumed
+	@Transactional(readOnly = true)
+	public long exportCustomers(Writer writer, ExportFormat format) throws IOException {
+		ExportRowWriter rows = format.open(writer, "id", "first_name", "last_name", "email");
+		long exported = 0;
+
+		try (Stream<Customer> customers = customerRepository.streamAllByOrderById()) {
+			Iterator<Customer> iterator = customers.iterator();
+
+			while (iterator.hasNext()) {
+				Customer customer = iterator.next();
+				rows.writeRow(customer.getId(), customer.getFirstName(), customer.getLastName(), customer.getEmail());
+
+				clearPeriodically(++exported, rows);
+			}
+		}
+
+		rows.flush();
+		return exported;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long exportLicenses(Writer writer, ExportFormat format) throws IOException {
+		ExportRowWriter rows = format.open(writer, "id", "license_name", "start_date", "expiration_date", "customer_id");
+		long exported = 0;
+
+		try (Stream<License> licenses = licenseRepository.streamAllByOrderById()) {
+			Iterator<License> iterator = licenses.iterator();
+
+			while (iterator.hasNext()) {
+				License license = iterator.next();
+
+				// The Customer is a lazy proxy, reading its ID does not load it
+				Integer customerId = license.getCustomer() != null ? license.getCustomer().getId() : null;
+
+				rows.writeRow(license.getId(), license.getLicenseName(), format(license.getStartDate()),
+						format(license.getExpirationDate()), customerId);
+
+				clearPeriodically(++exported, rows);
+			}
+		}
+
+		rows.flush();
+		return exported;
+	}
+
+	// Helper method: Every CLEAR_INTERVAL rows, detach the streamed entities and push the rows to the client
+	private void clearPeriodically(long exported, ExportRowWriter rows) throws IOException {
+		if (exported % CLEAR_INTERVAL == 0) {
+			entityManager.clear();
+			rows.flush();
+		}
+	}
+
+	// Helper method: Format a date as an ISO-8601 instant (java.sql.Date doesn't support toInstant())
+	private static String format(Date date) {
+		return date != null ? Instant.ofEpochMilli(date.getTime()).toString() : null;
+	}
+}
@@ -0,0 +1,13 @@
+package com.crm.customertracker.service;
+
+import com.crm.customertracker.importing.CustomerImportFormat;
+import com.crm.customertracker.importing.CustomerImportListener;
+import com.crm.customertracker.importing.CustomerImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface CustomerImportService {
+	CustomerImportResult importCustomers(InputStream input, CustomerImportFormat format,
+										 CustomerImportListener listener) throws IOException;
+}
@@ -0,0 +1,121 @@
+package com.crm.customertracker.service;
+
+import com.crm.customertracker.entity.customer.Customer;
+import com.crm.customertracker.importing.CustomerImportFormat;
+import com.crm.customertracker.importing.CustomerImportListener;
+import com.crm.customertracker.importing.CustomerImportResult;
+import com.crm.customertracker.importing.CustomerRow;
+import com.crm.customertracker.importing.CustomerRowReader;
+import com.crm.customertracker.importing.RejectedRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class CustomerImportServiceImpl implements CustomerImportService {
+	private final CustomerService customerService;
+	private final Validator validator;
+	private final int batchSize;
+	private final int maxRejectedRows;
+
+	public CustomerImportServiceImpl(CustomerService customerService, Validator validator,
+									 @Value("${app.customer-import.batch-size:500}") int batchSize,
+									 @Value("${app.customer-import.max-rejected-rows:1000}") int maxRejectedRows) {
+		this.customerService = customerService;
+		this.validator = validator;
+		this.batchSize = batchSize;
+		this.maxRejectedRows = maxRejectedRows;
+	}
+
+	@Override
+	public CustomerImportResult importCustomers(InputStream input, CustomerImportFormat format,
+												CustomerImportListener listener) throws IOException {
+		CustomerImportResult result = new CustomerImportResult(maxRejectedRows);
+
+		// Only one batch of Customers (and their line numbers) is held in memory at a time
+		List<Customer> batch = new ArrayList<>(batchSize);
+		List<Long> batchLineNumbers = new ArrayList<>(batchSize);
+
+		try (CustomerRowReader rows = format.open(
+				new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)))) {
+			CustomerRow row;
+
+			while ((row = rows.next()) != null) {
+				result.processed();
+
+				// Reject rows that could not be parsed or break the Customer's validation constraints
+				String error = row.isMalformed() ? row.getError() : validate(row.getCustomer());
+
+				if (error != null) {
+					reject(result, listener, new RejectedRow(row.getLineNumber(), error));
+					continue;
+				}
+
+				batch.add(row.getCustomer());
+				batchLineNumbers.add(row.getLineNumber());
+
+				if (batch.size() == batchSize) {
+					saveBatch(batch, batchLineNumbers, result, listener);
+				}
+			}
+		}
+
+		// Save the last, partial batch
+		if (!batch.isEmpty()) {
+			saveBatch(batch, batchLineNumbers, result, listener);
+		}
+
+		return result;
+	}
+
+	// Helper method: Save a batch of Customers in one transaction, then start the next batch
+	private void saveBatch(List<Customer> batch, List<Long> batchLineNumbers, CustomerImportResult result,
+						   CustomerImportListener listener) {
+		try {
+			customerService.saveCustomers(List.copyOf(batch));
+			result.imported(batch.size());
+		} catch (DataAccessException e) {
+			// The batch's transaction was rolled back, so none of its rows were saved
+			for (Long lineNumber : batchLineNumbers) {
+				reject(result, listener, new RejectedRow(lineNumber, "not saved: " + e.getMostSpecificCause().getMessage()));
+			}
+		}
+
+		batch.clear();
+		batchLineNumbers.clear();
+
+		listener.onProgress(result);
+	}
+
+	// Helper method: Describe the Customer's constraint violations, or return null if it is valid
+	private String validate(Customer customer) {
+		Set<ConstraintViolation<Customer>> violations = validator.validate(customer);
+
+		if (violations.isEmpty()) {
+			return null;
+		}
+
+		return violations.stream()
+				.map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+				.sorted()
+				.collect(Collectors.joining(", "));
+	}
+
+	// Helper method: Count the rejected row and tell the listener about it
+	private static void reject(CustomerImportResult result, CustomerImportListener listener, RejectedRow rejectedRow) {
+		result.rejected(rejectedRow);
+		listener.onRejected(rejectedRow);
+	}
+}
@@ -1,21 +1,33 @@
 package com.crm.customertracker.service;
 
+import com.crm.customertracker.dto.CustomerDto;
+import com.crm.customertracker.dto.CustomerLicensesDto;
+import com.crm.customertracker.dto.LicenseDto;
 import com.crm.customertracker.entity.customer.Customer;
 import com.crm.customertracker.entity.customer.License;
+import com.crm.customertracker.pagination.KeysetPage;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface CustomerService {
 	List<Customer> findAllCustomers();
 	Customer findCustomerById(int customerId);
 	void saveCustomer(Customer customer);
+	void saveCustomers(List<Customer> customers);
 	void deleteCustomerById(int customerId);
-	Customer findCustomerLicenses(int customerId);
+	CustomerLicensesDto findCustomerLicenses(int customerId);
 	List<Customer> findCustomersByName(String customerName);
-	Page<Customer> findPaginatedCustomers(int pageNumber, int pageSize, String sortField, String sortDirection);
+	Page<CustomerDto> findPaginatedCustomers(int pageNumber, int pageSize, String sortField, String sortDirection);
+	KeysetPage<CustomerDto> findPaginatedCustomers(String cursor, int pageSize, String sortField, String sortDirection);
+	long countCustomers();
+	Optional<CustomerDto> findCustomerDtoById(int customerId);
+	List<LicenseDto> findCustomerLicenseDtos(int customerId);
 	
 	List<License> findAllLicenses();
 	void deleteLicenseById(int licenseId);
-	Page<License> findPaginatedLicenses(int pageNumber, int pageSize, String sortField, String sortDirection);
+	Page<LicenseDto> findPaginatedLicenses(int pageNumber, int pageSize, String sortField, String sortDirection);
+	KeysetPage<LicenseDto> findPaginatedLicenses(String cursor, int pageSize, String sortField, String sortDirection);
+	long countLicenses();
 }
\ No newline at end of file
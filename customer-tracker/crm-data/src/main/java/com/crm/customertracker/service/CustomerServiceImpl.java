@@ -1,92 +1,204 @@
 package com.crm.customertracker.service;
 
+import com.crm.customertracker.cache.CountCache;
+import com.crm.customertracker.cache.CustomerCache;
+import com.crm.customertracker.datasource.ReadYourWrites;
+import com.crm.customertracker.dto.CustomerDto;
+import com.crm.customertracker.dto.CustomerLicensesDto;
+import com.crm.customertracker.dto.LicenseDto;
 import com.crm.customertracker.entity.customer.Customer;
 import com.crm.customertracker.entity.customer.License;
+import com.crm.customertracker.pagination.KeysetCursor;
+import com.crm.customertracker.pagination.KeysetPage;
 import com.crm.customertracker.repository.customer.CustomerRepository;
 import com.crm.customertracker.repository.customer.LicenseRepository;
+import com.crm.customertracker.search.CustomerNameIndex;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+// Every read runs in one read-only transaction, so its queries share a single connection (a replica's, when
+// replicas are configured) and Hibernate neither dirty checks nor flushes the loaded Customers. Writes keep the
+// repositories' own transactions, so the caches are only invalidated after the write has committed. Loads that
+// fill the Customer cache, and the reads of a user who just wrote, go to the primary (see ReadYourWrites).
 @Service
 public class CustomerServiceImpl implements CustomerService {
 	private final CustomerRepository customerRepository;
 	private final LicenseRepository licenseRepository;
+	private final CustomerNameIndex customerNameIndex;
+	private final CountCache countCache;
+	private final CustomerCache customerCache;
 
-	public CustomerServiceImpl(CustomerRepository customerRepository, LicenseRepository licenseRepository) {
+	public CustomerServiceImpl(CustomerRepository customerRepository, LicenseRepository licenseRepository,
+							   CustomerNameIndex customerNameIndex, CountCache countCache, CustomerCache customerCache) {
 		this.customerRepository = customerRepository;
 		this.licenseRepository = licenseRepository;
+		this.customerNameIndex = customerNameIndex;
+		this.countCache = countCache;
+		this.customerCache = customerCache;
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<Customer> findAllCustomers() {
 		// Return all Customers sorted by last name in ascending order
 		return customerRepository.findAllByOrderByLastNameAsc();
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Customer findCustomerById(int customerId) {
-		// Optional: Different pattern instead of having to check nulls
-		// Find a Customer by its ID
-		Optional<Customer> result = customerRepository.findById(customerId);
-		
-		Customer customer = null;
-		
-		// If value is present, then return the value 
-		if (result.isPresent()) {
-			customer = result.get();
+		// Read the Customer through the cache, only loading it from the DB on a cache miss
+		CustomerDto customer = customerCache.getCustomer(customerId, this::loadCustomerById);
+
+		// If value is present, then return a copy the caller may change (e.g. bind a form to)
+		if (customer != null) {
+			return toCustomer(customer);
 		} else {
 			// Otherwise, throw a Runtime Exception
 			throw new RuntimeException("Customer ID not found: " + customerId);
 		}
-		
-		return customer;
+	}
+
+	// Helper method: Load a Customer by its ID from the DB, null if there is no such Customer. Loaded from the
+	// primary, since a lagging replica's row would stay in the cache for its whole TTL.
+	private CustomerDto loadCustomerById(int customerId) {
+		// Optional: Different pattern instead of having to check nulls
+		return ReadYourWrites.onPrimary(() -> customerRepository.findById(customerId).map(CustomerDto::of).orElse(null));
+	}
+
+	// Helper method: Copy a cached CustomerDto into a new Customer, so no caller shares the cached value
+	private static Customer toCustomer(CustomerDto customer) {
+		return Customer.builder().id(customer.getId()).firstName(customer.getFirstName())
+				.lastName(customer.getLastName()).email(customer.getEmail()).build();
 	}
 
 	@Override
 	public void saveCustomer(Customer customer) {
+		// A Customer without an ID (Primary Key) is inserted rather than updated
+		boolean newCustomer = customer.getId() == 0;
+
 		// Save the Customer
-		customerRepository.save(customer);
+		Customer savedCustomer = customerRepository.save(customer);
+		ReadYourWrites.recordWrite();
+
+		// Keep the cached total number of Customers in step with the insert
+		if (newCustomer) {
+			countCache.adjust(CountCache.CUSTOMERS, 1);
+		}
+
+		// Keep the Customer name index in sync with the saved first and last name
+		customerNameIndex.index(savedCustomer);
+
+		// Drop the cached copies of the Customer, the next read loads the saved Customer
+		customerCache.invalidateCustomer(customer.getId());
+	}
+
+	@Override
+	public void saveCustomers(List<Customer> customers) {
+		// Count the Customers and Licenses without an ID (Primary Key) before saving, those are inserted
+		long newCustomers = customers.stream().filter(customer -> customer.getId() == 0).count();
+		long newLicenses = customers.stream()
+				.filter(customer -> customer.getLicenses() != null)
+				.flatMap(customer -> customer.getLicenses().stream())
+				.filter(license -> license.getId() == 0)
+				.count();
+
+		// Save all Customers along with their Licenses in JDBC batches
+		customerRepository.saveAllInBatches(customers);
+		ReadYourWrites.recordWrite();
+
+		// Keep the cached totals in step with the inserts
+		if (newCustomers > 0) {
+			countCache.adjust(CountCache.CUSTOMERS, newCustomers);
+		}
+		if (newLicenses > 0) {
+			countCache.adjust(CountCache.LICENSES, newLicenses);
+		}
+
+		// Keep the Customer name index and the Customer cache in sync with every saved Customer
+		for (Customer customer : customers) {
+			customerNameIndex.index(customer);
+			customerCache.invalidateCustomer(customer.getId());
+		}
 	}
 
 	@Override
 	public void deleteCustomerById(int customerId) {
 		// Delete the Customer by its ID
 		customerRepository.deleteById(customerId);
+		ReadYourWrites.recordWrite();
+
+		// Remove the deleted Customer from the Customer name index and the Customer cache
+		customerNameIndex.remove(customerId);
+		customerCache.invalidateCustomer(customerId);
+
+		// Deleting a Customer also deletes its Licenses, so re-count those in the background
+		countCache.adjust(CountCache.CUSTOMERS, -1);
+		countCache.invalidate(CountCache.LICENSES);
 	}
 
 	@Override
-	public Customer findCustomerLicenses(int customerId) {
-		// Get the Customer along with its Licenses by the ID (Primary Key)
-		Optional<Customer> result = Optional.ofNullable(customerRepository.findCustomerLicenses(customerId));
-		
-		Customer customer = null;
-		
-		// If result is not null, store the result in the Customer object
-		if (result.isPresent()) {
-			customer = result.get();
-		} else {
-			// Else create a new Customer object
-			customer = Customer.builder().build();
+	@Transactional(readOnly = true)
+	public CustomerLicensesDto findCustomerLicenses(int customerId) {
+		// Return the cached Customer along with its Licenses, only loading them from the DB on a cache miss
+		CustomerLicensesDto customerLicenses = customerCache.getCustomerLicenses(customerId, this::loadCustomerLicenses);
+
+		if (customerLicenses == null) {
+			throw new RuntimeException("Customer ID not found: " + customerId);
 		}
-		
-		return customer;
+
+		return customerLicenses;
+	}
+
+	// Helper method: Load a Customer along with its Licenses from the primary, null (not cached) if there is no
+	// such Customer. A Customer without Licenses is cached with an empty list.
+	private CustomerLicensesDto loadCustomerLicenses(int customerId) {
+		return ReadYourWrites.onPrimary(() -> {
+			CustomerDto customer = customerCache.getCustomer(customerId, this::loadCustomerById);
+
+			if (customer == null) {
+				return null;
+			}
+
+			return new CustomerLicensesDto(customer, licenseRepository.findLicenseDtosByCustomerId(customerId));
+		});
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<Customer> findCustomersByName(String customerName) {
 		List<Customer> customers = null;
 		
+		// Trim and lower-case the form input data, so the name index and the query match the same Customers
+		String term = CustomerNameIndex.normalizeTerm(customerName);
+
 		// If form input data is not null, empty or length of String is less than or equal to zero
-		if (customerName != null && customerName.trim().length() > 0) {
-			// Then, perform a Query to search for Employees whose first or last name matches form input data
-			// and sort by last name in ascending order
-			customers = customerRepository.searchEmployeeByFirstOrLastName(customerName);
+		if (term.length() > 0) {
+			// Resolve the IDs of matching Customers from the in-memory name index, unless it can't answer the term
+			// or the term has too many candidates
+			Optional<Set<Integer>> customerIds = customerNameIndex.isReady() && customerNameIndex.supports(term)
+					? customerNameIndex.lookup(term) : Optional.empty();
+
+			if (customerIds.isPresent()) {
+				// Then only load those Customers sorted by last name in ascending order
+				customers = customerIds.get().isEmpty() ? Collections.emptyList()
+						: customerRepository.findByIdInOrderByLastNameAsc(customerIds.get());
+			} else {
+				// Then, perform a Query to search for Employees whose first or last name matches form input data
+				// and sort by last name in ascending order
+				customers = customerRepository.searchEmployeeByFirstOrLastName(term);
+			}
 		} else {
 			// Else, perform a Query to get all Employees and sort by last name ascending order 
 			customers = customerRepository.findAllByOrderByLastNameAsc();
@@ -96,7 +208,8 @@ public class CustomerServiceImpl implements CustomerService {
 	}
 
 	@Override
-	public Page<Customer> findPaginatedCustomers(int pageNumber, int pageSize, String sortField, String sortDirection) {
+	@Transactional(readOnly = true)
+	public Page<CustomerDto> findPaginatedCustomers(int pageNumber, int pageSize, String sortField, String sortDirection) {
 		// Create a Sort either ascending or descending based on if Sort Direction in URL is same as sort direction passed in
 		Sort sort = sortDirection.equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.by(sortField).ascending() 
 					: Sort.by(sortField).descending();
@@ -104,11 +217,49 @@ public class CustomerServiceImpl implements CustomerService {
 		// Create a Pageable object to perform PageRequest with sorted parameters applied
 		Pageable pageable = PageRequest.of(pageNumber - 1, pageSize, sort);
 
-		// Return a page containing a list of customers
-		return customerRepository.findAll(pageable);
+		// Return a page containing the list page's columns of the customers, using the cached total instead of
+		// a COUNT(*) per page
+		return toPage(customerRepository.findCustomerDtos(pageable), pageable, countCustomers());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public KeysetPage<CustomerDto> findPaginatedCustomers(String cursor, int pageSize, String sortField, String sortDirection) {
+		// Decode the cursor token (a missing or mismatched token starts from the first page)
+		KeysetCursor keysetCursor = KeysetCursor.decode(cursor, sortField, CustomerDto.class);
+
+		// Seek to the customers after (or before) the cursor, selecting only the columns of a CustomerDto and
+		// asking for one extra row to know if there is another page
+		List<CustomerDto> customers = customerRepository.findKeysetDtos(keysetCursor, sortField,
+				sortDirection(sortDirection), pageSize + 1);
+
+		// Return a page containing a list of customers along with the next and previous cursors
+		return KeysetPage.of(customers, pageSize, keysetCursor, sortField);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long countCustomers() {
+		// Return the (approximate) total number of Customers from the count cache
+		return countCache.get(CountCache.CUSTOMERS, customerRepository::count);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<CustomerDto> findCustomerDtoById(int customerId) {
+		// Read through the Customer cache, a missing Customer is not cached and results in an empty Optional
+		return Optional.ofNullable(customerCache.getCustomer(customerId, this::loadCustomerById));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<LicenseDto> findCustomerLicenseDtos(int customerId) {
+		// Return the columns of the Customer's Licenses sorted by ID
+		return licenseRepository.findLicenseDtosByCustomerId(customerId);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<License> findAllLicenses() {
 		// Return all Licenses
 		return licenseRepository.findAll();
@@ -118,10 +269,18 @@ public class CustomerServiceImpl implements CustomerService {
 	public void deleteLicenseById(int licenseId) {
 		// Delete License by its ID (Primary Key)
 		licenseRepository.deleteById(licenseId);
+		ReadYourWrites.recordWrite();
+
+		// Keep the cached total number of Licenses in step with the delete
+		countCache.adjust(CountCache.LICENSES, -1);
+
+		// The License's Customer isn't known here, so drop every cached Customer's Licenses
+		customerCache.invalidateAllLicenses();
 	}
 
 	@Override
-	public Page<License> findPaginatedLicenses(int pageNumber, int pageSize, String sortField, String sortDirection) {
+	@Transactional(readOnly = true)
+	public Page<LicenseDto> findPaginatedLicenses(int pageNumber, int pageSize, String sortField, String sortDirection) {
 		// Create a Sort either ascending or descending based on if Sort Direction in URL is same as sort direction passed in
 		Sort sort = sortDirection.equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.by(sortField).ascending()
 					: Sort.by(sortField).descending();
@@ -129,7 +288,43 @@ public class CustomerServiceImpl implements CustomerService {
 		// Create a Pageable object to perform PageRequest with sorted parameters applied
 		Pageable pageable = PageRequest.of(pageNumber - 1, pageSize, sort);
 
-		// Return a page containing a list of licenses
-		return licenseRepository.findAll(pageable);
+		// Return a page containing the list page's columns of the licenses, using the cached total instead of
+		// a COUNT(*) per page
+		return toPage(licenseRepository.findLicenseDtos(pageable), pageable, countLicenses());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public KeysetPage<LicenseDto> findPaginatedLicenses(String cursor, int pageSize, String sortField, String sortDirection) {
+		// Decode the cursor token (a missing or mismatched token starts from the first page)
+		KeysetCursor keysetCursor = KeysetCursor.decode(cursor, sortField, LicenseDto.class);
+
+		// Seek to the licenses after (or before) the cursor, selecting only the columns of a LicenseDto and
+		// asking for one extra row to know if there is another page
+		List<LicenseDto> licenses = licenseRepository.findKeysetDtos(keysetCursor, sortField,
+				sortDirection(sortDirection), pageSize + 1);
+
+		// Return a page containing a list of licenses along with the next and previous cursors
+		return KeysetPage.of(licenses, pageSize, keysetCursor, sortField);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long countLicenses() {
+		// Return the (approximate) total number of Licenses from the count cache
+		return countCache.get(CountCache.LICENSES, licenseRepository::count);
+	}
+
+	// Helper method: Sort Direction is ascending only if Sort Direction in URL is same as ascending direction
+	private Sort.Direction sortDirection(String sortDirection) {
+		return sortDirection.equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.Direction.ASC : Sort.Direction.DESC;
+	}
+
+	// Helper method: Turn a Slice into a Page with an approximate total that is never less than the rows
+	// the Slice has proven to exist, so the Page reports a next page whenever the Slice has one
+	private static <T> Page<T> toPage(Slice<T> slice, Pageable pageable, long approximateTotal) {
+		long knownRows = pageable.getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+
+		return new PageImpl<>(slice.getContent(), pageable, Math.max(approximateTotal, knownRows));
 	}
 }
\ No newline at end of file
@@ -2,6 +2,11 @@ package com.crm.customertracker.service;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 public interface ImageService {
-    void saveImage(String username, MultipartFile file);
-}
\ No newline at end of file
+    void saveImage(String username, MultipartFile file) throws IOException;
+    String findImageHash(int userId);
+    boolean writeImage(String username, OutputStream outputStream) throws IOException;
+}
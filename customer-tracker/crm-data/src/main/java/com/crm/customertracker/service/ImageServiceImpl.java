@@ -1,40 +1,138 @@
 package com.crm.customertracker.service;
 
 import com.crm.customertracker.entity.security.User;
-import lombok.extern.slf4j.Slf4j;
+import com.crm.customertracker.repository.security.UserImageRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 
-@Slf4j
 @Service
 public class ImageServiceImpl implements ImageService {
+    private static final String SELECT_IMAGE = "SELECT i.content FROM user_image i "
+            + "JOIN user u ON u.id = i.user_id WHERE u.username = ?";
+    // One statement inserts the User's first Image or replaces the previous one, so two concurrent uploads of
+    // the same User can't both try to insert
+    private static final String UPSERT_IMAGE = "INSERT INTO user_image (content, content_hash, size, user_id) "
+            + "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE content = VALUES(content), "
+            + "content_hash = VALUES(content_hash), size = VALUES(size)";
+
     private final UserService userService;
+    private final UserImageRepository userImageRepository;
+    private final JdbcTemplate securityJdbcTemplate;
+    private final UserCache userCache;
 
-    public ImageServiceImpl(UserService userService) {
+    public ImageServiceImpl(UserService userService, UserImageRepository userImageRepository,
+                            @Qualifier("securityJdbcTemplate") JdbcTemplate securityJdbcTemplate,
+                            UserCache userCache) {
         this.userService = userService;
+        this.userImageRepository = userImageRepository;
+        this.securityJdbcTemplate = securityJdbcTemplate;
+        this.userCache = userCache;
+    }
+
+    @Override
+    public void saveImage(String username, MultipartFile file) throws IOException {
+        User user = userService.findByUserName(username);
+
+        // Hash the upload in a first pass over its stream (the MultipartFile keeps the upload in a temporary
+        // file, or in memory for a small one, so it can be read again)
+        String contentHash;
+        try (InputStream content = file.getInputStream()) {
+            contentHash = sha256(content);
+        }
+
+        // Then stream the upload into the Image's own table along with its hash and size, replacing any
+        // previous Image, so the upload is never held in a byte[]
+        try (InputStream content = file.getInputStream()) {
+            securityJdbcTemplate.update(UPSERT_IMAGE, statement -> {
+                statement.setBinaryStream(1, content, file.getSize());
+                statement.setString(2, contentHash);
+                statement.setLong(3, file.getSize());
+                statement.setInt(4, user.getId());
+            });
+        }
+
+        // The User's cached UserDetails and snapshot were taken before the upload, so both have to be taken again
+        userCache.removeUserFromCache(username);
+        userService.invalidateAuthenticatedUserSnapshot(username);
+    }
+
+    @Override
+    public String findImageHash(int userId) {
+        // Return the hash of the User's Image (or null if the User has not uploaded an Image) without reading the blob
+        return userImageRepository.findContentHashByUserId(userId);
     }
 
     @Override
-    public void saveImage(String username, MultipartFile file) {
+    public boolean writeImage(String username, OutputStream outputStream) throws IOException {
         try {
-            User user = userService.findByUserName(username);
+            Boolean written = securityJdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_IMAGE,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+
+                // MySQL Connector/J streams the row from the server instead of buffering the whole blob
+                // when a forward-only, read-only statement has a fetch size of Integer.MIN_VALUE
+                statement.setFetchSize(Integer.MIN_VALUE);
+                statement.setString(1, username);
+
+                return statement;
+            }, resultSet -> {
+                if (!resultSet.next()) {
+                    return false;
+                }
 
-            Byte[] imageBytes = new Byte[file.getBytes().length];
+                // Copy the blob straight from the JDBC stream to the output stream in small chunks
+                try (InputStream imageStream = resultSet.getBinaryStream("content")) {
+                    if (imageStream == null) {
+                        return false;
+                    }
 
-            // MultipartFile use primitive byte[]
-            int currentByte = 0;
-            for (byte fileByte : file.getBytes()) {
-                imageBytes[currentByte++] = fileByte;
+                    imageStream.transferTo(outputStream);
+                    return true;
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+
+            return Boolean.TRUE.equals(written);
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    // Helper method: Hex encoded SHA-256 digest of the Image's bytes, read from the stream in small chunks
+    private static String sha256(InputStream content) throws IOException {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+
+            for (int read = content.read(buffer); read != -1; read = content.read(buffer)) {
+                messageDigest.update(buffer, 0, read);
             }
 
-            user.setImage(imageBytes);
+            byte[] digest = messageDigest.digest();
+            StringBuilder hash = new StringBuilder(digest.length * 2);
+
+            for (byte digestByte : digest) {
+                hash.append(Character.forDigit((digestByte >> 4) & 0xF, 16))
+                        .append(Character.forDigit(digestByte & 0xF, 16));
+            }
 
-            userService.saveUser(user);
-        } catch (IOException exception) {
-            log.error("Error: " + exception);
-            exception.printStackTrace();
+            return hash.toString();
+        } catch (NoSuchAlgorithmException exception) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(exception);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package com.crm.customertracker.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Thrown when every password hashing thread is busy and the queue is full, so the request is turned away
+// immediately instead of tying up its thread behind the backlog
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingRejectedException extends RuntimeException {
+	public PasswordHashingRejectedException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
@@ -0,0 +1,10 @@
+package com.crm.customertracker.service;
+
+import com.crm.customertracker.utils.LatencyHistogram;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+public interface PasswordHashingService extends PasswordEncoder {
+    LatencyHistogram getEncodeLatency();
+    LatencyHistogram getMatchesLatency();
+    int getQueuedHashes();
+}
@@ -0,0 +1,107 @@
+package com.crm.customertracker.service;
+
+import com.crm.customertracker.utils.LatencyHistogram;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs BCrypt on a dedicated executor sized to the CPU count, so a login spike can only keep that many cores
+// busy with hashing. Once the bounded queue is full, new hashes are rejected straight away with a 503.
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+	private final BCryptPasswordEncoder passwordEncoder;
+	private final ThreadPoolExecutor executor;
+
+	private final LatencyHistogram encodeLatency = new LatencyHistogram();
+	private final LatencyHistogram matchesLatency = new LatencyHistogram();
+
+	public PasswordHashingServiceImpl(@Value("${app.password-hashing.threads:0}") int threads,
+									  @Value("${app.password-hashing.queue-capacity:64}") int queueCapacity,
+									  @Value("${app.password-hashing.strength:10}") int strength) {
+		// One BCryptPasswordEncoder is shared by logins and registrations, it is thread-safe
+		this.passwordEncoder = new BCryptPasswordEncoder(strength);
+
+		// Hashing is CPU bound, so more threads than cores would only add context switches
+		int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		AtomicInteger threadNumber = new AtomicInteger();
+
+		this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+					Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return hash(() -> passwordEncoder.encode(rawPassword), encodeLatency);
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return hash(() -> passwordEncoder.matches(rawPassword, encodedPassword), matchesLatency);
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return passwordEncoder.upgradeEncoding(encodedPassword);
+	}
+
+	@Override
+	public LatencyHistogram getEncodeLatency() {
+		return encodeLatency;
+	}
+
+	@Override
+	public LatencyHistogram getMatchesLatency() {
+		return matchesLatency;
+	}
+
+	@Override
+	public int getQueuedHashes() {
+		return executor.getQueue().size();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	// Helper method: Run the hashing on the executor and record how long it took, including the time spent queued
+	private <T> T hash(Callable<T> hashing, LatencyHistogram latency) {
+		long start = System.nanoTime();
+		Future<T> future;
+
+		try {
+			future = executor.submit(hashing);
+		} catch (RejectedExecutionException exception) {
+			throw new PasswordHashingRejectedException("Too many passwords are being hashed, try again later", exception);
+		}
+
+		try {
+			return future.get();
+		} catch (InterruptedException exception) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while hashing a password", exception);
+		} catch (ExecutionException exception) {
+			if (exception.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) exception.getCause();
+			}
+			throw new IllegalStateException(exception.getCause());
+		} finally {
+			latency.record(System.nanoTime() - start);
+		}
+	}
+}
@@ -4,12 +4,17 @@ import java.util.List;
 
 import org.springframework.security.core.userdetails.UserDetailsService;
 
+import com.crm.customertracker.entity.security.AuthenticatedUserSnapshot;
 import com.crm.customertracker.entity.security.User;
 import com.crm.customertracker.entity.security.RegisterUser;
+import org.springframework.security.core.Authentication;
 
 public interface UserService extends UserDetailsService {
     User findByUserName(String userName);
     void saveUser(RegisterUser registerUser, List<String> roles);
     void saveUser(User user);
     User retrieveAuthenticatedPrincipalByUsername();
+    AuthenticatedUserSnapshot retrieveAuthenticatedUserSnapshot();
+    AuthenticatedUserSnapshot createAuthenticatedUserSnapshot(Authentication authentication);
+    void invalidateAuthenticatedUserSnapshot(String username);
 }
\ No newline at end of file
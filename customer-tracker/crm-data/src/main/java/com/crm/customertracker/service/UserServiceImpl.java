@@ -1,36 +1,54 @@
 package com.crm.customertracker.service;
 
+import com.crm.customertracker.cache.RoleRegistry;
+import com.crm.customertracker.entity.security.AuthenticatedUserSnapshot;
 import com.crm.customertracker.entity.security.RegisterUser;
 import com.crm.customertracker.entity.security.Role;
 import com.crm.customertracker.entity.security.User;
-import com.crm.customertracker.repository.security.RoleRepository;
+import com.crm.customertracker.repository.security.UserImageRepository;
 import com.crm.customertracker.repository.security.UserRepository;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
+// Reads run in one read-only transaction of the security persistence unit, so loading a User and its Image hash
+// shares a single connection. Writes keep the repositories' own transactions.
 @Service
 public class UserServiceImpl implements UserService {
-	private final UserRepository userRepository;
-	private final RoleRepository roleRepository;
+	private static final String SECURITY_TRANSACTION_MANAGER = "securityTransactionManager";
 
-	public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository) {
+	private final UserRepository userRepository;
+	private final RoleRegistry roleRegistry;
+	private final UserImageRepository userImageRepository;
+	private final UserCache userCache;
+	private final PasswordEncoder passwordEncoder;
+
+	public UserServiceImpl(UserRepository userRepository, RoleRegistry roleRegistry,
+						   UserImageRepository userImageRepository, UserCache userCache,
+						   PasswordEncoder passwordEncoder) {
 		this.userRepository = userRepository;
-		this.roleRepository = roleRepository;
+		this.roleRegistry = roleRegistry;
+		this.userImageRepository = userImageRepository;
+		this.userCache = userCache;
+		this.passwordEncoder = passwordEncoder;
 	}
 
 	// Implement this method from UserDetailsService
 	@Override
+	@Transactional(transactionManager = SECURITY_TRANSACTION_MANAGER, readOnly = true)
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 		// Find the User by its username
 		User user = userRepository.findByUserName(username);
@@ -51,6 +69,7 @@ public class UserServiceImpl implements UserService {
 	}
 
 	@Override
+	@Transactional(transactionManager = SECURITY_TRANSACTION_MANAGER, readOnly = true)
 	public User findByUserName(String userName) {
 		// Find and return a User by its username
 		return userRepository.findByUserName(userName);
@@ -58,41 +77,36 @@ public class UserServiceImpl implements UserService {
 
 	@Override
 	public void saveUser(RegisterUser registerUser, List<String> roles) {
-		// Create a BCryptPasswordEncoder object to encode a user's password before saving the user into the database
-		BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
-
 		// Create a new User
 		User user = User.builder().build();
 
 		// Set all the User's Properties, after all Form Input Data passed the Constraint Validators
 		user.setUsername(registerUser.getUserName());
+		// Encode the User's password with the shared BCrypt encoder before saving the User into the database
 		user.setPassword(passwordEncoder.encode(registerUser.getPassword()));
 		user.setFirstName(registerUser.getFirstName());
 		user.setLastName(registerUser.getLastName());
 		user.setEmail(registerUser.getEmail());
 
-		// Convert the Roles from List<String> to List<Role>
-		user.setRoles(userRoles(roles));
+		// Convert the Roles from List<String> to List<Role> from the Role registry, without querying the DB
+		user.setRoles(roleRegistry.resolve(roles));
 
 		// Save the User along with its Roles to DB
 		userRepository.save(user);
+		invalidateAuthenticatedUserSnapshot(user.getUsername());
 	}
 
 	@Override
 	public void saveUser(User user) {
 		userRepository.save(user);
-	}
 
-	// Helper method: Converts List<String> to List<Role>
-	private List<Role> userRoles(List<String> roles) {
-		List<Role> userRoles = new ArrayList<>();
-		for (String role : roles) {
-			userRoles.add(roleRepository.findRoleByName(role));
-		}
-		return userRoles;
+		// The saved User may have a new password or Roles, so the next login has to load it again
+		userCache.removeUserFromCache(user.getUsername());
+		invalidateAuthenticatedUserSnapshot(user.getUsername());
 	}
 
 	@Override
+	@Transactional(transactionManager = SECURITY_TRANSACTION_MANAGER, readOnly = true)
 	public User retrieveAuthenticatedPrincipalByUsername() {
 		// Obtain the authentication request token of authenticated User (or authenticated principal - User's identity)
 		Authentication loggedInUser = SecurityContextHolder.getContext().getAuthentication();
@@ -103,4 +117,85 @@ public class UserServiceImpl implements UserService {
 		// Find and retrieve the registered User from DB using the username obtained from authenticated principal
 		return userRepository.findByUserName(authenticatedUsername);
 	}
-}
\ No newline at end of file
+
+	@Override
+	@Transactional(transactionManager = SECURITY_TRANSACTION_MANAGER, readOnly = true)
+	public AuthenticatedUserSnapshot retrieveAuthenticatedUserSnapshot() {
+		// Obtain the authentication request token of authenticated User
+		Authentication loggedInUser = SecurityContextHolder.getContext().getAuthentication();
+		String authenticatedUsername = loggedInUser.getName();
+
+		// Outside of an HTTP Request there is nowhere to keep the snapshot, so always take a new one
+		RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		if (requestAttributes == null) {
+			return createAuthenticatedUserSnapshot(loggedInUser);
+		}
+
+		// Reuse the snapshot of this HTTP Request first, it was checked against the User's version earlier in the Request
+		AuthenticatedUserSnapshot snapshot = (AuthenticatedUserSnapshot) requestAttributes
+				.getAttribute(AuthenticatedUserSnapshot.ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST);
+		if (snapshot != null && snapshot.getUsername().equals(authenticatedUsername)) {
+			return snapshot;
+		}
+
+		snapshot = (AuthenticatedUserSnapshot) requestAttributes
+				.getAttribute(AuthenticatedUserSnapshot.ATTRIBUTE_NAME, RequestAttributes.SCOPE_SESSION);
+		if (!isCurrent(snapshot, authenticatedUsername)) {
+			// Only load the User when the HTTP Session has no snapshot yet or the User was saved since it was taken,
+			// on any instance
+			snapshot = createAuthenticatedUserSnapshot(loggedInUser);
+			requestAttributes.setAttribute(AuthenticatedUserSnapshot.ATTRIBUTE_NAME, snapshot,
+					RequestAttributes.SCOPE_SESSION);
+		}
+
+		requestAttributes.setAttribute(AuthenticatedUserSnapshot.ATTRIBUTE_NAME, snapshot,
+				RequestAttributes.SCOPE_REQUEST);
+		return snapshot;
+	}
+
+	@Override
+	@Transactional(transactionManager = SECURITY_TRANSACTION_MANAGER, readOnly = true)
+	public AuthenticatedUserSnapshot createAuthenticatedUserSnapshot(Authentication authentication) {
+		String username = authentication.getName();
+
+		User user = userRepository.findByUserName(username);
+		if (user == null) {
+			throw new UsernameNotFoundException("Invalid Username or Password");
+		}
+
+		// Roles are taken from the granted authorities, so the lazily loaded Roles are never touched
+		List<String> roles = authentication.getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority).collect(Collectors.toList());
+
+		return AuthenticatedUserSnapshot.builder()
+				.id(user.getId())
+				.username(user.getUsername())
+				.firstName(user.getFirstName())
+				.lastName(user.getLastName())
+				.roles(List.copyOf(roles))
+				.imageHash(userImageRepository.findContentHashByUserId(user.getId()))
+				// Read along with the name, so a later save always makes this snapshot stale
+				.version(user.getSnapshotVersion())
+				.build();
+	}
+
+	@Override
+	public void invalidateAuthenticatedUserSnapshot(String username) {
+		// Move the User to a new version, every existing snapshot of that User is reloaded on its next use
+		if (username != null) {
+			userRepository.incrementSnapshotVersion(username);
+		}
+	}
+
+	// Helper method: A snapshot can be reused if it belongs to the authenticated User and the User was not saved since.
+	// The version is read from the DB rather than kept in memory, since a User may be saved on another instance
+	// sharing the HTTP Sessions (a single column, instead of the User and its Image hash).
+	private boolean isCurrent(AuthenticatedUserSnapshot snapshot, String username) {
+		if (snapshot == null || !snapshot.getUsername().equals(username)) {
+			return false;
+		}
+
+		Long version = userRepository.findSnapshotVersionByUsername(username);
+		return version != null && snapshot.getVersion() == version;
+	}
+}
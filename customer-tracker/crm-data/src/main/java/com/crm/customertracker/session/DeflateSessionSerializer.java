@@ -0,0 +1,47 @@
+package com.crm.customertracker.session;
+
+import org.springframework.core.serializer.support.SerializationFailedException;
+import org.springframework.session.MapSession;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+// Compresses the bytes of another SessionSerializer, so more Sessions fit in the same memory or slot size
+public class DeflateSessionSerializer implements SessionSerializer {
+	private final SessionSerializer delegate;
+
+	public DeflateSessionSerializer(SessionSerializer delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public byte[] serialize(MapSession session) {
+		byte[] bytes = delegate.serialize(session);
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 2);
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+		try (DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(compressed, deflater)) {
+			deflaterOutputStream.write(bytes);
+		} catch (IOException e) {
+			throw new SerializationFailedException("Unable to compress Session " + session.getId(), e);
+		} finally {
+			deflater.end();
+		}
+
+		return compressed.toByteArray();
+	}
+
+	@Override
+	public MapSession deserialize(byte[] bytes) {
+		try (InputStream inflaterInputStream = new InflaterInputStream(new ByteArrayInputStream(bytes))) {
+			return delegate.deserialize(inflaterInputStream.readAllBytes());
+		} catch (IOException e) {
+			throw new SerializationFailedException("Unable to decompress Session", e);
+		}
+	}
+}
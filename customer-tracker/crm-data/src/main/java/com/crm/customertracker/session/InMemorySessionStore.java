@@ -0,0 +1,82 @@
+package com.crm.customertracker.session;
+
+import org.springframework.session.MapSession;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// SessionStore in this JVM's heap. Sessions are kept serialized like in the shared stores, so nothing a request
+// changes is visible before the Session is saved, and a non-serializable attribute fails here as it would there.
+public class InMemorySessionStore extends SessionStore {
+	private final Map<String, StoredSession> sessions = new ConcurrentHashMap<>();
+
+	public InMemorySessionStore(SessionSerializer serializer, Duration defaultMaxInactiveInterval) {
+		super(serializer, defaultMaxInactiveInterval);
+	}
+
+	@Override
+	public void save(MapSession session) {
+		// The ID changes on login (Session fixation protection), so drop the Session under its old ID
+		if (!session.getId().equals(session.getOriginalId())) {
+			sessions.remove(session.getOriginalId());
+		}
+
+		sessions.put(session.getId(), new StoredSession(serializer.serialize(new MapSession(session)), expiresAt(session)));
+	}
+
+	@Override
+	public MapSession findById(String id) {
+		StoredSession stored = sessions.get(id);
+
+		if (stored == null) {
+			return null;
+		}
+
+		if (stored.expiresAt < System.currentTimeMillis()) {
+			sessions.remove(id, stored);
+			return null;
+		}
+
+		return serializer.deserialize(stored.bytes);
+	}
+
+	@Override
+	public void deleteById(String id) {
+		sessions.remove(id);
+	}
+
+	@Override
+	public int cleanUpExpiredSessions() {
+		long now = System.currentTimeMillis();
+		int removed = 0;
+
+		for (Map.Entry<String, StoredSession> entry : sessions.entrySet()) {
+			if (entry.getValue().expiresAt < now && sessions.remove(entry.getKey(), entry.getValue())) {
+				removed++;
+			}
+		}
+
+		return removed;
+	}
+
+	@Override
+	public int getSessionCount() {
+		return sessions.size();
+	}
+
+	@Override
+	public long getStoredBytes() {
+		return sessions.values().stream().mapToLong(stored -> stored.bytes.length).sum();
+	}
+
+	private static class StoredSession {
+		private final byte[] bytes;
+		private final long expiresAt;
+
+		private StoredSession(byte[] bytes, long expiresAt) {
+			this.bytes = bytes;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package com.crm.customertracker.session;
+
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.session.MapSession;
+
+// Java serialization of the Session and its attributes, which therefore all have to be Serializable
+public class JdkSessionSerializer implements SessionSerializer {
+	private final SerializingConverter serializer = new SerializingConverter();
+	private final DeserializingConverter deserializer;
+
+	public JdkSessionSerializer(ClassLoader classLoader) {
+		// Resolve the attributes' classes through the application's class loader, not the JDK's
+		this.deserializer = new DeserializingConverter(classLoader);
+	}
+
+	@Override
+	public byte[] serialize(MapSession session) {
+		return serializer.convert(session);
+	}
+
+	@Override
+	public MapSession deserialize(byte[] bytes) {
+		return (MapSession) deserializer.convert(bytes);
+	}
+}
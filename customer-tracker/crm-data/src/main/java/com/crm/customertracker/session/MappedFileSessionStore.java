@@ -0,0 +1,437 @@
+package com.crm.customertracker.session;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.session.MapSession;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+// SessionStore in a memory-mapped file, so every crm-web instance on the host that maps the same file shares the
+// Sessions, and the Sessions outlive a restart. The file is a hash table of fixed-size slots with linear probing
+// on the Session ID, every operation holds an exclusive lock on the file so instances never see a half-written slot.
+@Slf4j
+public class MappedFileSessionStore extends SessionStore implements Closeable {
+	private static final int MAGIC = 0x43524D53;
+	private static final int VERSION = 1;
+
+	// Header: magic, version, number of slots, slot size (padded to 64 bytes)
+	private static final int HEADER_SIZE = 64;
+
+	// Slot: state (1 byte), expiry time (8), ID length (2), ID (MAX_ID_LENGTH), data length (4), serialized Session
+	static final int MAX_ID_LENGTH = 64;
+	private static final int EXPIRES_AT = 1;
+	private static final int ID_LENGTH = 9;
+	private static final int ID = 11;
+	private static final int DATA_LENGTH = ID + MAX_ID_LENGTH;
+	private static final int DATA = DATA_LENGTH + 4;
+
+	// A deleted slot stays DELETED instead of EMPTY while a probe for a later slot may still have to pass it
+	private static final byte EMPTY = 0;
+	private static final byte USED = 1;
+	private static final byte DELETED = 2;
+
+	private final FileChannel channel;
+	private final MappedByteBuffer buffer;
+	private final int slots;
+	private final int slotSize;
+
+	private static final Set<PosixFilePermission> SHARED_PERMISSIONS = EnumSet.of(
+			PosixFilePermission.GROUP_READ, PosixFilePermission.GROUP_WRITE, PosixFilePermission.GROUP_EXECUTE,
+			PosixFilePermission.OTHERS_READ, PosixFilePermission.OTHERS_WRITE, PosixFilePermission.OTHERS_EXECUTE);
+	private static final Set<PosixFilePermission> SHARED_WRITE_PERMISSIONS = EnumSet.of(
+			PosixFilePermission.GROUP_WRITE, PosixFilePermission.OTHERS_WRITE);
+
+	// File locks are held on behalf of the whole JVM, so this JVM's threads take turns before locking the file
+	private final ReentrantLock lock = new ReentrantLock();
+
+	public MappedFileSessionStore(Path file, int slots, int slotSize, SessionSerializer serializer,
+								  Duration defaultMaxInactiveInterval) throws IOException {
+		super(serializer, defaultMaxInactiveInterval);
+
+		long fileSize = HEADER_SIZE + (long) slots * slotSize;
+		if (slots <= 0 || slotSize <= DATA || fileSize > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Invalid session store size: " + slots + " slots of " + slotSize + " bytes");
+		}
+
+		this.slots = slots;
+		this.slotSize = slotSize;
+		this.channel = open(file);
+		this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+
+		locked(this::initializeHeader);
+	}
+
+	@Override
+	public void save(MapSession session) {
+		byte[] id = encodeId(session.getId());
+		byte[] originalId = session.getId().equals(session.getOriginalId()) ? null : encodeId(session.getOriginalId());
+
+		// Serialize before taking the lock, the other instances only wait for the copy into the slot
+		byte[] data = serializer.serialize(new MapSession(session));
+		long expiresAt = expiresAt(session);
+
+		if (data.length > slotSize - DATA) {
+			throw new IllegalStateException("Session " + session.getId() + " needs " + data.length
+					+ " bytes but a session store slot holds " + (slotSize - DATA));
+		}
+
+		locked(() -> {
+			// The ID changes on login (Session fixation protection), so drop the Session under its old ID
+			if (originalId != null) {
+				int originalSlot = find(originalId);
+				if (originalSlot >= 0) {
+					buffer.put(offset(originalSlot), DELETED);
+				}
+			}
+
+			write(slotFor(id), id, expiresAt, data);
+			return null;
+		});
+	}
+
+	@Override
+	public MapSession findById(String id) {
+		byte[] encodedId = encodeId(id);
+
+		byte[] data = locked(() -> {
+			int slot = find(encodedId);
+
+			if (slot < 0) {
+				return null;
+			}
+
+			if (expired(slot, System.currentTimeMillis())) {
+				buffer.put(offset(slot), DELETED);
+				return null;
+			}
+
+			return read(slot);
+		});
+
+		if (data == null) {
+			return null;
+		}
+
+		try {
+			return serializer.deserialize(data);
+		} catch (RuntimeException e) {
+			// E.g. a class of an attribute changed between deployments, treat the Session as gone
+			log.warn("Unable to deserialize Session " + id + ", deleting it: " + e);
+			deleteById(id);
+			return null;
+		}
+	}
+
+	@Override
+	public void deleteById(String id) {
+		byte[] encodedId = encodeId(id);
+
+		locked(() -> {
+			int slot = find(encodedId);
+			if (slot >= 0) {
+				buffer.put(offset(slot), DELETED);
+			}
+			return null;
+		});
+	}
+
+	@Override
+	public int cleanUpExpiredSessions() {
+		return locked(() -> {
+			long now = System.currentTimeMillis();
+			int removed = 0;
+
+			for (int slot = 0; slot < slots; slot++) {
+				if (buffer.get(offset(slot)) == USED && expired(slot, now)) {
+					buffer.put(offset(slot), DELETED);
+					removed++;
+				}
+			}
+
+			// A DELETED slot right before an EMPTY one ends every probe passing it anyway, so it can be EMPTY
+			// itself. Reclaiming them keeps probes short after many Sessions expired.
+			for (int slot = 0; slot < slots; slot++) {
+				if (buffer.get(offset(slot)) == EMPTY) {
+					int previous = Math.floorMod(slot - 1, slots);
+
+					while (previous != slot && buffer.get(offset(previous)) == DELETED) {
+						buffer.put(offset(previous), EMPTY);
+						previous = Math.floorMod(previous - 1, slots);
+					}
+				}
+			}
+
+			return removed;
+		});
+	}
+
+	@Override
+	public int getSessionCount() {
+		return locked(() -> {
+			long now = System.currentTimeMillis();
+			int count = 0;
+
+			for (int slot = 0; slot < slots; slot++) {
+				if (buffer.get(offset(slot)) == USED && !expired(slot, now)) {
+					count++;
+				}
+			}
+
+			return count;
+		});
+	}
+
+	@Override
+	public long getStoredBytes() {
+		return locked(() -> {
+			long now = System.currentTimeMillis();
+			long bytes = 0;
+
+			for (int slot = 0; slot < slots; slot++) {
+				if (buffer.get(offset(slot)) == USED && !expired(slot, now)) {
+					bytes += buffer.getInt(offset(slot) + DATA_LENGTH);
+				}
+			}
+
+			return bytes;
+		});
+	}
+
+	@Override
+	public void close() throws IOException {
+		lock.lock();
+		try {
+			buffer.force();
+			channel.close();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// Helper method: Run the action while holding this JVM's lock and an exclusive lock on the file
+	private <T> T locked(LockedAction<T> action) {
+		lock.lock();
+		try (FileLock ignored = channel.lock()) {
+			return action.run();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to lock the session store", e);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private Void initializeHeader() {
+		int magic = buffer.getInt(0);
+
+		if (magic == 0) {
+			// A new file, the mapping filled it with zeros, so every slot is EMPTY
+			buffer.putInt(0, MAGIC);
+			buffer.putInt(4, VERSION);
+			buffer.putInt(8, slots);
+			buffer.putInt(12, slotSize);
+		} else if (magic != MAGIC || buffer.getInt(4) != VERSION
+				|| buffer.getInt(8) != slots || buffer.getInt(12) != slotSize) {
+			throw new IllegalStateException("Session store file was created with a different layout: "
+					+ buffer.getInt(8) + " slots of " + buffer.getInt(12) + " bytes");
+		}
+
+		return null;
+	}
+
+	// Slot holding the ID, or -1
+	private int find(byte[] id) {
+		int start = Math.floorMod(Arrays.hashCode(id), slots);
+
+		for (int probe = 0; probe < slots; probe++) {
+			int slot = (start + probe) % slots;
+			byte state = buffer.get(offset(slot));
+
+			if (state == EMPTY) {
+				return -1;
+			}
+
+			if (state == USED && idEquals(slot, id)) {
+				return slot;
+			}
+		}
+
+		return -1;
+	}
+
+	// Slot already holding the ID, otherwise the first reusable slot on its probe
+	private int slotFor(byte[] id) {
+		int start = Math.floorMod(Arrays.hashCode(id), slots);
+		long now = System.currentTimeMillis();
+		int reusable = -1;
+
+		for (int probe = 0; probe < slots; probe++) {
+			int slot = (start + probe) % slots;
+			byte state = buffer.get(offset(slot));
+
+			if (state == USED && idEquals(slot, id)) {
+				return slot;
+			}
+
+			if (reusable < 0 && (state != USED || expired(slot, now))) {
+				reusable = slot;
+			}
+
+			// No slot after an EMPTY one can hold the ID
+			if (state == EMPTY) {
+				break;
+			}
+		}
+
+		if (reusable < 0) {
+			throw new IllegalStateException("Session store is full, all " + slots + " slots are in use");
+		}
+
+		return reusable;
+	}
+
+	private void write(int slot, byte[] id, long expiresAt, byte[] data) {
+		int offset = offset(slot);
+
+		// Keep the slot DELETED while it's written, so a crash part way leaves no half-written Session behind
+		buffer.put(offset, DELETED);
+		buffer.putLong(offset + EXPIRES_AT, expiresAt);
+		buffer.putShort(offset + ID_LENGTH, (short) id.length);
+		buffer.position(offset + ID);
+		buffer.put(id);
+		buffer.putInt(offset + DATA_LENGTH, data.length);
+		buffer.position(offset + DATA);
+		buffer.put(data);
+		buffer.put(offset, USED);
+	}
+
+	private byte[] read(int slot) {
+		int offset = offset(slot);
+		byte[] data = new byte[buffer.getInt(offset + DATA_LENGTH)];
+
+		buffer.position(offset + DATA);
+		buffer.get(data);
+
+		return data;
+	}
+
+	private boolean idEquals(int slot, byte[] id) {
+		int offset = offset(slot);
+
+		if (buffer.getShort(offset + ID_LENGTH) != id.length) {
+			return false;
+		}
+
+		for (int index = 0; index < id.length; index++) {
+			if (buffer.get(offset + ID + index) != id[index]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private boolean expired(int slot, long now) {
+		return buffer.getLong(offset(slot) + EXPIRES_AT) < now;
+	}
+
+	private int offset(int slot) {
+		return HEADER_SIZE + slot * slotSize;
+	}
+
+	private static byte[] encodeId(String id) {
+		byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+
+		if (bytes.length > MAX_ID_LENGTH) {
+			throw new IllegalArgumentException("Session ID is longer than " + MAX_ID_LENGTH + " bytes");
+		}
+
+		return bytes;
+	}
+
+	// Helper method: Open the file, creating it readable and writable by its owner only. Every slot of the file is
+	// handed to Java deserialization, so only a file nobody but this process's user can have written to is mapped:
+	// a regular file (not a link) owned by that user, without group or other permissions, in a directory that
+	// group and others cannot write to
+	private static FileChannel open(Path file) throws IOException {
+		Path directory = file.toAbsolutePath().getParent();
+		boolean posix = file.getFileSystem().supportedFileAttributeViews().contains("posix");
+
+		if (posix && !Collections.disjoint(Files.getPosixFilePermissions(directory), SHARED_WRITE_PERMISSIONS)) {
+			throw new IllegalStateException("Session store directory " + directory
+					+ " is writable by other users, use a directory only the application's user can write to");
+		}
+
+		if (Files.notExists(file, LinkOption.NOFOLLOW_LINKS)) {
+			try {
+				if (posix) {
+					Files.createFile(file, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+				} else {
+					Files.createFile(file);
+				}
+			} catch (FileAlreadyExistsException e) {
+				// Another instance created it first
+			}
+		}
+
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+				LinkOption.NOFOLLOW_LINKS);
+
+		try {
+			checkOwnedFile(file, posix);
+		} catch (RuntimeException | IOException e) {
+			channel.close();
+			throw e;
+		}
+
+		return channel;
+	}
+
+	// Helper method: Refuse a file that another user created or can read or write
+	private static void checkOwnedFile(Path file, boolean posix) throws IOException {
+		if (!Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS)) {
+			throw new IllegalStateException("Session store file " + file + " is not a regular file");
+		}
+
+		UserPrincipal owner = Files.getOwner(file, LinkOption.NOFOLLOW_LINKS);
+		UserPrincipal processUser = file.getFileSystem().getUserPrincipalLookupService()
+				.lookupPrincipalByName(System.getProperty("user.name"));
+
+		if (!owner.equals(processUser)) {
+			throw new IllegalStateException("Session store file " + file + " is owned by " + owner.getName()
+					+ ", not by the application's user " + processUser.getName());
+		}
+
+		if (posix) {
+			Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(file, LinkOption.NOFOLLOW_LINKS);
+
+			if (!Collections.disjoint(permissions, SHARED_PERMISSIONS)) {
+				throw new IllegalStateException("Session store file " + file + " is accessible by other users ("
+						+ PosixFilePermissions.toString(permissions) + "), it must be rw-------");
+			}
+		}
+	}
+
+	@FunctionalInterface
+	private interface LockedAction<T> {
+		T run() throws IOException;
+	}
+}
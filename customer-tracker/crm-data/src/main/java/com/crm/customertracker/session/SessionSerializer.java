@@ -0,0 +1,10 @@
+package com.crm.customertracker.session;
+
+import org.springframework.session.MapSession;
+
+// Turns a Session into the bytes a SessionStore keeps and back
+public interface SessionSerializer {
+	byte[] serialize(MapSession session);
+
+	MapSession deserialize(byte[] bytes);
+}
@@ -0,0 +1,46 @@
+package com.crm.customertracker.session;
+
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+
+import java.time.Duration;
+
+// Spring Session repository that keeps every Session serialized, so the same Sessions can be read by every
+// crm-web instance that shares the store. Expired Sessions are never returned and are removed by a sweep.
+public abstract class SessionStore implements SessionRepository<MapSession> {
+	protected final SessionSerializer serializer;
+	private final Duration defaultMaxInactiveInterval;
+
+	protected SessionStore(SessionSerializer serializer, Duration defaultMaxInactiveInterval) {
+		this.serializer = serializer;
+		this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+	}
+
+	@Override
+	public MapSession createSession() {
+		MapSession session = new MapSession();
+		session.setMaxInactiveInterval(defaultMaxInactiveInterval);
+
+		return session;
+	}
+
+	// Remove every expired Session, returning how many were removed
+	public abstract int cleanUpExpiredSessions();
+
+	public abstract int getSessionCount();
+
+	// Serialized bytes of all stored Sessions
+	public abstract long getStoredBytes();
+
+	// Time in milliseconds after which the Session expires, Long.MAX_VALUE if it never does
+	protected static long expiresAt(Session session) {
+		Duration maxInactiveInterval = session.getMaxInactiveInterval();
+
+		if (maxInactiveInterval.isNegative()) {
+			return Long.MAX_VALUE;
+		}
+
+		return session.getLastAccessedTime().plus(maxInactiveInterval).toEpochMilli();
+	}
+}
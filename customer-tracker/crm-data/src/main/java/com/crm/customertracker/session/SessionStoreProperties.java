@@ -0,0 +1,39 @@
+package com.crm.customertracker.session;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.nio.file.Path;
+
+// Where crm-web keeps its HTTP Sessions, bound from app.session
+@Getter
+@Setter
+public class SessionStoreProperties {
+	public enum Store {
+		// The servlet container's own Sessions, in this instance's heap only
+		TOMCAT,
+		// Serialized Sessions in this instance's heap
+		MEMORY,
+		// Serialized Sessions in a memory-mapped file shared by the instances on this host
+		MAPPED_FILE
+	}
+
+	public enum Serialization {
+		JDK,
+		// Java serialization, compressed
+		DEFLATE
+	}
+
+	private Store store = Store.TOMCAT;
+
+	private Serialization serialization = Serialization.JDK;
+
+	// File of the MAPPED_FILE store, every instance sharing Sessions has to use the same file and layout. There is
+	// no default: the file has to be in a directory only the application's user can write to, which the shared
+	// temporary directory isn't.
+	private Path file;
+
+	// Most Sessions the MAPPED_FILE store holds, and the bytes reserved for each
+	private int slots = 4096;
+	private int slotSize = 8192;
+}
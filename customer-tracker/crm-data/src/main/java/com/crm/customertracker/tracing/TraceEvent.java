@@ -0,0 +1,43 @@
+package com.crm.customertracker.tracing;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// One sampled method execution, recorded on the request thread and formatted later by the drain thread
+@Getter
+@AllArgsConstructor
+public class TraceEvent {
+	private final String method;
+	private final long startedAtMillis;
+	private final long durationNanos;
+
+	// Number of rows or elements returned, 0 for void or null results
+	private final int resultSize;
+
+	private final String threadName;
+
+	// Rendered arguments, null unless the method is matched by PointcutDeclarations.traceArguments()
+	private final String arguments;
+
+	// Simple name of the exception thrown, null if the method returned normally
+	private final String exception;
+
+	// Helper method: Structured key=value line for the log
+	public String format() {
+		StringBuilder line = new StringBuilder(128)
+				.append("method=").append(method)
+				.append(" startedAt=").append(startedAtMillis)
+				.append(" durationMicros=").append(durationNanos / 1_000)
+				.append(" resultSize=").append(resultSize)
+				.append(" thread=").append(threadName);
+
+		if (arguments != null) {
+			line.append(" args=").append(arguments);
+		}
+		if (exception != null) {
+			line.append(" exception=").append(exception);
+		}
+
+		return line.toString();
+	}
+}
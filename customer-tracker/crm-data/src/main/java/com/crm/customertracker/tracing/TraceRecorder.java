@@ -0,0 +1,89 @@
+package com.crm.customertracker.tracing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Decides which method executions are traced and writes the recorded events to the log from a background thread,
+// so request threads only pay for a timestamp and a buffer slot
+@Slf4j
+@Component
+public class TraceRecorder {
+	private final double sampleRate;
+	private final long drainIntervalNanos;
+	private final TraceRingBuffer buffer;
+
+	private final LongAdder recorded = new LongAdder();
+
+	private volatile boolean running;
+	private Thread drainThread;
+
+	public TraceRecorder(@Value("${app.tracing.sample-rate:0.01}") double sampleRate,
+						 @Value("${app.tracing.buffer-size:4096}") int bufferSize,
+						 @Value("${app.tracing.drain-interval:1000}") long drainIntervalMillis) {
+		this.sampleRate = sampleRate;
+		this.drainIntervalNanos = TimeUnit.MILLISECONDS.toNanos(drainIntervalMillis);
+		this.buffer = new TraceRingBuffer(bufferSize);
+	}
+
+	@PostConstruct
+	public void start() {
+		running = true;
+
+		drainThread = new Thread(this::drainLoop, "trace-drain");
+		drainThread.setDaemon(true);
+		drainThread.start();
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		running = false;
+		LockSupport.unpark(drainThread);
+		drainThread.join(TimeUnit.NANOSECONDS.toMillis(drainIntervalNanos) + 1_000);
+	}
+
+	// Return true if this method execution should be traced
+	public boolean sample() {
+		return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+	}
+
+	public void record(TraceEvent event) {
+		if (buffer.offer(event)) {
+			recorded.increment();
+		}
+	}
+
+	// Write every buffered event to the log, return how many there were
+	public int drain() {
+		return buffer.drain(event -> log.info(event.format()));
+	}
+
+	public long getRecorded() {
+		return recorded.sum();
+	}
+
+	public long getDropped() {
+		return buffer.getDropped();
+	}
+
+	private void drainLoop() {
+		while (running) {
+			try {
+				drain();
+			} catch (RuntimeException exception) {
+				log.warn("Unable to write trace events: " + exception);
+			}
+			LockSupport.parkNanos(this, drainIntervalNanos);
+		}
+
+		// Write whatever was recorded before shutting down
+		drain();
+	}
+}
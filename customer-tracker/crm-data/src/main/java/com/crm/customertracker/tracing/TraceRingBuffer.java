@@ -0,0 +1,76 @@
+package com.crm.customertracker.tracing;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Bounded, lock-free ring buffer for many producer threads and a single draining thread. Request threads never
+// block on it: when the buffer is full the event is dropped and counted instead.
+public class TraceRingBuffer {
+	private final AtomicReferenceArray<TraceEvent> slots;
+	private final int mask;
+
+	// Next sequence to be claimed by a producer, and next sequence to be read by the consumer
+	private final AtomicLong head = new AtomicLong();
+	private final AtomicLong tail = new AtomicLong();
+
+	private final LongAdder dropped = new LongAdder();
+
+	public TraceRingBuffer(int capacity) {
+		// Round the capacity up to a power of two, so a sequence maps to its slot with a mask
+		int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+
+		this.slots = new AtomicReferenceArray<>(size);
+		this.mask = size - 1;
+	}
+
+	// Called by any thread: claim the next sequence and publish the event into its slot
+	public boolean offer(TraceEvent event) {
+		long sequence;
+
+		do {
+			sequence = head.get();
+
+			if (sequence - tail.get() >= slots.length()) {
+				dropped.increment();
+				return false;
+			}
+		} while (!head.compareAndSet(sequence, sequence + 1));
+
+		slots.set((int) sequence & mask, event);
+		return true;
+	}
+
+	// Called by the single consumer thread: hand every published event to the consumer, return how many there were
+	public int drain(Consumer<TraceEvent> consumer) {
+		long sequence = tail.get();
+		int drained = 0;
+
+		while (sequence < head.get()) {
+			int slot = (int) sequence & mask;
+			TraceEvent event = slots.get(slot);
+
+			// The producer claimed this sequence but hasn't published it yet, pick it up on the next drain
+			if (event == null) {
+				break;
+			}
+
+			slots.set(slot, null);
+			tail.lazySet(++sequence);
+
+			consumer.accept(event);
+			drained++;
+		}
+
+		return drained;
+	}
+
+	public int capacity() {
+		return slots.length();
+	}
+
+	public long getDropped() {
+		return dropped.sum();
+	}
+}
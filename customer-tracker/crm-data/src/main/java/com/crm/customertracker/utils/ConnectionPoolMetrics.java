@@ -0,0 +1,101 @@
+package com.crm.customertracker.utils;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Connection counts, acquisition and usage latencies of a single Hikari connection pool. Hikari calls the
+// record methods on every borrowed connection, so they only touch lock-free histograms and counters.
+@Slf4j
+public class ConnectionPoolMetrics implements IMetricsTracker {
+	private final String poolName;
+	private final PoolStats poolStats;
+	private final long slowAcquireThresholdNanos;
+
+	private final LatencyHistogram acquisition = new LatencyHistogram();
+	private final LatencyHistogram usage = new LatencyHistogram();
+	private final LatencyHistogram creation = new LatencyHistogram();
+	private final LongAdder slowAcquisitions = new LongAdder();
+	private final LongAdder timeouts = new LongAdder();
+
+	public ConnectionPoolMetrics(String poolName, PoolStats poolStats, long slowAcquireThresholdMillis) {
+		this.poolName = poolName;
+		this.poolStats = poolStats;
+		this.slowAcquireThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowAcquireThresholdMillis);
+	}
+
+	@Override
+	public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+		acquisition.record(elapsedAcquiredNanos);
+
+		// A slow acquisition means every connection was busy, so the pool may be too small
+		if (elapsedAcquiredNanos >= slowAcquireThresholdNanos) {
+			slowAcquisitions.increment();
+			log.warn("Waited {} ms for a connection from pool {} ({} active, {} idle, {} waiting)",
+					TimeUnit.NANOSECONDS.toMillis(elapsedAcquiredNanos), poolName, poolStats.getActiveConnections(),
+					poolStats.getIdleConnections(), poolStats.getPendingThreads());
+		}
+	}
+
+	@Override
+	public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+		usage.record(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis));
+	}
+
+	@Override
+	public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+		creation.record(TimeUnit.MILLISECONDS.toNanos(connectionCreatedMillis));
+	}
+
+	@Override
+	public void recordConnectionTimeout() {
+		timeouts.increment();
+	}
+
+	public String getPoolName() {
+		return poolName;
+	}
+
+	public int getActiveConnections() {
+		return poolStats.getActiveConnections();
+	}
+
+	public int getIdleConnections() {
+		return poolStats.getIdleConnections();
+	}
+
+	public int getPendingThreads() {
+		return poolStats.getPendingThreads();
+	}
+
+	public int getTotalConnections() {
+		return poolStats.getTotalConnections();
+	}
+
+	public int getMaxConnections() {
+		return poolStats.getMaxConnections();
+	}
+
+	public LatencyHistogram getAcquisition() {
+		return acquisition;
+	}
+
+	public LatencyHistogram getUsage() {
+		return usage;
+	}
+
+	public LatencyHistogram getCreation() {
+		return creation;
+	}
+
+	public long getSlowAcquisitions() {
+		return slowAcquisitions.sum();
+	}
+
+	public long getTimeouts() {
+		return timeouts.sum();
+	}
+}
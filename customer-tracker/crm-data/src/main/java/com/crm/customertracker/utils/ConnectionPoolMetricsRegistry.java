@@ -0,0 +1,35 @@
+package com.crm.customertracker.utils;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Metrics of every Hikari connection pool this factory was given to, keyed by pool name
+@Component
+public class ConnectionPoolMetricsRegistry implements MetricsTrackerFactory {
+	private final long slowAcquireThresholdMillis;
+	private final Map<String, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+
+	public ConnectionPoolMetricsRegistry(@Value("${app.datasource.slow-acquire-threshold:100}") long slowAcquireThresholdMillis) {
+		this.slowAcquireThresholdMillis = slowAcquireThresholdMillis;
+	}
+
+	@Override
+	public IMetricsTracker create(String poolName, PoolStats poolStats) {
+		ConnectionPoolMetrics metrics = new ConnectionPoolMetrics(poolName, poolStats, slowAcquireThresholdMillis);
+		pools.put(poolName, metrics);
+
+		return metrics;
+	}
+
+	public Map<String, ConnectionPoolMetrics> poolMetrics() {
+		// Sorted by pool name for display
+		return new TreeMap<>(pools);
+	}
+}
@@ -0,0 +1,92 @@
+package com.crm.customertracker.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Lock-free histogram of latencies in nanoseconds. Every power of two is split into 8 buckets, so a percentile
+// is reported with at most 12.5% error while recording stays a couple of atomic increments.
+public class LatencyHistogram {
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE * SUB_BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final AtomicLong maxNanos = new AtomicLong();
+
+	public void record(long nanos) {
+		long value = Math.max(0, nanos);
+
+		buckets.incrementAndGet(bucketIndex(value));
+		count.increment();
+		totalNanos.add(value);
+		maxNanos.accumulateAndGet(value, Math::max);
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	public long getMax() {
+		return maxNanos.get();
+	}
+
+	public long getMean() {
+		long samples = count.sum();
+		return samples == 0 ? 0 : totalNanos.sum() / samples;
+	}
+
+	// Return the latency (upper bound of its bucket) below which the given percentage of recorded latencies fall
+	public long getPercentile(double percentile) {
+		long[] counts = new long[buckets.length()];
+		long samples = 0;
+
+		// Take a copy first, so concurrent recording can't move the rank while walking the buckets
+		for (int index = 0; index < counts.length; index++) {
+			counts[index] = buckets.get(index);
+			samples += counts[index];
+		}
+
+		if (samples == 0) {
+			return 0;
+		}
+
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * samples));
+		long seen = 0;
+
+		for (int index = 0; index < counts.length; index++) {
+			seen += counts[index];
+
+			if (seen >= rank) {
+				return Math.min(bucketUpperBound(index), getMax());
+			}
+		}
+
+		return getMax();
+	}
+
+	// Values below 8 get a bucket each, larger values are bucketed by their exponent and next 3 bits
+	static int bucketIndex(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	static long bucketUpperBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+
+		int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		long width = 1L << (exponent - SUB_BUCKET_BITS);
+		long lowerBound = (1L << exponent) + (index % SUB_BUCKETS) * width;
+
+		return lowerBound + width - 1;
+	}
+}
@@ -1,5 +1,9 @@
 package com.crm.customertracker.utils;
 
+import java.util.Map;
+
 public interface MethodCalls {
-	int numberOfMethodCalls();
-}
\ No newline at end of file
+	void recordMethodCall(String method, long durationNanos, boolean failed);
+	long numberOfMethodCalls(String method);
+	Map<String, MethodMetrics> methodMetrics();
+}
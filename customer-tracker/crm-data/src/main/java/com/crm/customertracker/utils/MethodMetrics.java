@@ -0,0 +1,31 @@
+package com.crm.customertracker.utils;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Call count, failure count and latency histogram of a single method. LongAdder keeps a striped cell per
+// contending thread, so concurrent requests don't fight over one counter.
+public class MethodMetrics {
+	private final LongAdder calls = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+	private final LatencyHistogram latency = new LatencyHistogram();
+
+	public void record(long durationNanos, boolean failed) {
+		calls.increment();
+		if (failed) {
+			failures.increment();
+		}
+		latency.record(durationNanos);
+	}
+
+	public long getCalls() {
+		return calls.sum();
+	}
+
+	public long getFailures() {
+		return failures.sum();
+	}
+
+	public LatencyHistogram getLatency() {
+		return latency;
+	}
+}
@@ -0,0 +1,37 @@
+package com.crm.customertracker.utils;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Metrics of every method matched by PointcutDeclarations.webAppFlow(), keyed by "Type.method"
+@Component
+public class MethodMetricsRegistry implements MethodCalls {
+	private final Map<String, MethodMetrics> metrics = new ConcurrentHashMap<>();
+
+	@Override
+	public void recordMethodCall(String method, long durationNanos, boolean failed) {
+		// Look up first, computeIfAbsent locks the bin even when the method is already registered
+		MethodMetrics methodMetrics = metrics.get(method);
+
+		if (methodMetrics == null) {
+			methodMetrics = metrics.computeIfAbsent(method, newMethod -> new MethodMetrics());
+		}
+
+		methodMetrics.record(durationNanos, failed);
+	}
+
+	@Override
+	public long numberOfMethodCalls(String method) {
+		MethodMetrics methodMetrics = metrics.get(method);
+		return methodMetrics == null ? 0 : methodMetrics.getCalls();
+	}
+
+	@Override
+	public Map<String, MethodMetrics> methodMetrics() {
+		// Sorted by method name for display
+		return new TreeMap<>(metrics);
+	}
+}
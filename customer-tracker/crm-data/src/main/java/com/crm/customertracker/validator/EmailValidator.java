@@ -1,31 +1,96 @@
 package com.crm.customertracker.validator;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 
+// Accepts the same emails as the former regular expression
+// ^[_A-Za-z0-9-\+]+(\.[_A-Za-z0-9-]+)*@[A-Za-z0-9-]+(\.[A-Za-z0-9]+)*(\.[A-Za-z]{2,})$
+// but scans the email once from left to right, so validating allocates nothing, can't backtrack on
+// adversarial input and holds no state, which keeps a shared instance thread-safe
 public class EmailValidator implements ConstraintValidator<ValidEmail, String> {
-	private Pattern pattern;
-	private Matcher matcher;
-	private static final String EMAIL_PATTERN = "^[_A-Za-z0-9-\\+]+(\\.[_A-Za-z0-9-]+)*@"
-			+ "[A-Za-z0-9-]+(\\.[A-Za-z0-9]+)*(\\.[A-Za-z]{2,})$";
-
 	@Override
 	public boolean isValid(final String email, final ConstraintValidatorContext context) {
-		// Compile the Regular Expression from String to Pattern object
-		pattern = Pattern.compile(EMAIL_PATTERN);
-		
 		// If Email input form data is empty, return false (not valid)
 		if (email == null) {
 			return false;
 		}
-		
-		// Match the Email input form data against the pattern
-		matcher = pattern.matcher(email);
-		
-		// Return the results
-		return matcher.matches();
+
+		return isValidEmail(email);
+	}
+
+	static boolean isValidEmail(CharSequence email) {
+		int length = email.length();
+
+		// Local part: a first label that may contain '+', then '.' separated labels that may not
+		int index = scanLabel(email, 0, true);
+		if (index < 0) {
+			return false;
+		}
+
+		while (index < length && email.charAt(index) == '.') {
+			index = scanLabel(email, index + 1, false);
+			if (index < 0) {
+				return false;
+			}
+		}
+
+		if (index == length || email.charAt(index) != '@') {
+			return false;
+		}
+
+		// Domain: a first label that may contain '-'
+		int start = ++index;
+		while (index < length && (isLetterOrDigit(email.charAt(index)) || email.charAt(index) == '-')) {
+			index++;
+		}
+		if (index == start) {
+			return false;
+		}
+
+		// then at least one '.' separated label of letters and digits, the last one being 2 or more letters
+		boolean lastLabelValid = false;
+
+		while (index < length && email.charAt(index) == '.') {
+			start = ++index;
+			boolean lettersOnly = true;
+
+			while (index < length && isLetterOrDigit(email.charAt(index))) {
+				lettersOnly &= !isDigit(email.charAt(index));
+				index++;
+			}
+			if (index == start) {
+				return false;
+			}
+
+			lastLabelValid = lettersOnly && index - start >= 2;
+		}
+
+		return index == length && lastLabelValid;
+	}
+
+	// Helper method: Return the index after the local part label starting at the given index, or -1 if it's empty
+	private static int scanLabel(CharSequence email, int start, boolean allowPlus) {
+		int index = start;
+
+		while (index < email.length()) {
+			char character = email.charAt(index);
+
+			if (!isLetterOrDigit(character) && character != '_' && character != '-' && !(allowPlus && character == '+')) {
+				break;
+			}
+
+			index++;
+		}
+
+		return index == start ? -1 : index;
+	}
+
+	// Helper method: ASCII letters and digits only, as in the [A-Za-z0-9] character class
+	private static boolean isLetterOrDigit(char character) {
+		return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z') || isDigit(character);
+	}
+
+	private static boolean isDigit(char character) {
+		return character >= '0' && character <= '9';
 	}
-}
\ No newline at end of file
+}
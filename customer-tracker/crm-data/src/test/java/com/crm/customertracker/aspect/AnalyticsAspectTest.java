@@ -0,0 +1,71 @@
+package com.crm.customertracker.aspect;
+
+import com.crm.customertracker.repository.customer.CustomerRepository;
+import com.crm.customertracker.service.CustomerService;
+import com.crm.customertracker.utils.MethodCalls;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.repository.CrudRepository;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsAspectTest {
+    @Mock
+    MethodCalls methodCalls;
+
+    @Mock
+    ProceedingJoinPoint proceedingJoinPoint;
+
+    @Mock
+    MethodSignature methodSignature;
+
+    @InjectMocks
+    AnalyticsAspect analyticsAspect;
+
+    @DisplayName("Record a call of an application method")
+    @Test
+    void methodCallMetrics() throws Throwable {
+        given(proceedingJoinPoint.getSignature()).willReturn(methodSignature);
+        given(methodSignature.getMethod()).willReturn(CustomerService.class.getMethod("findCustomerById", int.class));
+
+        analyticsAspect.methodCallMetrics(proceedingJoinPoint);
+
+        then(methodCalls).should().recordMethodCall(eq("CustomerService.findCustomerById"), anyLong(), eq(false));
+    }
+
+    @DisplayName("Name an inherited Spring Data method after the repository proxy's interface")
+    @Test
+    void methodCallMetricsOfRepository() throws Throwable {
+        given(proceedingJoinPoint.getSignature()).willReturn(methodSignature);
+        given(proceedingJoinPoint.getThis()).willReturn(mock(CustomerRepository.class));
+        given(methodSignature.getMethod()).willReturn(CrudRepository.class.getMethod("findById", Object.class));
+
+        analyticsAspect.methodCallMetrics(proceedingJoinPoint);
+
+        then(methodCalls).should().recordMethodCall(eq("CustomerRepository.findById"), anyLong(), eq(false));
+    }
+
+    @DisplayName("Record a failed call and rethrow its exception")
+    @Test
+    void methodCallMetricsFailed() throws Throwable {
+        given(proceedingJoinPoint.getSignature()).willReturn(methodSignature);
+        given(methodSignature.getMethod()).willReturn(CustomerService.class.getMethod("findCustomerById", int.class));
+        given(proceedingJoinPoint.proceed()).willThrow(new IllegalStateException());
+
+        assertThrows(IllegalStateException.class, () -> analyticsAspect.methodCallMetrics(proceedingJoinPoint));
+
+        then(methodCalls).should().recordMethodCall(eq("CustomerService.findCustomerById"), anyLong(), eq(true));
+    }
+}
@@ -0,0 +1,115 @@
+package com.crm.customertracker.aspect;
+
+import com.crm.customertracker.entity.customer.Customer;
+import com.crm.customertracker.tracing.TraceEvent;
+import com.crm.customertracker.tracing.TraceRecorder;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class TracingAspectTest {
+    @Mock
+    TraceRecorder traceRecorder;
+
+    @Mock
+    ProceedingJoinPoint proceedingJoinPoint;
+
+    @Mock
+    Signature signature;
+
+    @InjectMocks
+    TracingAspect tracingAspect;
+
+    @Captor
+    ArgumentCaptor<TraceEvent> traceEventArgumentCaptor;
+
+    @DisplayName("Record the duration and result size of a sampled method")
+    @Test
+    void traceWebAppFlow() throws Throwable {
+        given(traceRecorder.sample()).willReturn(true);
+        given(proceedingJoinPoint.getSignature()).willReturn(signature);
+        given(signature.toShortString()).willReturn("CustomerService.findAllCustomers()");
+        given(proceedingJoinPoint.proceed()).willReturn(List.of(Customer.builder().build(), Customer.builder().build()));
+
+        tracingAspect.traceWebAppFlow(proceedingJoinPoint);
+
+        then(traceRecorder).should().record(traceEventArgumentCaptor.capture());
+        TraceEvent traceEvent = traceEventArgumentCaptor.getValue();
+        assertAll(
+                () -> assertThat(traceEvent.getMethod()).isEqualTo("CustomerService.findAllCustomers()"),
+                () -> assertThat(traceEvent.getResultSize()).isEqualTo(2),
+                () -> assertThat(traceEvent.getArguments()).isNull(),
+                () -> assertThat(traceEvent.getException()).isNull()
+        );
+        then(proceedingJoinPoint).should(never()).getArgs();
+    }
+
+    @DisplayName("Render the arguments of methods opted in to argument tracing")
+    @Test
+    void traceWebAppFlowWithArguments() throws Throwable {
+        given(traceRecorder.sample()).willReturn(true);
+        given(proceedingJoinPoint.getSignature()).willReturn(signature);
+        given(proceedingJoinPoint.getArgs()).willReturn(new Object[]{"Doe", 5});
+
+        tracingAspect.traceWebAppFlowWithArguments(proceedingJoinPoint);
+
+        then(traceRecorder).should().record(traceEventArgumentCaptor.capture());
+        assertThat(traceEventArgumentCaptor.getValue().getArguments()).isEqualTo("[Doe, 5]");
+    }
+
+    @DisplayName("Record the exception thrown by a sampled method and rethrow it")
+    @Test
+    void traceException() throws Throwable {
+        given(traceRecorder.sample()).willReturn(true);
+        given(proceedingJoinPoint.getSignature()).willReturn(signature);
+        given(proceedingJoinPoint.proceed()).willThrow(new IllegalStateException());
+
+        assertThrows(IllegalStateException.class, () -> tracingAspect.traceWebAppFlow(proceedingJoinPoint));
+
+        then(traceRecorder).should().record(traceEventArgumentCaptor.capture());
+        assertThat(traceEventArgumentCaptor.getValue().getException()).isEqualTo("IllegalStateException");
+    }
+
+    @DisplayName("Methods that are not sampled are not recorded")
+    @Test
+    void notSampled() throws Throwable {
+        given(traceRecorder.sample()).willReturn(false);
+
+        tracingAspect.traceWebAppFlow(proceedingJoinPoint);
+
+        then(proceedingJoinPoint).should().proceed();
+        then(traceRecorder).should(never()).record(any());
+    }
+
+    @DisplayName("Result sizes are taken from containers without rendering them")
+    @Test
+    void resultSize() {
+        assertAll(
+                () -> assertThat(TracingAspect.resultSize(null)).isZero(),
+                () -> assertThat(TracingAspect.resultSize(new PageImpl<>(List.of(1, 2, 3)))).isEqualTo(3),
+                () -> assertThat(TracingAspect.resultSize(Optional.empty())).isZero(),
+                () -> assertThat(TracingAspect.resultSize(new byte[4])).isEqualTo(4),
+                () -> assertThat(TracingAspect.resultSize(Customer.builder().build())).isEqualTo(1)
+        );
+    }
+}
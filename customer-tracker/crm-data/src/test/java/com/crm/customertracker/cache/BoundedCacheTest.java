@@ -0,0 +1,84 @@
+package com.crm.customertracker.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class BoundedCacheTest {
+    @DisplayName("Values are loaded once and then read from the cache")
+    @Test
+    void readThrough() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(100, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1, key -> "customer" + loads.incrementAndGet());
+        String value = cache.get(1, key -> "customer" + loads.incrementAndGet());
+
+        assertAll(
+                () -> assertThat(value).isEqualTo("customer1"),
+                () -> assertThat(loads.get()).isEqualTo(1),
+                () -> assertThat(cache.getHits()).isEqualTo(1),
+                () -> assertThat(cache.getMisses()).isEqualTo(1),
+                () -> assertThat(cache.getHitRatio()).isEqualTo(0.5)
+        );
+    }
+
+    @DisplayName("Expired and invalidated values are loaded again")
+    @Test
+    void expireAndInvalidate() {
+        BoundedCache<Integer, String> expiredCache = new BoundedCache<>(100, -1);
+        expiredCache.put(1, "customer");
+
+        BoundedCache<Integer, String> cache = new BoundedCache<>(100, 60_000);
+        cache.put(1, "customer");
+        cache.put(2, "customer");
+        cache.invalidate(1);
+
+        assertThat(expiredCache.getIfPresent(1)).isNull();
+        assertThat(cache.getIfPresent(1)).isNull();
+        assertThat(cache.getIfPresent(2)).isNotNull();
+
+        cache.invalidateAll();
+        assertThat(cache.size()).isZero();
+    }
+
+    @DisplayName("A value loaded while an invalidation happened is not cached")
+    @Test
+    void invalidateDuringLoad() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(100, 60_000);
+
+        cache.get(1, key -> {
+            cache.invalidate(key);
+            return "stale customer";
+        });
+
+        assertThat(cache.getIfPresent(1)).isNull();
+    }
+
+    @DisplayName("A scan of one-off keys does not evict frequently read keys")
+    @Test
+    void scanResistance() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(100, 60_000);
+
+        // Keys 0-49 are read over and over
+        IntStream.range(0, 5).forEach(round ->
+                IntStream.range(0, 50).forEach(key -> cache.get(key, String::valueOf)));
+
+        // Keys 1000-2999 are read once each, while the hot keys keep being read
+        IntStream.range(1000, 3000).forEach(key -> {
+            cache.get(key, String::valueOf);
+            cache.get(key % 50, String::valueOf);
+        });
+
+        long hotKeysCached = IntStream.range(0, 50).filter(key -> cache.getIfPresent(key) != null).count();
+
+        assertThat(hotKeysCached).isEqualTo(50);
+        assertThat(cache.size()).isLessThanOrEqualTo(100);
+        assertThat(cache.getEvictions()).isPositive();
+    }
+}
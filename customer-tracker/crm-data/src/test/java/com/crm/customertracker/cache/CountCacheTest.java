@@ -0,0 +1,69 @@
+package com.crm.customertracker.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountCacheTest {
+    CountCache countCache;
+    AtomicLong rows;
+    AtomicLong countQueries;
+
+    @BeforeEach
+    void setUp() {
+        countCache = new CountCache(60_000);
+        rows = new AtomicLong(10);
+        countQueries = new AtomicLong();
+    }
+
+    @DisplayName("Only the first request for a key runs the count")
+    @Test
+    void get() {
+        assertThat(countCache.get(CountCache.CUSTOMERS, this::count)).isEqualTo(10);
+        assertThat(countCache.get(CountCache.CUSTOMERS, this::count)).isEqualTo(10);
+
+        assertThat(countQueries.get()).isEqualTo(1);
+    }
+
+    @DisplayName("Known writes adjust the count without re-counting")
+    @Test
+    void adjust() {
+        countCache.get(CountCache.CUSTOMERS, this::count);
+
+        countCache.adjust(CountCache.CUSTOMERS, 1);
+        countCache.adjust(CountCache.CUSTOMERS, -3);
+
+        assertThat(countCache.get(CountCache.CUSTOMERS, this::count)).isEqualTo(8);
+        assertThat(countQueries.get()).isEqualTo(1);
+    }
+
+    @DisplayName("Invalidated counts are re-counted by the background refresh")
+    @Test
+    void invalidateAndRefresh() {
+        countCache.get(CountCache.LICENSES, this::count);
+        rows.set(4);
+
+        countCache.refresh();
+        assertThat(countCache.get(CountCache.LICENSES, this::count)).isEqualTo(10);
+
+        countCache.invalidate(CountCache.LICENSES);
+        countCache.refresh();
+        assertThat(countCache.get(CountCache.LICENSES, this::count)).isEqualTo(4);
+    }
+
+    @DisplayName("Keys combine the entity and its filter")
+    @Test
+    void key() {
+        assertThat(CountCache.key("customer", null)).isEqualTo(CountCache.CUSTOMERS);
+        assertThat(CountCache.key("customer", "lastName=Doe")).isEqualTo("customer?lastName=Doe");
+    }
+
+    private long count() {
+        countQueries.incrementAndGet();
+        return rows.get();
+    }
+}
@@ -0,0 +1,63 @@
+package com.crm.customertracker.cache;
+
+import com.crm.customertracker.entity.security.Role;
+import com.crm.customertracker.repository.security.RoleRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class RoleRegistryTest {
+    static final Role EMPLOYEE = Role.builder().id(1).name("ROLE_EMPLOYEE").build();
+    static final Role MANAGER = Role.builder().id(2).name("ROLE_MANAGER").build();
+    static final Role ADMIN = Role.builder().id(3).name("ROLE_ADMIN").build();
+
+    @Mock
+    RoleRepository roleRepository;
+
+    @InjectMocks
+    RoleRegistry roleRegistry;
+
+    @DisplayName("Resolve a list of role names with a single query for all Roles")
+    @Test
+    void resolve() {
+        given(roleRepository.findAll()).willReturn(List.of(EMPLOYEE, MANAGER, ADMIN));
+
+        assertThat(roleRegistry.resolve(List.of("ROLE_EMPLOYEE", "ROLE_ADMIN"))).containsExactly(EMPLOYEE, ADMIN);
+        assertThat(roleRegistry.resolve(List.of("ROLE_MANAGER"))).containsExactly(MANAGER);
+
+        then(roleRepository).should(times(1)).findAll();
+    }
+
+    @DisplayName("Throw for a role name no Role has")
+    @Test
+    void resolveUnknownRole() {
+        given(roleRepository.findAll()).willReturn(List.of(EMPLOYEE));
+
+        assertThrows(IllegalArgumentException.class, () -> roleRegistry.resolve(List.of("ROLE_OWNER")));
+    }
+
+    @DisplayName("Pick up inserted Roles on refresh")
+    @Test
+    void refresh() {
+        given(roleRepository.findAll()).willReturn(List.of(EMPLOYEE), List.of(EMPLOYEE, MANAGER));
+
+        roleRegistry.refresh();
+        assertThat(roleRegistry.size()).isEqualTo(1);
+
+        roleRegistry.refresh();
+        assertThat(roleRegistry.size()).isEqualTo(2);
+        assertThat(roleRegistry.resolve(List.of("ROLE_MANAGER"))).containsExactly(MANAGER);
+    }
+}
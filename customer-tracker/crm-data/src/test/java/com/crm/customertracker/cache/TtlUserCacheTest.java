@@ -0,0 +1,72 @@
+package com.crm.customertracker.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class TtlUserCacheTest {
+    @DisplayName("Cached users are counted as hits and unknown users as misses")
+    @Test
+    void hitsAndMisses() {
+        TtlUserCache userCache = new TtlUserCache(60_000, 10);
+        userCache.putUserInCache(user("admin"));
+
+        assertAll(
+                () -> assertThat(userCache.getUserFromCache("admin")).isNotNull(),
+                () -> assertThat(userCache.getUserFromCache("unknown")).isNull(),
+                () -> assertThat(userCache.getHits()).isEqualTo(1),
+                () -> assertThat(userCache.getMisses()).isEqualTo(1)
+        );
+    }
+
+    @DisplayName("Erasing the credentials of a returned user keeps the cached password")
+    @Test
+    void eraseCredentials() {
+        TtlUserCache userCache = new TtlUserCache(60_000, 10);
+        userCache.putUserInCache(user("admin"));
+
+        ((CredentialsContainer) userCache.getUserFromCache("admin")).eraseCredentials();
+
+        assertThat(userCache.getUserFromCache("admin").getPassword()).isEqualTo("{noop}password");
+    }
+
+    @DisplayName("Expired and removed users are loaded again")
+    @Test
+    void expireAndRemove() {
+        TtlUserCache expiredCache = new TtlUserCache(-1, 10);
+        expiredCache.putUserInCache(user("admin"));
+
+        TtlUserCache userCache = new TtlUserCache(60_000, 10);
+        userCache.putUserInCache(user("admin"));
+        userCache.removeUserFromCache("admin");
+
+        assertThat(expiredCache.getUserFromCache("admin")).isNull();
+        assertThat(userCache.getUserFromCache("admin")).isNull();
+    }
+
+    @DisplayName("The least recently used user is evicted once the cache is full")
+    @Test
+    void evictLeastRecentlyUsed() {
+        TtlUserCache userCache = new TtlUserCache(60_000, 2);
+        userCache.putUserInCache(user("first"));
+        userCache.putUserInCache(user("second"));
+        userCache.getUserFromCache("first");
+
+        userCache.putUserInCache(user("third"));
+
+        assertAll(
+                () -> assertThat(userCache.size()).isEqualTo(2),
+                () -> assertThat(userCache.getUserFromCache("first")).isNotNull(),
+                () -> assertThat(userCache.getUserFromCache("second")).isNull()
+        );
+    }
+
+    private UserDetails user(String username) {
+        return User.withUsername(username).password("{noop}password").roles("EMPLOYEE").build();
+    }
+}
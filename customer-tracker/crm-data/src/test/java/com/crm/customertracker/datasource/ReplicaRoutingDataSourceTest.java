@@ -0,0 +1,147 @@
+package com.crm.customertracker.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+
+// Routes between embedded H2 databases that each know their own name
+class ReplicaRoutingDataSourceTest {
+    HikariDataSource primary = database("primary");
+    HikariDataSource replica1 = database("replica1");
+    HikariDataSource replica2 = database("replica2");
+
+    ReplicaRoutingDataSource routingDataSource;
+
+    @AfterEach
+    void tearDown() {
+        primary.close();
+        replica1.close();
+        replica2.close();
+    }
+
+    @DisplayName("Send read-write transactions and work outside of transactions to the primary")
+    @Test
+    void readWriteGoesToPrimary() {
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2),
+                ReplicaRoutingDataSource.Selection.ROUND_ROBIN, 1000);
+
+        assertThat(databaseName(false)).isEqualTo("primary");
+        assertThat(new JdbcTemplate(routingDataSource).queryForObject("SELECT name FROM database_name", String.class))
+                .isEqualTo("primary");
+    }
+
+    @DisplayName("Take turns between the replicas for read-only transactions")
+    @Test
+    void readOnlyRoundRobin() {
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2),
+                ReplicaRoutingDataSource.Selection.ROUND_ROBIN, 1000);
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            names.add(databaseName(true));
+        }
+
+        assertThat(names).containsExactly("replica1", "replica2", "replica1", "replica2");
+    }
+
+    @DisplayName("Pick the replica with the fewest connections in use")
+    @Test
+    void readOnlyLeastConnections() throws SQLException {
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2),
+                ReplicaRoutingDataSource.Selection.LEAST_CONNECTIONS, 1000);
+
+        try (Connection busy = replica1.getConnection()) {
+            assertThat(databaseName(true)).isEqualTo("replica2");
+            assertThat(databaseName(true)).isEqualTo("replica2");
+        }
+
+        try (Connection busy = replica2.getConnection()) {
+            assertThat(databaseName(true)).isEqualTo("replica1");
+        }
+    }
+
+    @DisplayName("Skip a replica that fails to connect until its retry delay has passed")
+    @Test
+    void failedReplicaIsSkipped() throws SQLException {
+        DataSource broken = mock(DataSource.class);
+        given(broken.getConnection()).willThrow(new SQLException("Connection refused"));
+
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(broken, replica2),
+                ReplicaRoutingDataSource.Selection.ROUND_ROBIN, 60000);
+
+        assertThat(databaseName(true)).isEqualTo("replica2");
+        assertThat(databaseName(true)).isEqualTo("replica2");
+        assertThat(databaseName(true)).isEqualTo("replica2");
+
+        then(broken).should(times(1)).getConnection();
+    }
+
+    @DisplayName("Fall back to the primary when no replica can connect")
+    @Test
+    void allReplicasDownFallsBackToPrimary() throws SQLException {
+        DataSource broken = mock(DataSource.class);
+        given(broken.getConnection()).willThrow(new SQLException("Connection refused"));
+
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(broken),
+                ReplicaRoutingDataSource.Selection.ROUND_ROBIN, 0);
+
+        assertThat(databaseName(true)).isEqualTo("primary");
+
+        // A retry delay of 0 tries the replica again on the next read
+        assertThat(databaseName(true)).isEqualTo("primary");
+        then(broken).should(times(2)).getConnection();
+    }
+
+    @DisplayName("Close the replicas' pools along with the routing DataSource")
+    @Test
+    void closeClosesReplicas() {
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2),
+                ReplicaRoutingDataSource.Selection.ROUND_ROBIN, 1000);
+
+        routingDataSource.close();
+
+        assertThat(replica1.isClosed()).isTrue();
+        assertThat(replica2.isClosed()).isTrue();
+        assertThat(primary.isClosed()).isFalse();
+    }
+
+    // Helper method: Read the name of the database a transaction ran against, through the same lazy proxy
+    // the application puts in front of the routing DataSource
+    private String databaseName(boolean readOnly) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+
+        return transactionTemplate.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT name FROM database_name", String.class));
+    }
+
+    private static HikariDataSource database(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setPoolName(name);
+        dataSource.setMaximumPoolSize(2);
+
+        new JdbcTemplate(dataSource).execute("CREATE TABLE IF NOT EXISTS database_name (name VARCHAR(20))");
+        new JdbcTemplate(dataSource).execute("MERGE INTO database_name KEY (name) VALUES ('" + name + "')");
+
+        return dataSource;
+    }
+}
@@ -0,0 +1,88 @@
+package com.crm.customertracker.pagination;
+
+import com.crm.customertracker.dto.CustomerDto;
+import com.crm.customertracker.dto.LicenseDto;
+import com.crm.customertracker.entity.customer.License;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class KeysetCursorTest {
+    @DisplayName("Encoded cursor decodes back to the same position")
+    @Test
+    void encodeAndDecode() {
+        KeysetCursor cursor = new KeysetCursor("lastName", "O|Brien", 42, true);
+
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode(), "lastName", CustomerDto.class);
+
+        assertAll(
+                () -> assertThat(decoded.getSortField()).isEqualTo("lastName", CustomerDto.class),
+                () -> assertThat(decoded.getSortValue()).isEqualTo("O|Brien"),
+                () -> assertThat(decoded.getId()).isEqualTo(42),
+                () -> assertThat(decoded.isBackward()).isTrue()
+        );
+    }
+
+    @DisplayName("Cursor from a row with a date sort value")
+    @Test
+    void afterDateRow() {
+        Date startDate = new Date(1_600_000_000_000L);
+        License license = License.builder().id(7).startDate(startDate).build();
+
+        KeysetCursor decoded = KeysetCursor.decode(KeysetCursor.after(license, "startDate"), "startDate", LicenseDto.class);
+
+        assertAll(
+                () -> assertThat(decoded.getId()).isEqualTo(7),
+                () -> assertThat(decoded.isBackward()).isFalse(),
+                () -> assertThat(decoded.getSortValue()).isEqualTo(startDate)
+        );
+    }
+
+    @DisplayName("Cursor from a row with a null sort value")
+    @Test
+    void beforeNullRow() {
+        License license = License.builder().id(3).build();
+
+        KeysetCursor decoded = KeysetCursor.decode(KeysetCursor.before(license, "expirationDate"), "expirationDate", LicenseDto.class);
+
+        assertThat(decoded.getSortValue()).isNull();
+    }
+
+    @DisplayName("Missing, malformed or mismatched tokens start from the first page")
+    @Test
+    void decodeInvalid() {
+        String lastNameCursor = new KeysetCursor("lastName", "Doe", 1, false).encode();
+
+        assertAll(
+                () -> assertThat(KeysetCursor.decode(null, "lastName", CustomerDto.class)).isNull(),
+                () -> assertThat(KeysetCursor.decode("", "lastName", CustomerDto.class)).isNull(),
+                () -> assertThat(KeysetCursor.decode("not a cursor!", "lastName", CustomerDto.class)).isNull(),
+                () -> assertThat(KeysetCursor.decode(lastNameCursor, "email", CustomerDto.class)).isNull()
+        );
+    }
+
+    @DisplayName("Tokens whose value or ID doesn't parse, or whose sort field isn't in the row, start from the first page")
+    @Test
+    void decodeUnparsable() {
+        String notADate = token("k1|F|startDate|7|+yesterday");
+        String notAnId = token("k1|F|licenseName|seven|+Premiere");
+        String unknownField = token("k1|F|nothing|7|+Premiere");
+
+        assertAll(
+                () -> assertThat(KeysetCursor.decode(notADate, "startDate", LicenseDto.class)).isNull(),
+                () -> assertThat(KeysetCursor.decode(notAnId, "licenseName", LicenseDto.class)).isNull(),
+                () -> assertThat(KeysetCursor.decode(unknownField, "nothing", LicenseDto.class)).isNull()
+        );
+    }
+
+    // Helper method: Encode a raw cursor the way KeysetCursor does
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,126 @@
+package com.crm.customertracker.repository.customer;
+
+import com.crm.customertracker.entity.customer.Customer;
+import com.crm.customertracker.entity.customer.License;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the batch saves against an embedded H2 database through a DataSource that counts, per INSERT statement,
+// the rows added to a JDBC batch, the batches executed and the statements executed one at a time
+@SpringBootTest(classes = CustomerBatchRepositoryImplTest.TestConfiguration.class, properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true"})
+class CustomerBatchRepositoryImplTest {
+    @Autowired
+    CustomerRepository customerRepository;
+
+    @Autowired
+    StatementCounter statementCounter;
+
+    @DisplayName("Send the INSERTs of new Customers and their Licenses as JDBC batches of batch_size rows")
+    @Test
+    void insertsAreBatched() {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Customer customer = Customer.builder().firstName("Ada").lastName("Lovelace").email("ADA@gmail.com").build();
+            customer.addLicense(License.builder().licenseName("Word").customer(customer).build());
+            customers.add(customer);
+        }
+
+        customerRepository.saveAllInBatches(customers);
+
+        assertThat(statementCounter.count("insert into customer", "addBatch")).isEqualTo(120);
+        assertThat(statementCounter.count("insert into customer", "executeBatch")).isEqualTo(3);
+        assertThat(statementCounter.count("insert into customer", "executeUpdate")).isZero();
+        assertThat(statementCounter.count("insert into license", "addBatch")).isEqualTo(120);
+        assertThat(statementCounter.count("insert into license", "executeBatch")).isEqualTo(3);
+        assertThat(statementCounter.count("insert into license", "executeUpdate")).isZero();
+        assertThat(customerRepository.count()).isEqualTo(120);
+    }
+
+    // Counts the calls of each PreparedStatement method by the statement's SQL
+    static class StatementCounter extends DelegatingDataSource {
+        private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+        StatementCounter(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        int count(String sqlPrefix, String method) {
+            return counts.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith(sqlPrefix) && entry.getKey().endsWith(" " + method))
+                    .mapToInt(entry -> entry.getValue().get())
+                    .sum();
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+
+            return proxy(Connection.class, connection, (method, args, result) -> method.equals("prepareStatement")
+                    ? countingStatement((PreparedStatement) result, ((String) args[0]).toLowerCase(Locale.ROOT))
+                    : result);
+        }
+
+        private PreparedStatement countingStatement(PreparedStatement statement, String sql) {
+            return proxy(PreparedStatement.class, statement, (method, args, result) -> {
+                counts.computeIfAbsent(sql + " " + method, key -> new AtomicInteger()).incrementAndGet();
+                return result;
+            });
+        }
+
+        @FunctionalInterface
+        private interface ResultMapper {
+            Object map(String method, Object[] args, Object result);
+        }
+
+        private static <T> T proxy(Class<T> type, T target, ResultMapper resultMapper) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+                try {
+                    return resultMapper.map(method.getName(), args, method.invoke(target, args));
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }));
+        }
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Customer.class)
+    @EnableJpaRepositories(basePackageClasses = CustomerRepository.class)
+    static class TestConfiguration {
+        @Bean
+        StatementCounter statementCounter() {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl("jdbc:h2:mem:batches;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+
+            return new StatementCounter(dataSource);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.crm.customertracker.repository.customer;
+
+import com.crm.customertracker.entity.customer.Customer;
+import com.crm.customertracker.entity.customer.License;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs against an embedded H2 database holding Customers and Licenses inserted before the id_generator table
+// existed, as on a database created while their IDs were IDENTITY columns
+@SpringBootTest(classes = IdGeneratorSeederTest.TestConfiguration.class,
+        properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+class IdGeneratorSeederTest {
+    @Autowired
+    IdGeneratorSeeder idGeneratorSeeder;
+
+    @Autowired
+    CustomerRepository customerRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @DisplayName("Hand out new IDs above the existing rows, and never move a segment back")
+    @Test
+    void seedAboveExistingIds() {
+        jdbcTemplate.update("INSERT INTO customer (id, first_name, last_name, email) VALUES (40, 'TJ', 'Hawk', 'TJH@gmail.com')");
+        jdbcTemplate.update("INSERT INTO license (id, license_name, customer_id) VALUES (70, 'Office', 40)");
+        jdbcTemplate.update("DELETE FROM id_generator");
+
+        idGeneratorSeeder.seed();
+
+        assertThat(nextValue("customer")).isEqualTo(40);
+        assertThat(nextValue("license")).isEqualTo(70);
+
+        jdbcTemplate.update("UPDATE id_generator SET next_val = 500 WHERE sequence_name = 'customer'");
+        idGeneratorSeeder.seed();
+        assertThat(nextValue("customer")).isEqualTo(500);
+
+        jdbcTemplate.update("UPDATE id_generator SET next_val = 10 WHERE sequence_name = 'customer'");
+        idGeneratorSeeder.seed();
+        assertThat(nextValue("customer")).isEqualTo(40);
+
+        Customer customer = Customer.builder().firstName("Ada").lastName("Lovelace").email("ADA@gmail.com").build();
+        customer.addLicense(License.builder().licenseName("Word").customer(customer).build());
+        customerRepository.save(customer);
+
+        assertThat(customer.getId()).isEqualTo(41);
+        assertThat(customer.getLicenses().get(0).getId()).isEqualTo(71);
+    }
+
+    // Helper method: Last ID the id_generator segment handed out
+    private long nextValue(String segment) {
+        return jdbcTemplate.queryForObject("SELECT next_val FROM id_generator WHERE sequence_name = ?", Long.class, segment);
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Customer.class)
+    @EnableJpaRepositories(basePackageClasses = CustomerRepository.class)
+    @Import(IdGeneratorSeeder.class)
+    static class TestConfiguration {
+    }
+}
@@ -0,0 +1,139 @@
+package com.crm.customertracker.search;
+
+import com.crm.customertracker.entity.customer.Customer;
+import com.crm.customertracker.repository.customer.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerNameIndexTest {
+    @Mock
+    CustomerRepository customerRepository;
+
+    CustomerNameIndex customerNameIndex;
+
+    @BeforeEach
+    void setUp() {
+        customerNameIndex = new CustomerNameIndex(customerRepository, 2);
+
+        given(customerRepository.findAllCustomerNames()).willReturn(List.of(
+                customerName(1, "David", "Adams"),
+                customerName(2, "John", "Doe"),
+                customerName(3, "Mary", "Jones")));
+
+        customerNameIndex.rebuild();
+    }
+
+    @DisplayName("Index is ready once built at startup")
+    @Test
+    void rebuild() {
+        assertThat(customerNameIndex.isReady()).isTrue();
+    }
+
+    @DisplayName("Terms shorter than a trigram are not supported")
+    @Test
+    void supports() {
+        assertThat(customerNameIndex.supports("Jo")).isFalse();
+        assertThat(customerNameIndex.supports(" Jon ")).isTrue();
+    }
+
+    @DisplayName("Find customers whose first or last name contains the term")
+    @Test
+    void lookup() {
+        assertThat(customerNameIndex.lookup("ONE")).contains(Set.of(3));
+        assertThat(customerNameIndex.lookup("dam")).contains(Set.of(1));
+        assertThat(customerNameIndex.lookup(" john ")).contains(Set.of(2));
+    }
+
+    @DisplayName("Trigram matches that are not substrings are filtered out")
+    @Test
+    void lookupFalsePositive() {
+        // "adavi" only has trigrams found in "David" or "Adams" but is not contained in either name
+        assertThat(customerNameIndex.lookup("adavi")).contains(Set.of());
+    }
+
+    @DisplayName("Saved customers are re-indexed under their new name")
+    @Test
+    void indexUpdatedCustomer() {
+        customerNameIndex.index(Customer.builder().id(2).firstName("Johnny").lastName("Rao").build());
+
+        assertThat(customerNameIndex.lookup("Doe")).contains(Set.of());
+        assertThat(customerNameIndex.lookup("Rao")).contains(Set.of(2));
+    }
+
+    @DisplayName("Deleted customers are removed from the index")
+    @Test
+    void remove() {
+        int trigrams = customerNameIndex.trigrams();
+
+        customerNameIndex.remove(1);
+
+        assertThat(customerNameIndex.lookup("Adams")).contains(Set.of());
+
+        // "David" and "Adams" have 6 trigrams, none shared with "John", "Doe", "Mary" or "Jones"
+        assertThat(customerNameIndex.trigrams()).isEqualTo(trigrams - 6);
+    }
+
+    @DisplayName("Leave terms with more candidates than the maximum to the database")
+    @Test
+    void lookupTooManyCandidates() {
+        customerNameIndex.index(Customer.builder().id(4).firstName("Jon").lastName("Jonas").build());
+        customerNameIndex.index(Customer.builder().id(7).firstName("Jonathan").lastName("Swift").build());
+
+        // "jon" is in the names of 3 Customers, more than the maximum of 2 candidates
+        assertThat(customerNameIndex.lookup("jon")).isEmpty();
+        assertThat(customerNameIndex.lookup("jonas")).contains(Set.of(4));
+    }
+
+    @DisplayName("Match names as lower-cased but untrimmed, the same as the LIKE query")
+    @Test
+    void lookupNormalizedLikeQuery() {
+        customerNameIndex.index(Customer.builder().id(5).firstName("Anne Marie").lastName("ÖSTERBERG").build());
+
+        assertThat(customerNameIndex.lookup("  NE MA ")).contains(Set.of(5));
+        assertThat(customerNameIndex.lookup("österberg")).contains(Set.of(5));
+        assertThat(customerNameIndex.supports(" Jo ")).isFalse();
+    }
+
+    @DisplayName("Pick up the Customers other instances saved when rebuilt on schedule")
+    @Test
+    void rebuildReplacesIndex() {
+        given(customerRepository.findAllCustomerNames()).willReturn(List.of(
+                customerName(2, "John", "Doe"),
+                customerName(6, "Grace", "Hopper")));
+
+        customerNameIndex.rebuild();
+
+        assertThat(customerNameIndex.lookup("Adams")).contains(Set.of());
+        assertThat(customerNameIndex.lookup("Hopper")).contains(Set.of(6));
+    }
+
+    private static CustomerRepository.CustomerName customerName(int id, String firstName, String lastName) {
+        return new CustomerRepository.CustomerName() {
+            @Override
+            public int getId() {
+                return id;
+            }
+
+            @Override
+            public String getFirstName() {
+                return firstName;
+            }
+
+            @Override
+            public String getLastName() {
+                return lastName;
+            }
+        };
+    }
+}
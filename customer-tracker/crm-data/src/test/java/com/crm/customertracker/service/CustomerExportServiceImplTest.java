@@ -0,0 +1,94 @@
+package com.crm.customertracker.service;
+
+import com.crm.customertracker.entity.customer.Customer;
+import com.crm.customertracker.entity.customer.License;
+import com.crm.customertracker.exporting.ExportFormat;
+import com.crm.customertracker.repository.customer.CustomerRepository;
+import com.crm.customertracker.repository.customer.LicenseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Date;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerExportServiceImplTest {
+    @Mock
+    CustomerRepository customerRepository;
+
+    @Mock
+    LicenseRepository licenseRepository;
+
+    @Mock
+    EntityManager entityManager;
+
+    @InjectMocks
+    CustomerExportServiceImpl customerExportServiceImpl;
+
+    StringWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(customerExportServiceImpl, "entityManager", entityManager);
+        writer = new StringWriter();
+    }
+
+    @DisplayName("Export customers as CSV, quoting values that need it")
+    @Test
+    void exportCustomersCsv() throws IOException {
+        given(customerRepository.streamAllByOrderById()).willReturn(Stream.of(
+                Customer.builder().id(1).firstName("TJ").lastName("Hawk").email("tj@gmail.com").build(),
+                Customer.builder().id(2).firstName("Mary").lastName("Jones, \"MJ\"").build()));
+
+        long exported = customerExportServiceImpl.exportCustomers(writer, ExportFormat.CSV);
+
+        assertThat(exported).isEqualTo(2);
+        assertThat(writer.toString()).isEqualTo(
+                "id,first_name,last_name,email\r\n" +
+                "1,TJ,Hawk,tj@gmail.com\r\n" +
+                "2,Mary,\"Jones, \"\"MJ\"\"\",\r\n");
+        then(entityManager).should(never()).clear();
+    }
+
+    @DisplayName("Export licenses as NDJSON with their customer's id")
+    @Test
+    void exportLicensesNdjson() throws IOException {
+        Customer customer = Customer.builder().id(3).build();
+        given(licenseRepository.streamAllByOrderById()).willReturn(Stream.of(
+                License.builder().id(7).licenseName("Photoshop").startDate(new Date(0)).customer(customer).build()));
+
+        customerExportServiceImpl.exportLicenses(writer, ExportFormat.NDJSON);
+
+        assertThat(writer.toString()).isEqualTo("{\"id\":7,\"license_name\":\"Photoshop\"," +
+                "\"start_date\":\"1970-01-01T00:00:00Z\",\"expiration_date\":null,\"customer_id\":3}\n");
+    }
+
+    @DisplayName("Detach the streamed customers every clear interval")
+    @Test
+    void exportCustomersClearsPersistenceContext() throws IOException {
+        given(customerRepository.streamAllByOrderById()).willReturn(
+                IntStream.rangeClosed(1, 2 * CustomerExportServiceImpl.CLEAR_INTERVAL + 1)
+                        .mapToObj(id -> Customer.builder().id(id).build()));
+
+        long exported = customerExportServiceImpl.exportCustomers(writer, ExportFormat.NDJSON);
+
+        assertThat(exported).isEqualTo(2L * CustomerExportServiceImpl.CLEAR_INTERVAL + 1);
+        then(entityManager).should(times(2)).clear();
+    }
+}
@@ -0,0 +1,180 @@
+package com.crm.customertracker.service;
+
+import com.crm.customertracker.entity.customer.Customer;
+import com.crm.customertracker.importing.CustomerImportFormat;
+import com.crm.customertracker.importing.CustomerImportListener;
+import com.crm.customertracker.importing.CustomerImportResult;
+import com.crm.customertracker.importing.RejectedRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerImportServiceImplTest {
+    @Mock
+    CustomerService customerService;
+
+    @Mock
+    CustomerImportListener listener;
+
+    @Captor
+    ArgumentCaptor<List<Customer>> batchCaptor;
+
+    CustomerImportServiceImpl customerImportServiceImpl;
+
+    @BeforeEach
+    void setUp() {
+        customerImportServiceImpl = new CustomerImportServiceImpl(customerService,
+                Validation.buildDefaultValidatorFactory().getValidator(), 2, 10);
+    }
+
+    @DisplayName("Import CSV rows in batches, whatever the column order")
+    @Test
+    void importCsvInBatches() throws IOException {
+        CustomerImportResult result = customerImportServiceImpl.importCustomers(input(
+                "email,Last Name,first_name\r\n" +
+                "tj@gmail.com,Hawk,TJ\r\n" +
+                "mary@gmail.com,Jones,Mary\r\n" +
+                "\"max@gmail.com\",\"Dixon\",Max\r\n"), CustomerImportFormat.CSV, listener);
+
+        then(customerService).should(times(2)).saveCustomers(batchCaptor.capture());
+        then(listener).should(times(2)).onProgress(result);
+        assertThat(batchCaptor.getAllValues().get(0)).extracting(Customer::getFirstName).containsExactly("TJ", "Mary");
+        assertThat(batchCaptor.getAllValues().get(1)).extracting(Customer::getLastName).containsExactly("Dixon");
+        assertThat(result.getProcessed()).isEqualTo(3);
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getRejected()).isZero();
+    }
+
+    @DisplayName("Reject CSV rows that are malformed or break the customer's constraints")
+    @Test
+    void importCsvRejectsInvalidRows() throws IOException {
+        CustomerImportResult result = customerImportServiceImpl.importCustomers(input(
+                "first_name,last_name,email\n" +
+                "TJ,Hawk\n" +
+                "\"T,J\",Hawk,tj@gmail.com\n" +
+                "Mary,Jones,mary@gmail.com\n"), CustomerImportFormat.CSV, listener);
+
+        then(customerService).should().saveCustomers(batchCaptor.capture());
+        then(listener).should(times(2)).onRejected(any(RejectedRow.class));
+        assertThat(batchCaptor.getValue()).extracting(Customer::getFirstName).containsExactly("Mary");
+        assertThat(result.getRejected()).isEqualTo(2);
+        assertThat(result.getRejectedRows()).extracting(RejectedRow::getLineNumber).containsExactly(2L, 3L);
+        assertThat(result.getRejectedRows().get(0).getReason()).isEqualTo("expected 3 columns but found 2");
+        assertThat(result.getRejectedRows().get(1).getReason()).startsWith("firstName");
+    }
+
+    @DisplayName("Quoted CSV fields may hold line breaks, later rows keep their line numbers")
+    @Test
+    void importCsvQuotedLineBreak() throws IOException {
+        CustomerImportResult result = customerImportServiceImpl.importCustomers(input(
+                "first_name,last_name,email\n" +
+                "\"T\nJ\",Hawk,tj@gmail.com\n" +
+                "Mary,Jones\n"), CustomerImportFormat.CSV, listener);
+
+        assertThat(result.getRejectedRows()).extracting(RejectedRow::getLineNumber).containsExactly(2L, 4L);
+        then(customerService).should(never()).saveCustomers(any());
+    }
+
+    @DisplayName("An over-long quoted CSV field is rejected as one row, its line breaks do not start new rows")
+    @Test
+    void importCsvOverlongQuotedField() throws IOException {
+        StringBuilder field = new StringBuilder("\"");
+        while (field.length() < 70 * 1024) {
+            field.append("x\"\"y\nJunk,Row,junk@gmail.com\n");
+        }
+
+        CustomerImportResult result = customerImportServiceImpl.importCustomers(input(
+                "first_name,last_name,email\n" +
+                field + "\",Hawk,tj@gmail.com\n" +
+                "Mary,Jones,mary@gmail.com\n"), CustomerImportFormat.CSV, listener);
+
+        then(customerService).should().saveCustomers(batchCaptor.capture());
+        assertThat(batchCaptor.getValue()).extracting(Customer::getEmail).containsExactly("mary@gmail.com");
+        assertThat(result.getRejectedRows()).extracting(RejectedRow::getLineNumber).containsExactly(2L);
+        assertThat(result.getRejectedRows().get(0).getReason()).startsWith("row is longer than");
+    }
+
+    @DisplayName("A CSV header without the customer columns is refused")
+    @Test
+    void importCsvMissingColumns() {
+        assertThrows(IllegalArgumentException.class, () -> customerImportServiceImpl.importCustomers(
+                input("first_name,surname\nTJ,Hawk\n"), CustomerImportFormat.CSV, listener));
+    }
+
+    @DisplayName("Import NDJSON rows, rejecting malformed lines")
+    @Test
+    void importNdjson() throws IOException {
+        CustomerImportResult result = customerImportServiceImpl.importCustomers(input(
+                "{\"firstName\": \"TJ\", \"lastName\": \"Hawk\", \"email\": \"tj@gmail.com\"}\n" +
+                "\n" +
+                "{\"firstName\": \"Mary\"\n" +
+                "[]\n"), CustomerImportFormat.NDJSON, listener);
+
+        then(customerService).should().saveCustomers(batchCaptor.capture());
+        assertThat(batchCaptor.getValue()).extracting(Customer::getEmail).containsExactly("tj@gmail.com");
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getRejectedRows()).extracting(RejectedRow::getLineNumber).containsExactly(3L, 4L);
+    }
+
+    @DisplayName("Rows of a batch that fails to save are rejected, the import carries on")
+    @Test
+    void importBatchFailure() throws IOException {
+        willThrow(new DataIntegrityViolationException("duplicate")).given(customerService).saveCustomers(any());
+
+        CustomerImportResult result = customerImportServiceImpl.importCustomers(input(
+                "first_name,last_name,email\n" +
+                "TJ,Hawk,tj@gmail.com\n"), CustomerImportFormat.CSV, listener);
+
+        assertThat(result.getImported()).isZero();
+        assertThat(result.getRejectedRows()).extracting(RejectedRow::getReason).containsExactly("not saved: duplicate");
+    }
+
+    @DisplayName("Only the first rejected rows are kept, all are counted")
+    @Test
+    void importKeepsFirstRejectedRows() throws IOException {
+        StringBuilder csv = new StringBuilder("first_name,last_name,email\n");
+        for (int row = 0; row < 25; row++) {
+            csv.append("TJ\n");
+        }
+
+        CustomerImportResult result = customerImportServiceImpl.importCustomers(input(csv.toString()),
+                CustomerImportFormat.CSV, listener);
+
+        assertThat(result.getRejected()).isEqualTo(25);
+        assertThat(result.getRejectedRows()).hasSize(10);
+    }
+
+    @DisplayName("Pick the import format from the file name")
+    @Test
+    void importFormatFromFileName() {
+        assertThat(CustomerImportFormat.fromFileName("partners.NDJSON")).isEqualTo(CustomerImportFormat.NDJSON);
+        assertThat(CustomerImportFormat.fromFileName("partners.csv")).isEqualTo(CustomerImportFormat.CSV);
+        assertThat(CustomerImportFormat.fromFileName(null)).isEqualTo(CustomerImportFormat.CSV);
+    }
+
+    private static InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,146 @@
+package com.crm.customertracker.service;
+
+import com.crm.customertracker.cache.CountCache;
+import com.crm.customertracker.cache.CustomerCache;
+import com.crm.customertracker.datasource.ReadYourWrites;
+import com.crm.customertracker.datasource.ReplicaRoutingDataSource;
+import com.crm.customertracker.dto.CustomerDto;
+import com.crm.customertracker.entity.customer.Customer;
+import com.crm.customertracker.repository.customer.CustomerRepository;
+import com.crm.customertracker.search.CustomerNameIndex;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the CustomerService against an embedded H2 primary and a replica that is a snapshot of the primary taken
+// before each test, i.e. a replica that has not caught up with any of the test's writes
+@SpringBootTest(classes = CustomerServiceImplReadYourWritesTest.TestConfiguration.class,
+        properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+class CustomerServiceImplReadYourWritesTest {
+    @Autowired
+    CustomerService customerService;
+
+    @Autowired
+    CustomerCache customerCache;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    HikariDataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    HikariDataSource replica;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcTemplate primaryJdbc = new JdbcTemplate(primary);
+        primaryJdbc.update("DELETE FROM license");
+        primaryJdbc.update("DELETE FROM customer");
+        primaryJdbc.update("INSERT INTO customer (id, first_name, last_name, email) VALUES (100, 'TJ', 'Hawk', 'TJH@gmail.com')");
+
+        // Copy the primary as it is now into the replica
+        Path snapshot = Files.createTempFile("replica", ".sql");
+        try {
+            primaryJdbc.execute("SCRIPT TO '" + snapshot + "'");
+            new JdbcTemplate(replica).execute("DROP ALL OBJECTS");
+            new JdbcTemplate(replica).execute("RUNSCRIPT FROM '" + snapshot + "'");
+        } finally {
+            Files.delete(snapshot);
+        }
+
+        customerCache.invalidateCustomer(100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.endRequest();
+    }
+
+    @DisplayName("Fill the Customer cache from the primary, so a saved Customer is never cached as the replica still has it")
+    @Test
+    void cacheFilledFromPrimary() {
+        customerService.saveCustomer(Customer.builder().id(100).firstName("Tony").lastName("Hawk").email("TJH@gmail.com").build());
+
+        assertThat(customerService.findCustomerById(100).getFirstName()).isEqualTo("Tony");
+        assertThat(customerService.findCustomerDtoById(100)).map(CustomerDto::getFirstName).contains("Tony");
+        assertThat(customerService.findCustomerLicenses(100).getCustomer().getFirstName()).isEqualTo("Tony");
+    }
+
+    @DisplayName("Read the list page from the primary in a request of a user who just wrote")
+    @Test
+    void readYourWrites() {
+        ReadYourWrites.beginRequest(false);
+        customerService.saveCustomer(Customer.builder().firstName("Ada").lastName("Lovelace").email("ADA@gmail.com").build());
+        assertThat(ReadYourWrites.endRequest()).isTrue();
+
+        // The next request of the same user, e.g. the list page redirected to after the save
+        ReadYourWrites.beginRequest(true);
+        assertThat(lastNames()).containsExactly("Hawk", "Lovelace");
+        assertThat(ReadYourWrites.endRequest()).isFalse();
+
+        // Other users read from the replica, which has not caught up yet
+        ReadYourWrites.beginRequest(false);
+        assertThat(lastNames()).containsExactly("Hawk");
+    }
+
+    // Helper method: Last names on the first page of Customers
+    private List<String> lastNames() {
+        return customerService.findPaginatedCustomers(null, 5, "lastName", "asc").getContent().stream()
+                .map(CustomerDto::getLastName).collect(Collectors.toList());
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Customer.class)
+    @EnableJpaRepositories(basePackageClasses = CustomerRepository.class)
+    @Import({CustomerServiceImpl.class, CountCache.class, CustomerCache.class, CustomerNameIndex.class})
+    static class TestConfiguration {
+        @Bean
+        HikariDataSource primaryDataSource() {
+            return database("rywPrimary");
+        }
+
+        @Bean
+        HikariDataSource replicaDataSource() {
+            return database("rywReplica");
+        }
+
+        @Bean
+        @Primary
+        DataSource customerDataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                      @Qualifier("replicaDataSource") HikariDataSource replicaDataSource) {
+            return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primaryDataSource,
+                    List.of(replicaDataSource), ReplicaRoutingDataSource.Selection.ROUND_ROBIN, 1000));
+        }
+
+        private static HikariDataSource database(String name) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+            dataSource.setPoolName(name);
+
+            return dataSource;
+        }
+    }
+}
@@ -1,32 +1,48 @@
 package com.crm.customertracker.service;
 
+import com.crm.customertracker.cache.CountCache;
+import com.crm.customertracker.cache.CustomerCache;
+import com.crm.customertracker.dto.CustomerDto;
+import com.crm.customertracker.dto.CustomerLicensesDto;
+import com.crm.customertracker.dto.LicenseDto;
 import com.crm.customertracker.entity.customer.Customer;
 import com.crm.customertracker.entity.customer.License;
+import com.crm.customertracker.pagination.KeysetCursor;
+import com.crm.customertracker.pagination.KeysetPage;
 import com.crm.customertracker.repository.customer.CustomerRepository;
 import com.crm.customertracker.repository.customer.LicenseRepository;
+import com.crm.customertracker.search.CustomerNameIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 
 @ExtendWith(MockitoExtension.class)
 class CustomerServiceImplTest {
@@ -41,6 +57,15 @@ class CustomerServiceImplTest {
     @Mock
     LicenseRepository licenseRepository;
 
+    @Mock
+    CustomerNameIndex customerNameIndex;
+
+    @Mock
+    CountCache countCache;
+
+    @Spy
+    CustomerCache customerCache = new CustomerCache(100, 60_000);
+
     @InjectMocks
     CustomerServiceImpl customerServiceImpl;
 
@@ -76,7 +101,7 @@ class CustomerServiceImplTest {
     void findCustomerByIdFound() {
         given(customerRepository.findById(anyInt())).willReturn(Optional.of(customer));
 
-        Customer returnedCustomer = customerServiceImpl.findCustomerById(anyInt());
+        Customer returnedCustomer = customerServiceImpl.findCustomerById(ID);
 
         assertAll(
                 () -> assertThat(returnedCustomer).isNotNull(),
@@ -85,20 +110,74 @@ class CustomerServiceImplTest {
         );
     }
 
-    @DisplayName("Unable to find a customer by id")
+    @DisplayName("Repeat reads of a customer come from the cache until it is saved")
+    @Test
+    void findCustomerByIdCached() {
+        given(customerRepository.findById(ID)).willReturn(Optional.of(customer));
+
+        customerServiceImpl.findCustomerById(ID);
+        customerServiceImpl.findCustomerById(ID);
+        customerServiceImpl.saveCustomer(customer);
+        customerServiceImpl.findCustomerById(ID);
+
+        then(customerRepository).should(times(2)).findById(ID);
+        assertThat(customerCache.getCustomers().getHits()).isEqualTo(1);
+    }
+
+    @DisplayName("Unable to find a customer by id, and don't cache the miss")
     @Test
     void findCustomerByIdNotFound() {
-        given(customerRepository.findById(anyInt())).willThrow(new RuntimeException());
+        given(customerRepository.findById(anyInt())).willReturn(Optional.empty());
 
-        assertThrows(RuntimeException.class, () -> customerServiceImpl.findCustomerById(anyInt()));
+        assertThrows(RuntimeException.class, () -> customerServiceImpl.findCustomerById(ID));
+        assertThrows(RuntimeException.class, () -> customerServiceImpl.findCustomerById(ID));
+
+        then(customerRepository).should(times(2)).findById(ID);
+        assertThat(customerCache.getCustomers().size()).isZero();
+    }
+
+    @DisplayName("Every read of a cached customer gets its own copy")
+    @Test
+    void findCustomerByIdReturnsCopies() {
+        given(customerRepository.findById(ID)).willReturn(Optional.of(customer));
+
+        customerServiceImpl.findCustomerById(ID).setFirstName("Changed");
+
+        assertThat(customerServiceImpl.findCustomerById(ID).getFirstName()).isEqualTo(FIRST_NAME);
     }
 
     @DisplayName("Save a customer")
     @Test
     void saveCustomer() {
-        customerServiceImpl.saveCustomer(any());
+        customerServiceImpl.saveCustomer(customer);
 
         then(customerRepository).should().save(any());
+        then(customerNameIndex).should().index(any());
+        then(countCache).should(never()).adjust(anyString(), anyLong());
+    }
+
+    @DisplayName("Save a new customer and count it")
+    @Test
+    void saveNewCustomer() {
+        customerServiceImpl.saveCustomer(Customer.builder().firstName(FIRST_NAME).build());
+
+        then(customerRepository).should().save(any());
+        then(countCache).should().adjust(CountCache.CUSTOMERS, 1);
+    }
+
+    @DisplayName("Save customers in batches, counting the new customers and licenses")
+    @Test
+    void saveCustomers() {
+        Customer newCustomer = Customer.builder().firstName(FIRST_NAME).build();
+        newCustomer.addLicense(License.builder().licenseName("Photoshop").customer(newCustomer).build());
+        List<Customer> customers = List.of(customer, newCustomer);
+
+        customerServiceImpl.saveCustomers(customers);
+
+        then(customerRepository).should().saveAllInBatches(customers);
+        then(customerNameIndex).should(times(2)).index(any());
+        then(countCache).should().adjust(CountCache.CUSTOMERS, 1);
+        then(countCache).should().adjust(CountCache.LICENSES, 1);
     }
 
     @DisplayName("Delete customer by id")
@@ -107,23 +186,53 @@ class CustomerServiceImplTest {
         customerServiceImpl.deleteCustomerById(anyInt());
 
         then(customerRepository).should().deleteById(anyInt());
+        then(customerNameIndex).should().remove(anyInt());
+        then(countCache).should().adjust(CountCache.CUSTOMERS, -1);
+        then(countCache).should().invalidate(CountCache.LICENSES);
     }
 
     @DisplayName("Find customer along with its license(s) by id")
     @Test
     void findCustomerLicenses() {
-        given(customerRepository.findCustomerLicenses(anyInt())).willReturn(customer);
+        given(customerRepository.findById(ID)).willReturn(Optional.of(customer));
+        given(licenseRepository.findLicenseDtosByCustomerId(ID))
+                .willReturn(List.of(new LicenseDto(ID, "Photoshop", null, null, ID)));
+
+        CustomerLicensesDto foundCustomer = customerServiceImpl.findCustomerLicenses(ID);
+
+        assertThat(foundCustomer.getCustomer().getFirstName()).isEqualTo(FIRST_NAME);
+        assertThat(foundCustomer.getLicenses()).extracting(LicenseDto::getLicenseName).containsExactly("Photoshop");
+    }
+
+    @DisplayName("Cache a customer without licenses as an empty list, but not a missing customer")
+    @Test
+    void findCustomerLicensesWithoutLicenses() {
+        given(customerRepository.findById(ID)).willReturn(Optional.of(customer));
+        given(customerRepository.findById(2)).willReturn(Optional.empty());
 
-        Customer foundCustomer = customerServiceImpl.findCustomerLicenses(anyInt());
+        assertThat(customerServiceImpl.findCustomerLicenses(ID).getLicenses()).isEmpty();
+        assertThrows(RuntimeException.class, () -> customerServiceImpl.findCustomerLicenses(2));
 
-        assertThat(foundCustomer).isNotNull();
-        assertThat(foundCustomer.getLicenses()).isNotNull();
+        assertThat(customerCache.getCustomerLicenses().size()).isEqualTo(1);
+    }
+
+    @DisplayName("Deleting a license drops the cached customer licenses")
+    @Test
+    void findCustomerLicensesAfterDeleteLicense() {
+        given(customerRepository.findById(ID)).willReturn(Optional.of(customer));
+
+        customerServiceImpl.findCustomerLicenses(ID);
+        customerServiceImpl.findCustomerLicenses(ID);
+        customerServiceImpl.deleteLicenseById(ID);
+        customerServiceImpl.findCustomerLicenses(ID);
+
+        then(licenseRepository).should(times(2)).findLicenseDtosByCustomerId(ID);
     }
 
     @DisplayName("Unable to find customer by first or last name")
     @Test
     void findCustomersByNameFound() {
-        given(customerRepository.searchEmployeeByFirstOrLastName(FIRST_NAME)).willReturn(List.of(customer));
+        given(customerRepository.searchEmployeeByFirstOrLastName("tj")).willReturn(List.of(customer));
 
         List<Customer> customerList = customerServiceImpl.findCustomersByName(FIRST_NAME);
 
@@ -134,6 +243,47 @@ class CustomerServiceImplTest {
         );
     }
 
+    @DisplayName("Found customer by first or last name using the name index")
+    @Test
+    void findCustomersByNameUsingIndex() {
+        given(customerNameIndex.isReady()).willReturn(true);
+        given(customerNameIndex.supports("hawk")).willReturn(true);
+        given(customerNameIndex.lookup("hawk")).willReturn(Optional.of(Set.of(ID)));
+        given(customerRepository.findByIdInOrderByLastNameAsc(Set.of(ID))).willReturn(List.of(customer));
+
+        List<Customer> customerList = customerServiceImpl.findCustomersByName(LAST_NAME);
+
+        assertThat(customerList).containsExactly(customer);
+        then(customerRepository).should(never()).searchEmployeeByFirstOrLastName(anyString());
+    }
+
+    @DisplayName("No database query when the name index has no match")
+    @Test
+    void findCustomersByNameIndexNoMatch() {
+        given(customerNameIndex.isReady()).willReturn(true);
+        given(customerNameIndex.supports("hawk")).willReturn(true);
+        given(customerNameIndex.lookup("hawk")).willReturn(Optional.of(Set.of()));
+
+        List<Customer> customerList = customerServiceImpl.findCustomersByName(LAST_NAME);
+
+        assertThat(customerList).isEmpty();
+        then(customerRepository).shouldHaveNoInteractions();
+    }
+
+    @DisplayName("Search the database when the term has too many candidates for the name index")
+    @Test
+    void findCustomersByNameTooManyCandidates() {
+        given(customerNameIndex.isReady()).willReturn(true);
+        given(customerNameIndex.supports("hawk")).willReturn(true);
+        given(customerNameIndex.lookup("hawk")).willReturn(Optional.empty());
+        given(customerRepository.searchEmployeeByFirstOrLastName("hawk")).willReturn(List.of(customer));
+
+        List<Customer> customerList = customerServiceImpl.findCustomersByName(" " + LAST_NAME + " ");
+
+        assertThat(customerList).containsExactly(customer);
+        then(customerRepository).should(never()).findByIdInOrderByLastNameAsc(any());
+    }
+
     @DisplayName("Found customer by first or last name")
     @Test
     void findCustomersByNameEmptyString() {
@@ -147,14 +297,68 @@ class CustomerServiceImplTest {
     @DisplayName("Display a page containing a list of customers")
     @Test
     void findPaginatedCustomers() {
-        Page<Customer> customerPage = Page.empty();
-
-        given(customerRepository.findAll(any(Pageable.class))).willReturn(customerPage);
+        given(customerRepository.findCustomerDtos(any(Pageable.class))).willReturn(new SliceImpl<>(List.of()));
 
-        Page<Customer> returnCustomersPage =
+        Page<CustomerDto> returnCustomersPage =
                 customerServiceImpl.findPaginatedCustomers(1, 5, "firstName", "asc");
 
         assertThat(returnCustomersPage).isNotNull();
+        then(customerRepository).should(never()).findAll(any(Pageable.class));
+    }
+
+    @DisplayName("Page total comes from the count cache but never hides a next page")
+    @Test
+    void findPaginatedCustomersApproximateTotal() {
+        given(customerRepository.findCustomerDtos(any(Pageable.class)))
+                .willReturn(new SliceImpl<>(List.of(CustomerDto.of(customer)), Pageable.ofSize(1), true));
+        given(countCache.get(anyString(), any())).willReturn(1L);
+
+        Page<CustomerDto> returnCustomersPage =
+                customerServiceImpl.findPaginatedCustomers(1, 1, "firstName", "asc");
+
+        assertThat(returnCustomersPage.hasNext()).isTrue();
+        assertThat(returnCustomersPage.getTotalElements()).isEqualTo(2);
+    }
+
+    @DisplayName("Display the first keyset page of customers")
+    @Test
+    void findPaginatedCustomersFirstKeysetPage() {
+        CustomerDto firstCustomer = CustomerDto.of(customer);
+        CustomerDto secondCustomer = new CustomerDto(2, "Zed", null, null);
+
+        given(customerRepository.findKeysetDtos(null, "firstName", Sort.Direction.ASC, 2))
+                .willReturn(List.of(firstCustomer, secondCustomer));
+
+        KeysetPage<CustomerDto> page = customerServiceImpl.findPaginatedCustomers(null, 1, "firstName", "asc");
+
+        KeysetCursor nextCursor = KeysetCursor.decode(page.getNextCursor(), "firstName", CustomerDto.class);
+        assertAll(
+                () -> assertThat(page.getContent()).containsExactly(firstCustomer),
+                () -> assertThat(page.getPreviousCursor()).isNull(),
+                () -> assertThat(nextCursor.getId()).isEqualTo(ID),
+                () -> assertThat(nextCursor.getSortValue()).isEqualTo(FIRST_NAME),
+                () -> assertThat(nextCursor.isBackward()).isFalse()
+        );
+    }
+
+    @DisplayName("Display a keyset page of licenses before a cursor")
+    @Test
+    void findPaginatedLicensesBackwardKeysetPage() {
+        LicenseDto firstLicense = new LicenseDto(ID, license.getLicenseName(), null, null, null);
+        LicenseDto secondLicense = new LicenseDto(2, "Indesign", null, null, null);
+        String cursor = new KeysetCursor("licenseName", "Premiere", 3, true).encode();
+
+        // Rows before the cursor come back in reverse order
+        given(licenseRepository.findKeysetDtos(any(KeysetCursor.class), any(), any(), anyInt()))
+                .willReturn(List.of(firstLicense, secondLicense));
+
+        KeysetPage<LicenseDto> page = customerServiceImpl.findPaginatedLicenses(cursor, 5, "licenseName", "asc");
+
+        assertAll(
+                () -> assertThat(page.getContent()).containsExactly(secondLicense, firstLicense),
+                () -> assertThat(page.getPreviousCursor()).isNull(),
+                () -> assertThat(KeysetCursor.decode(page.getNextCursor(), "licenseName", LicenseDto.class).getId()).isEqualTo(ID)
+        );
     }
 
     @DisplayName("Display a list of licenses")
@@ -173,16 +377,15 @@ class CustomerServiceImplTest {
         customerServiceImpl.deleteLicenseById(anyInt());
 
         then(licenseRepository).should().deleteById(anyInt());
+        then(countCache).should().adjust(CountCache.LICENSES, -1);
     }
 
     @DisplayName("Display a page containing a list of licenses")
     @Test
     void findPaginatedLicenses() {
-        Page<License> licensePageable = Page.empty();
-
-        given(licenseRepository.findAll(any(Pageable.class))).willReturn(licensePageable);
+        given(licenseRepository.findLicenseDtos(any(Pageable.class))).willReturn(new SliceImpl<>(List.of()));
 
-        Page<License> returnLicensesPage = customerServiceImpl.findPaginatedLicenses(1, 10,
+        Page<LicenseDto> returnLicensesPage = customerServiceImpl.findPaginatedLicenses(1, 10,
                 "lastName", "asc");
 
         assertThat(returnLicensesPage).isNotNull();
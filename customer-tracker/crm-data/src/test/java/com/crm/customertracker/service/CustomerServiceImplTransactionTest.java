@@ -0,0 +1,169 @@
+package com.crm.customertracker.service;
+
+import com.crm.customertracker.cache.CountCache;
+import com.crm.customertracker.cache.CustomerCache;
+import com.crm.customertracker.dto.CustomerDto;
+import com.crm.customertracker.dto.LicenseDto;
+import com.crm.customertracker.entity.customer.Customer;
+import com.crm.customertracker.pagination.KeysetPage;
+import com.crm.customertracker.repository.customer.CustomerRepository;
+import com.crm.customertracker.search.CustomerNameIndex;
+import com.crm.customertracker.utils.ConnectionPoolMetricsRegistry;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// Runs the CustomerService against an embedded H2 database behind the same Hikari pool and lazy proxy as the
+// application, counting how many connections each service call takes from the pool
+@SpringBootTest(classes = CustomerServiceImplTransactionTest.TestConfiguration.class,
+        properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+class CustomerServiceImplTransactionTest {
+    @Autowired
+    CustomerService customerService;
+
+    @Autowired
+    ConnectionPoolMetricsRegistry connectionPoolMetricsRegistry;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    CustomerNameIndex customerNameIndex;
+
+    @Autowired
+    CustomerRepository customerRepository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM license");
+        jdbcTemplate.update("DELETE FROM customer");
+        jdbcTemplate.update("INSERT INTO customer (id, first_name, last_name, email) VALUES (1, 'TJ', 'Hawk', 'TJH@gmail.com')");
+        jdbcTemplate.update("INSERT INTO customer (id, first_name, last_name, email) VALUES (2, 'Ada', 'Lovelace', 'ADA@gmail.com')");
+        jdbcTemplate.update("INSERT INTO license (id, license_name, customer_id) VALUES (1, 'Office', 1)");
+    }
+
+    @DisplayName("Load a page of Customers and their total count on one connection")
+    @Test
+    void findPaginatedCustomersAcquiresOneConnection() {
+        long acquisitions = acquisitions();
+
+        assertThat(customerService.findPaginatedCustomers(1, 5, "lastName", "asc").getContent())
+                .extracting(CustomerDto::getLastName).containsExactly("Hawk", "Lovelace");
+
+        assertThat(acquisitions() - acquisitions).isEqualTo(1);
+    }
+
+    @DisplayName("Load a page of Licenses and their total count on one connection")
+    @Test
+    void findPaginatedLicensesAcquiresOneConnection() {
+        long acquisitions = acquisitions();
+
+        assertThat(customerService.findPaginatedLicenses(1, 5, "licenseName", "asc").getContent())
+                .extracting(LicenseDto::getLicenseName, LicenseDto::getCustomerId).containsExactly(tuple("Office", 1));
+
+        assertThat(acquisitions() - acquisitions).isEqualTo(1);
+    }
+
+    @DisplayName("Take no connection for a read answered from the Customer cache")
+    @Test
+    void cachedReadAcquiresNoConnection() {
+        customerService.findCustomerById(2);
+        long acquisitions = acquisitions();
+
+        assertThat(customerService.findCustomerById(2).getFirstName()).isEqualTo("Ada");
+
+        assertThat(acquisitions() - acquisitions).isZero();
+    }
+
+    @DisplayName("Seek through Customer DTOs without loading Customer entities")
+    @Test
+    void findCustomerDtos() {
+        KeysetPage<CustomerDto> firstPage = customerService.findPaginatedCustomers(null, 1, "lastName", "asc");
+        KeysetPage<CustomerDto> secondPage = customerService.findPaginatedCustomers(firstPage.getNextCursor(), 1, "lastName", "asc");
+
+        assertThat(firstPage.getContent()).extracting(CustomerDto::getEmail).containsExactly("TJH@gmail.com");
+        assertThat(secondPage.getContent()).extracting(CustomerDto::getEmail).containsExactly("ADA@gmail.com");
+        assertThat(secondPage.getNextCursor()).isNull();
+    }
+
+    @DisplayName("Select License DTOs with their Customer's ID, also for a License without a Customer")
+    @Test
+    void findLicenseDtos() {
+        jdbcTemplate.update("INSERT INTO license (id, license_name) VALUES (2, 'Unassigned')");
+
+        assertThat(customerService.findPaginatedLicenses(null, 5, "licenseName", "asc").getContent())
+                .extracting(LicenseDto::getLicenseName, LicenseDto::getCustomerId)
+                .containsExactly(tuple("Office", 1), tuple("Unassigned", null));
+        assertThat(customerService.findCustomerLicenseDtos(1)).extracting(LicenseDto::getId).containsExactly(1);
+    }
+
+    @DisplayName("Find the same Customers by name through the name index as through the LIKE query")
+    @Test
+    void findCustomersByNameIndexMatchesQuery() {
+        jdbcTemplate.update("INSERT INTO customer (id, first_name, last_name, email) VALUES (3, 'Anne Marie', '100% Smith', 'AM@gmail.com')");
+        customerNameIndex.rebuild();
+
+        for (String term : List.of("HAW", " ada ", "ne ma", "100%", "0% s", "e_m")) {
+            assertThat(customerNameIndex.lookup(term)).isPresent();
+            assertThat(customerService.findCustomersByName(term)).extracting(Customer::getId)
+                    .isEqualTo(customerRepository.searchEmployeeByFirstOrLastName(CustomerNameIndex.normalizeTerm(term))
+                            .stream().map(Customer::getId).collect(Collectors.toList()));
+        }
+
+        assertThat(customerService.findCustomersByName("e_m")).isEmpty();
+        assertThat(customerService.findCustomersByName(" 100% ")).extracting(Customer::getId).containsExactly(3);
+    }
+
+    // Helper method: Connections taken from the pool so far
+    private long acquisitions() {
+        return connectionPoolMetricsRegistry.poolMetrics().get("customer").getAcquisition().getCount();
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Customer.class)
+    @EnableJpaRepositories(basePackageClasses = CustomerRepository.class)
+    @Import({CustomerServiceImpl.class, CountCache.class, CustomerCache.class, CustomerNameIndex.class,
+            ConnectionPoolMetricsRegistry.class})
+    static class TestConfiguration {
+        @Bean
+        HikariDataSource customerPoolDataSource(ConnectionPoolMetricsRegistry connectionPoolMetricsRegistry) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl("jdbc:h2:mem:customers;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+            dataSource.setPoolName("customer");
+            dataSource.setMetricsTrackerFactory(connectionPoolMetricsRegistry);
+
+            return dataSource;
+        }
+
+        @Bean
+        @Primary
+        DataSource customerDataSource(HikariDataSource customerPoolDataSource) {
+            return new LazyConnectionDataSourceProxy(customerPoolDataSource);
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(HikariDataSource customerPoolDataSource) {
+            return new JdbcTemplate(customerPoolDataSource);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.crm.customertracker.service;
 
 import com.crm.customertracker.entity.security.User;
+import com.crm.customertracker.repository.security.UserImageRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,14 +11,30 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 
 @ExtendWith(MockitoExtension.class)
 class ImageServiceImplTest {
@@ -26,32 +43,115 @@ class ImageServiceImplTest {
     @Mock
     UserService userService;
 
+    @Mock
+    UserImageRepository userImageRepository;
+
+    @Mock
+    JdbcTemplate securityJdbcTemplate;
+
+    @Mock
+    UserCache userCache;
+
     @InjectMocks
     ImageServiceImpl imageService;
 
     @Captor
-    ArgumentCaptor<User> userArgumentCaptor;
+    ArgumentCaptor<String> sqlCaptor;
+
+    @Captor
+    ArgumentCaptor<InputStream> contentCaptor;
 
     User user;
 
     @BeforeEach
     void setUp() {
-        user = User.builder().username(USERNAME).build();
+        user = User.builder().id(1).username(USERNAME).build();
     }
 
-    @DisplayName("Save a image byte array to associated user")
+    @DisplayName("Stream the image into the associated user's image with one upsert, along with its hash and size")
     @Test
-    void saveImage() throws IOException {
+    void saveImage() throws Exception {
         given(userService.findByUserName(anyString())).willReturn(user);
 
-        MockMultipartFile multipartFile = new MockMultipartFile("imageFile", "testing.txt",
-                "text/plain", "Some text to test".getBytes());
+        // Never read the whole upload into a byte[]
+        MultipartFile multipartFile = mock(MultipartFile.class);
+        given(multipartFile.getSize()).willReturn(17L);
+        given(multipartFile.getInputStream()).willAnswer(invocation -> new ByteArrayInputStream("Some text to test".getBytes()));
+
+        PreparedStatement statement = mock(PreparedStatement.class);
+        given(securityJdbcTemplate.update(sqlCaptor.capture(), any(PreparedStatementSetter.class))).willAnswer(invocation -> {
+            invocation.getArgument(1, PreparedStatementSetter.class).setValues(statement);
+            return 1;
+        });
 
         imageService.saveImage(USERNAME, multipartFile);
 
-        then(userService).should().saveUser(userArgumentCaptor.capture());
+        then(statement).should().setBinaryStream(eq(1), contentCaptor.capture(), eq(17L));
+        assertThat(contentCaptor.getValue()).hasBinaryContent("Some text to test".getBytes());
+        then(statement).should().setString(2, "77dfd12b34697441383938611795c4088212bd59791dd3e62c6a1390baa00921");
+        then(statement).should().setLong(3, 17L);
+        then(statement).should().setInt(4, 1);
+        then(multipartFile).should(never()).getBytes();
+        assertThat(sqlCaptor.getValue()).startsWith("INSERT INTO user_image").contains("ON DUPLICATE KEY UPDATE");
+        then(userCache).should().removeUserFromCache(USERNAME);
+        then(userService).should().invalidateAuthenticatedUserSnapshot(USERNAME);
+    }
+
+    @DisplayName("An upload that can't be read fails the save and leaves the user's image and caches alone")
+    @Test
+    void saveImageUnreadable() throws Exception {
+        given(userService.findByUserName(anyString())).willReturn(user);
+
+        MultipartFile multipartFile = mock(MultipartFile.class);
+        given(multipartFile.getInputStream()).willThrow(new IOException("Stream closed"));
+
+        assertThrows(IOException.class, () -> imageService.saveImage(USERNAME, multipartFile));
+
+        then(securityJdbcTemplate).shouldHaveNoInteractions();
+        then(userCache).shouldHaveNoInteractions();
+        then(userService).should(never()).invalidateAuthenticatedUserSnapshot(anyString());
+    }
+
+    @DisplayName("Find the hash of the associated user's image")
+    @Test
+    void findImageHash() {
+        given(userImageRepository.findContentHashByUserId(1)).willReturn("hash");
+
+        assertThat(imageService.findImageHash(1)).isEqualTo("hash");
+    }
+
+    @DisplayName("Stream the image of the associated user")
+    @Test
+    @SuppressWarnings("unchecked")
+    void writeImage() throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        given(resultSet.next()).willReturn(true);
+        given(resultSet.getBinaryStream("content")).willReturn(new ByteArrayInputStream("image bytes".getBytes()));
+
+        // Run the ResultSetExtractor against a row holding the image
+        given(securityJdbcTemplate.query(any(PreparedStatementCreator.class), any(ResultSetExtractor.class)))
+                .willAnswer(invocation -> invocation.getArgument(1, ResultSetExtractor.class).extractData(resultSet));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        boolean written = imageService.writeImage(USERNAME, outputStream);
+
+        assertThat(written).isTrue();
+        assertThat(outputStream.toString()).isEqualTo("image bytes");
+    }
+
+    @DisplayName("Nothing is streamed for an unknown user")
+    @Test
+    @SuppressWarnings("unchecked")
+    void writeImageUnknownUser() throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        given(resultSet.next()).willReturn(false);
+
+        given(securityJdbcTemplate.query(any(PreparedStatementCreator.class), any(ResultSetExtractor.class)))
+                .willAnswer(invocation -> invocation.getArgument(1, ResultSetExtractor.class).extractData(resultSet));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
 
-        User savedUser = userArgumentCaptor.getValue();
-        assertThat(multipartFile.getBytes().length).isEqualTo(savedUser.getImage().length);
+        assertThat(imageService.writeImage(USERNAME, outputStream)).isFalse();
+        assertThat(outputStream.size()).isZero();
     }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.crm.customertracker.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PasswordHashingServiceImplTest {
+    public static final String PASSWORD = "pass123";
+
+    PasswordHashingServiceImpl passwordHashingService;
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @DisplayName("Hash a password and match it, recording the latency of both")
+    @Test
+    void encodeAndMatch() {
+        passwordHashingService = new PasswordHashingServiceImpl(2, 4, 4);
+
+        String encodedPassword = passwordHashingService.encode(PASSWORD);
+
+        assertThat(passwordHashingService.matches(PASSWORD, encodedPassword)).isTrue();
+        assertThat(passwordHashingService.matches("wrong", encodedPassword)).isFalse();
+        assertThat(passwordHashingService.getEncodeLatency().getCount()).isEqualTo(1);
+        assertThat(passwordHashingService.getMatchesLatency().getCount()).isEqualTo(2);
+    }
+
+    @DisplayName("Reject hashing once the thread is busy and the queue is full")
+    @Test
+    void rejectWhenSaturated() throws Exception {
+        passwordHashingService = new PasswordHashingServiceImpl(1, 1, 4);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // The first hash holds the only thread until released, the second one waits in the queue
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(
+                () -> passwordHashingService.encode(new BlockingPassword(release)));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(
+                () -> passwordHashingService.encode(new BlockingPassword(release)));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (passwordHashingService.getQueuedHashes() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+
+        assertThrows(PasswordHashingRejectedException.class, () -> passwordHashingService.encode(PASSWORD));
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    // A password that blocks the hashing thread until the latch is released
+    private static class BlockingPassword implements CharSequence {
+        private final CountDownLatch release;
+
+        private BlockingPassword(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public String toString() {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return PASSWORD;
+        }
+
+        @Override
+        public int length() {
+            return PASSWORD.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return PASSWORD.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return PASSWORD.subSequence(start, end);
+        }
+    }
+}
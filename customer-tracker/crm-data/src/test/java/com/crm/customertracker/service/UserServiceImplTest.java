@@ -1,9 +1,13 @@
 package com.crm.customertracker.service;
 
+import com.crm.customertracker.cache.RoleRegistry;
+import com.crm.customertracker.entity.security.AuthenticatedUserSnapshot;
 import com.crm.customertracker.entity.security.RegisterUser;
 import com.crm.customertracker.entity.security.Role;
 import com.crm.customertracker.entity.security.User;
+import com.crm.customertracker.repository.security.UserImageRepository;
 import com.crm.customertracker.repository.security.UserRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,10 +17,18 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
@@ -24,6 +36,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceImplTest {
@@ -37,14 +50,35 @@ class UserServiceImplTest {
     @Mock
     UserRepository userRepository;
 
+    @Mock
+    RoleRegistry roleRegistry;
+
+    @Mock
+    UserImageRepository userImageRepository;
+
+    @Mock
+    UserCache userCache;
+
+    @Mock
+    PasswordEncoder passwordEncoder;
+
     @InjectMocks
     UserServiceImpl userService;
 
     @Captor
     ArgumentCaptor<User> userArgumentCaptor;
 
+    Map<String, Object> session;
+
     @BeforeEach
     void setUp() {
+        session = new HashMap<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
     }
 
     @DisplayName("Load all users from database successfully")
@@ -80,9 +114,10 @@ class UserServiceImplTest {
     @DisplayName("Save a user")
     @Test
     void saveUser() {
-        userService.saveUser(any());
+        userService.saveUser(User.builder().username(USER_NAME).build());
 
         then(userRepository).should().save(any());
+        then(userCache).should().removeUserFromCache(USER_NAME);
     }
 
     @DisplayName("Save a user from registration form")
@@ -91,8 +126,11 @@ class UserServiceImplTest {
         RegisterUser registerUser =
                 RegisterUser.builder().userName(USER_NAME).password(PASSWORD).firstName(FIRST_NAME).lastName(LAST_NAME)
                         .email(EMAIL).formRole(ROLE).build();
+        Role role = Role.builder().id(1).name(ROLE).build();
+        given(passwordEncoder.encode(PASSWORD)).willReturn("hashed");
+        given(roleRegistry.resolve(List.of(ROLE))).willReturn(List.of(role));
 
-        userService.saveUser(registerUser, anyList());
+        userService.saveUser(registerUser, List.of(ROLE));
 
         then(userRepository).should().save(userArgumentCaptor.capture());
 
@@ -100,10 +138,138 @@ class UserServiceImplTest {
         assertAll(
                 () -> assertThat(savedUser).isNotNull(),
                 () -> assertThat(savedUser.getUsername()).isEqualTo(USER_NAME),
+                () -> assertThat(savedUser.getPassword()).isEqualTo("hashed"),
                 () -> assertThat(savedUser.getFirstName()).isEqualTo(FIRST_NAME),
                 () -> assertThat(savedUser.getLastName()).isEqualTo(LAST_NAME),
                 () -> assertThat(savedUser.getEmail()).isEqualTo(EMAIL),
-                () -> assertThat(savedUser.getRoles()).isNotNull()
+                () -> assertThat(savedUser.getRoles()).containsExactly(role)
         );
     }
-}
\ No newline at end of file
+
+    @DisplayName("Snapshot of the authenticated user is loaded once per session")
+    @Test
+    void retrieveAuthenticatedUserSnapshot() {
+        given(userRepository.findByUserName(USER_NAME))
+                .willReturn(User.builder().id(1).username(USER_NAME).firstName(FIRST_NAME).build());
+        given(userImageRepository.findContentHashByUserId(1)).willReturn("hash");
+
+        startRequest();
+        AuthenticatedUserSnapshot snapshot = userService.retrieveAuthenticatedUserSnapshot();
+        userService.retrieveAuthenticatedUserSnapshot();
+
+        startRequest();
+        userService.retrieveAuthenticatedUserSnapshot();
+
+        assertAll(
+                () -> assertThat(snapshot.getFirstName()).isEqualTo(FIRST_NAME),
+                () -> assertThat(snapshot.getRoles()).containsExactly("ROLE_" + ROLE),
+                () -> assertThat(snapshot.getImageHash()).isEqualTo("hash")
+        );
+        then(userRepository).should(times(1)).findByUserName(USER_NAME);
+        then(userImageRepository).should(times(1)).findContentHashByUserId(1);
+    }
+
+    @DisplayName("Saving a user reloads its snapshot")
+    @Test
+    void saveUserInvalidatesSnapshot() {
+        given(userRepository.findByUserName(USER_NAME))
+                .willReturn(User.builder().id(1).username(USER_NAME).firstName(FIRST_NAME).build())
+                .willReturn(User.builder().id(1).username(USER_NAME).firstName("Raymond").snapshotVersion(1).build());
+        given(userRepository.findSnapshotVersionByUsername(USER_NAME)).willReturn(1L);
+
+        startRequest();
+        userService.retrieveAuthenticatedUserSnapshot();
+        userService.saveUser(User.builder().id(1).username(USER_NAME).firstName("Raymond").build());
+
+        startRequest();
+        AuthenticatedUserSnapshot snapshot = userService.retrieveAuthenticatedUserSnapshot();
+
+        assertThat(snapshot.getFirstName()).isEqualTo("Raymond");
+        then(userRepository).should(times(2)).findByUserName(USER_NAME);
+        then(userRepository).should().incrementSnapshotVersion(USER_NAME);
+    }
+
+    @DisplayName("A user saved on another instance sharing the session reloads its snapshot")
+    @Test
+    void snapshotVersionReadFromDatabase() {
+        given(userRepository.findByUserName(USER_NAME))
+                .willReturn(User.builder().id(1).username(USER_NAME).firstName(FIRST_NAME).build())
+                .willReturn(User.builder().id(1).username(USER_NAME).firstName("Raymond").snapshotVersion(1).build());
+        given(userRepository.findSnapshotVersionByUsername(USER_NAME)).willReturn(0L, 1L, 1L);
+
+        startRequest();
+        userService.retrieveAuthenticatedUserSnapshot();
+
+        startRequest();
+        assertThat(userService.retrieveAuthenticatedUserSnapshot().getFirstName()).isEqualTo(FIRST_NAME);
+
+        // Saved elsewhere: only the version in the DB has moved on
+        startRequest();
+        assertThat(userService.retrieveAuthenticatedUserSnapshot().getFirstName()).isEqualTo("Raymond");
+
+        startRequest();
+        assertThat(userService.retrieveAuthenticatedUserSnapshot().getVersion()).isEqualTo(1);
+        then(userRepository).should(times(2)).findByUserName(USER_NAME);
+    }
+
+    // Helper method: Start a new HTTP Request of the same HTTP Session for the authenticated user
+    private void startRequest() {
+        RequestContextHolder.setRequestAttributes(new MapRequestAttributes(new HashMap<>(), session));
+        SecurityContextHolder.getContext()
+                .setAuthentication(new TestingAuthenticationToken(USER_NAME, PASSWORD, "ROLE_" + ROLE));
+    }
+
+    // crm-data has no Servlet API, so keep the HTTP Request and HTTP Session attributes in plain maps
+    private static class MapRequestAttributes implements RequestAttributes {
+        private final Map<String, Object> request;
+        private final Map<String, Object> session;
+
+        private MapRequestAttributes(Map<String, Object> request, Map<String, Object> session) {
+            this.request = request;
+            this.session = session;
+        }
+
+        private Map<String, Object> scope(int scope) {
+            return scope == SCOPE_REQUEST ? request : session;
+        }
+
+        @Override
+        public Object getAttribute(String name, int scope) {
+            return scope(scope).get(name);
+        }
+
+        @Override
+        public void setAttribute(String name, Object value, int scope) {
+            scope(scope).put(name, value);
+        }
+
+        @Override
+        public void removeAttribute(String name, int scope) {
+            scope(scope).remove(name);
+        }
+
+        @Override
+        public String[] getAttributeNames(int scope) {
+            return scope(scope).keySet().toArray(new String[0]);
+        }
+
+        @Override
+        public void registerDestructionCallback(String name, Runnable callback, int scope) {
+        }
+
+        @Override
+        public Object resolveReference(String key) {
+            return null;
+        }
+
+        @Override
+        public String getSessionId() {
+            return "session";
+        }
+
+        @Override
+        public Object getSessionMutex() {
+            return session;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.crm.customertracker.session;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.serializer.support.SerializationFailedException;
+import org.springframework.session.MapSession;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InMemorySessionStoreTest {
+    static final Duration TIMEOUT = Duration.ofMinutes(30);
+
+    InMemorySessionStore sessionStore =
+            new InMemorySessionStore(new JdkSessionSerializer(getClass().getClassLoader()), TIMEOUT);
+
+    @DisplayName("Only make changes visible once the Session is saved")
+    @Test
+    void saveAndFind() {
+        MapSession session = sessionStore.createSession();
+        session.setAttribute("firstName", "Ray");
+        sessionStore.save(session);
+
+        session.setAttribute("firstName", "Raymond");
+
+        assertThat(sessionStore.findById(session.getId()).<String>getAttribute("firstName")).isEqualTo("Ray");
+        assertThat(sessionStore.getSessionCount()).isEqualTo(1);
+    }
+
+    @DisplayName("Drop the Session under its old ID when the ID changed")
+    @Test
+    void changeSessionId() {
+        MapSession session = sessionStore.createSession();
+        sessionStore.save(session);
+
+        MapSession found = sessionStore.findById(session.getId());
+        found.changeSessionId();
+        sessionStore.save(found);
+
+        assertThat(sessionStore.findById(session.getId())).isNull();
+        assertThat(sessionStore.findById(found.getId())).isNotNull();
+    }
+
+    @DisplayName("Never return an expired Session and sweep expired Sessions")
+    @Test
+    void expiry() {
+        MapSession expired = sessionStore.createSession();
+        expired.setLastAccessedTime(Instant.now().minus(TIMEOUT).minusSeconds(1));
+        sessionStore.save(expired);
+        sessionStore.save(sessionStore.createSession());
+
+        assertThat(sessionStore.cleanUpExpiredSessions()).isEqualTo(1);
+        assertThat(sessionStore.findById(expired.getId())).isNull();
+        assertThat(sessionStore.getSessionCount()).isEqualTo(1);
+    }
+
+    @DisplayName("Fail to save a Session with an attribute that can't be serialized")
+    @Test
+    void rejectNotSerializableAttribute() {
+        MapSession session = sessionStore.createSession();
+        session.setAttribute("entity", new Object());
+
+        assertThrows(SerializationFailedException.class, () -> sessionStore.save(session));
+    }
+}
@@ -0,0 +1,191 @@
+package com.crm.customertracker.session;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.session.MapSession;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MappedFileSessionStoreTest {
+    static final Duration TIMEOUT = Duration.ofMinutes(30);
+
+    @TempDir
+    Path directory;
+
+    SessionSerializer serializer = new JdkSessionSerializer(getClass().getClassLoader());
+
+    MappedFileSessionStore sessionStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        sessionStore = open(16, 1024);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        sessionStore.close();
+    }
+
+    @DisplayName("Save a Session and find it with its attributes")
+    @Test
+    void saveAndFind() {
+        MapSession session = sessionStore.createSession();
+        session.setAttribute("firstName", "Ray");
+        sessionStore.save(session);
+
+        MapSession found = sessionStore.findById(session.getId());
+
+        assertThat(found.<String>getAttribute("firstName")).isEqualTo("Ray");
+        assertThat(found.getMaxInactiveInterval()).isEqualTo(TIMEOUT);
+        assertThat(sessionStore.getSessionCount()).isEqualTo(1);
+        assertThat(sessionStore.getStoredBytes()).isPositive();
+    }
+
+    @DisplayName("Share Sessions between stores mapping the same file and keep them across a restart")
+    @Test
+    void shareAndSurviveRestart() throws IOException {
+        MapSession session = sessionStore.createSession();
+        session.setAttribute("firstName", "Ray");
+        sessionStore.save(session);
+
+        try (MappedFileSessionStore otherInstance = open(16, 1024)) {
+            assertThat(otherInstance.findById(session.getId()).<String>getAttribute("firstName")).isEqualTo("Ray");
+
+            MapSession changed = otherInstance.findById(session.getId());
+            changed.setAttribute("firstName", "Raymond");
+            otherInstance.save(changed);
+        }
+
+        assertThat(sessionStore.findById(session.getId()).<String>getAttribute("firstName")).isEqualTo("Raymond");
+    }
+
+    @DisplayName("Drop the Session under its old ID when the ID changed")
+    @Test
+    void changeSessionId() {
+        MapSession session = sessionStore.createSession();
+        sessionStore.save(session);
+
+        MapSession found = sessionStore.findById(session.getId());
+        String originalId = found.getId();
+        found.changeSessionId();
+        sessionStore.save(found);
+
+        assertThat(sessionStore.findById(originalId)).isNull();
+        assertThat(sessionStore.findById(found.getId())).isNotNull();
+        assertThat(sessionStore.getSessionCount()).isEqualTo(1);
+    }
+
+    @DisplayName("Never return an expired Session and sweep expired Sessions")
+    @Test
+    void expiry() {
+        MapSession expired = sessionStore.createSession();
+        expired.setLastAccessedTime(Instant.now().minus(TIMEOUT).minusSeconds(1));
+        sessionStore.save(expired);
+
+        MapSession live = sessionStore.createSession();
+        sessionStore.save(live);
+
+        MapSession stale = sessionStore.createSession();
+        stale.setLastAccessedTime(Instant.now().minus(TIMEOUT).minusSeconds(1));
+        sessionStore.save(stale);
+
+        assertThat(sessionStore.findById(expired.getId())).isNull();
+        assertThat(sessionStore.cleanUpExpiredSessions()).isEqualTo(1);
+        assertThat(sessionStore.getSessionCount()).isEqualTo(1);
+        assertThat(sessionStore.findById(live.getId())).isNotNull();
+    }
+
+    @DisplayName("Reuse deleted slots, so a full store accepts new Sessions again")
+    @Test
+    void reuseSlots() {
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 16; i++) {
+                MapSession session = sessionStore.createSession();
+                sessionStore.save(session);
+                sessionStore.deleteById(session.getId());
+            }
+            sessionStore.cleanUpExpiredSessions();
+        }
+
+        for (int i = 0; i < 16; i++) {
+            sessionStore.save(sessionStore.createSession());
+        }
+
+        assertThat(sessionStore.getSessionCount()).isEqualTo(16);
+        assertThrows(IllegalStateException.class, () -> sessionStore.save(sessionStore.createSession()));
+    }
+
+    @DisplayName("Reject a Session larger than a slot")
+    @Test
+    void rejectLargeSession() {
+        MapSession session = sessionStore.createSession();
+        session.setAttribute("image", new byte[2048]);
+
+        assertThrows(IllegalStateException.class, () -> sessionStore.save(session));
+    }
+
+    @DisplayName("Refuse a file created with a different layout")
+    @Test
+    void rejectDifferentLayout() {
+        assertThrows(IllegalStateException.class, () -> open(32, 1024));
+    }
+
+    @DisplayName("Refuse a file other users can read or write")
+    @Test
+    void rejectSharedFile() throws IOException {
+        Path file = directory.resolve("shared.mmap");
+        Files.createFile(file);
+        Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-rw-rw-"));
+
+        assertThrows(IllegalStateException.class,
+                () -> new MappedFileSessionStore(file, 16, 1024, serializer, TIMEOUT));
+    }
+
+    @DisplayName("Refuse a link to a file instead of the file itself")
+    @Test
+    void rejectLink() throws IOException {
+        Path link = Files.createSymbolicLink(directory.resolve("link.mmap"), directory.resolve("sessions.mmap"));
+
+        assertThrows(IOException.class, () -> new MappedFileSessionStore(link, 16, 1024, serializer, TIMEOUT));
+    }
+
+    @DisplayName("Refuse a directory other users can write to, such as the shared temporary directory")
+    @Test
+    void rejectSharedDirectory() throws IOException {
+        Path shared = Files.createDirectory(directory.resolve("shared"));
+        Files.setPosixFilePermissions(shared, PosixFilePermissions.fromString("rwxrwxrwx"));
+
+        assertThrows(IllegalStateException.class,
+                () -> new MappedFileSessionStore(shared.resolve("sessions.mmap"), 16, 1024, serializer, TIMEOUT));
+    }
+
+    @DisplayName("Store compressed Sessions")
+    @Test
+    void deflate() throws IOException {
+        serializer = new DeflateSessionSerializer(serializer);
+
+        try (MappedFileSessionStore compressed = new MappedFileSessionStore(directory.resolve("compressed.mmap"), 16,
+                1024, serializer, TIMEOUT)) {
+            MapSession session = compressed.createSession();
+            session.setAttribute("image", new byte[2048]);
+            compressed.save(session);
+
+            assertThat(compressed.findById(session.getId()).<byte[]>getAttribute("image")).hasSize(2048);
+        }
+    }
+
+    private MappedFileSessionStore open(int slots, int slotSize) throws IOException {
+        return new MappedFileSessionStore(directory.resolve("sessions.mmap"), slots, slotSize, serializer, TIMEOUT);
+    }
+}
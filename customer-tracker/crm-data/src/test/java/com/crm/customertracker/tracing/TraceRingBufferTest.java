@@ -0,0 +1,63 @@
+package com.crm.customertracker.tracing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TraceRingBufferTest {
+    @DisplayName("Events are drained in the order they were offered")
+    @Test
+    void offerAndDrain() {
+        TraceRingBuffer buffer = new TraceRingBuffer(8);
+        List<String> drained = new ArrayList<>();
+
+        buffer.offer(event("first"));
+        buffer.offer(event("second"));
+
+        assertThat(buffer.drain(event -> drained.add(event.getMethod()))).isEqualTo(2);
+        assertThat(drained).containsExactly("first", "second");
+        assertThat(buffer.drain(event -> drained.add(event.getMethod()))).isZero();
+    }
+
+    @DisplayName("Events offered to a full buffer are dropped and counted")
+    @Test
+    void dropWhenFull() {
+        TraceRingBuffer buffer = new TraceRingBuffer(4);
+
+        IntStream.range(0, 6).forEach(index -> buffer.offer(event("method" + index)));
+
+        assertThat(buffer.capacity()).isEqualTo(4);
+        assertThat(buffer.getDropped()).isEqualTo(2);
+        assertThat(buffer.drain(event -> { })).isEqualTo(4);
+        assertThat(buffer.offer(event("afterDrain"))).isTrue();
+    }
+
+    @DisplayName("Every event offered by concurrent producers is either drained or dropped")
+    @Test
+    void concurrentProducers() {
+        TraceRingBuffer buffer = new TraceRingBuffer(1024);
+        List<TraceEvent> drained = new ArrayList<>();
+
+        CompletableFuture<?>[] producers = IntStream.range(0, 4)
+                .mapToObj(producer -> CompletableFuture.runAsync(
+                        () -> IntStream.range(0, 10_000).forEach(index -> buffer.offer(event("method")))))
+                .toArray(CompletableFuture[]::new);
+
+        while (!CompletableFuture.allOf(producers).isDone()) {
+            buffer.drain(drained::add);
+        }
+        buffer.drain(drained::add);
+
+        assertThat(drained.size() + buffer.getDropped()).isEqualTo(40_000);
+    }
+
+    private TraceEvent event(String method) {
+        return new TraceEvent(method, 0, 0, 0, "main", null, null);
+    }
+}
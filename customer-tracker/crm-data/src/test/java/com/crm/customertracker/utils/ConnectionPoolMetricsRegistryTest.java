@@ -0,0 +1,57 @@
+package com.crm.customertracker.utils;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectionPoolMetricsRegistryTest {
+    ConnectionPoolMetricsRegistry connectionPoolMetricsRegistry = new ConnectionPoolMetricsRegistry(100);
+
+    @DisplayName("Record acquisitions, slow acquisitions and timeouts per pool")
+    @Test
+    void recordPoolMetrics() {
+        IMetricsTracker tracker = connectionPoolMetricsRegistry.create("customer", poolStats(3, 1, 2));
+
+        tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(250));
+        tracker.recordConnectionTimeout();
+        tracker.recordConnectionUsageMillis(20);
+
+        ConnectionPoolMetrics metrics = connectionPoolMetricsRegistry.poolMetrics().get("customer");
+
+        assertThat(metrics.getAcquisition().getCount()).isEqualTo(2);
+        assertThat(metrics.getSlowAcquisitions()).isEqualTo(1);
+        assertThat(metrics.getTimeouts()).isEqualTo(1);
+        assertThat(metrics.getUsage().getMax()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+        assertThat(metrics.getActiveConnections()).isEqualTo(3);
+        assertThat(metrics.getIdleConnections()).isEqualTo(1);
+        assertThat(metrics.getPendingThreads()).isEqualTo(2);
+    }
+
+    @DisplayName("List the pools sorted by name")
+    @Test
+    void poolMetricsSortedByName() {
+        connectionPoolMetricsRegistry.create("security", poolStats(0, 0, 0));
+        connectionPoolMetricsRegistry.create("customer", poolStats(0, 0, 0));
+
+        assertThat(connectionPoolMetricsRegistry.poolMetrics()).containsOnlyKeys("customer", "security");
+        assertThat(connectionPoolMetricsRegistry.poolMetrics().keySet()).containsExactly("customer", "security");
+    }
+
+    private static PoolStats poolStats(int active, int idle, int pending) {
+        return new PoolStats(0) {
+            @Override
+            protected void update() {
+                activeConnections = active;
+                idleConnections = idle;
+                pendingThreads = pending;
+                totalConnections = active + idle;
+            }
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.crm.customertracker.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class LatencyHistogramTest {
+    @DisplayName("Percentiles are reported within the bucket precision")
+    @Test
+    void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (long latency = 1; latency <= 1000; latency++) {
+            histogram.record(latency * 1_000);
+        }
+
+        assertAll(
+                () -> assertThat(histogram.getCount()).isEqualTo(1000),
+                () -> assertThat(histogram.getMax()).isEqualTo(1_000_000),
+                () -> assertThat(histogram.getMean()).isEqualTo(500_500),
+                () -> assertThat(histogram.getPercentile(50)).isCloseTo(500_000, within(500_000 / 8L)),
+                () -> assertThat(histogram.getPercentile(99)).isCloseTo(990_000, within(990_000 / 8L)),
+                () -> assertThat(histogram.getPercentile(100)).isEqualTo(1_000_000)
+        );
+    }
+
+    @DisplayName("Every value falls inside the bucket it is counted in")
+    @Test
+    void bucketBounds() {
+        for (long value : new long[]{0, 7, 8, 15, 16, 17, 1_000, 123_456_789, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.bucketIndex(value);
+
+            assertThat(LatencyHistogram.bucketUpperBound(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(LatencyHistogram.bucketUpperBound(index - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @DisplayName("An empty histogram reports zero")
+    @Test
+    void empty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.getPercentile(99)).isZero();
+        assertThat(histogram.getMean()).isZero();
+    }
+}
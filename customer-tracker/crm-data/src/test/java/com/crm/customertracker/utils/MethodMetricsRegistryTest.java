@@ -0,0 +1,45 @@
+package com.crm.customertracker.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class MethodMetricsRegistryTest {
+    @DisplayName("Concurrent calls are all counted")
+    @Test
+    void concurrentCalls() {
+        MethodMetricsRegistry registry = new MethodMetricsRegistry();
+
+        CompletableFuture.allOf(IntStream.range(0, 8)
+                .mapToObj(thread -> CompletableFuture.runAsync(() -> IntStream.range(0, 10_000)
+                        .forEach(call -> registry.recordMethodCall("CustomerServiceImpl.saveCustomer", 1_000, false))))
+                .toArray(CompletableFuture[]::new)).join();
+
+        assertThat(registry.numberOfMethodCalls("CustomerServiceImpl.saveCustomer")).isEqualTo(80_000);
+        assertThat(registry.methodMetrics().get("CustomerServiceImpl.saveCustomer").getLatency().getCount())
+                .isEqualTo(80_000);
+    }
+
+    @DisplayName("Failures and latencies are recorded per method, sorted by name")
+    @Test
+    void methodMetrics() {
+        MethodMetricsRegistry registry = new MethodMetricsRegistry();
+
+        registry.recordMethodCall("UserServiceImpl.saveUser", 3_000, true);
+        registry.recordMethodCall("CustomerServiceImpl.findCustomerById", 2_000, false);
+
+        MethodMetrics saveUser = registry.methodMetrics().get("UserServiceImpl.saveUser");
+        assertAll(
+                () -> assertThat(registry.methodMetrics().keySet())
+                        .containsExactly("CustomerServiceImpl.findCustomerById", "UserServiceImpl.saveUser"),
+                () -> assertThat(saveUser.getFailures()).isEqualTo(1),
+                () -> assertThat(saveUser.getLatency().getMax()).isEqualTo(3_000),
+                () -> assertThat(registry.numberOfMethodCalls("unknown")).isZero()
+        );
+    }
+}
@@ -0,0 +1,84 @@
+package com.crm.customertracker.validator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Compares the EmailValidator against the former implementation, which compiled its regular expression on every call.
+// Run with: mvn -pl crm-data test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+//           "-Dexec.args=-cp %classpath com.crm.customertracker.validator.EmailValidatorBenchmark"
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailValidatorBenchmark {
+    @Param({"valid", "invalid", "adversarial"})
+    String input;
+
+    String email;
+
+    EmailValidator emailValidator = new EmailValidator();
+    RegexEmailValidator regexEmailValidator = new RegexEmailValidator();
+
+    @Setup
+    public void setUp() {
+        switch (input) {
+            case "valid":
+                email = "tj+crm.hawk@mail.example.com";
+                break;
+            case "invalid":
+                email = "tj.hawk@mail.example.c0m";
+                break;
+            default:
+                // Many labels the regular expression backtracks over before failing at the end
+                // (with a few thousand labels it overflows the stack instead)
+                email = "tj@" + "a.".repeat(200) + "a1";
+        }
+    }
+
+    @Benchmark
+    public boolean scanner() {
+        return emailValidator.isValid(email, null);
+    }
+
+    @Benchmark
+    public boolean regex() {
+        return regexEmailValidator.isValid(email);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EmailValidatorBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    // The former EmailValidator
+    static class RegexEmailValidator {
+        private static final String EMAIL_PATTERN = "^[_A-Za-z0-9-\\+]+(\\.[_A-Za-z0-9-]+)*@"
+                + "[A-Za-z0-9-]+(\\.[A-Za-z0-9]+)*(\\.[A-Za-z]{2,})$";
+
+        private Pattern pattern;
+        private Matcher matcher;
+
+        boolean isValid(String email) {
+            pattern = Pattern.compile(EMAIL_PATTERN);
+            matcher = pattern.matcher(email);
+            return matcher.matches();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.crm.customertracker.validator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailValidatorTest {
+    // The regular expression the validator used to compile on every call
+    static final Pattern EMAIL_PATTERN = Pattern.compile("^[_A-Za-z0-9-\\+]+(\\.[_A-Za-z0-9-]+)*@"
+            + "[A-Za-z0-9-]+(\\.[A-Za-z0-9]+)*(\\.[A-Za-z]{2,})$");
+
+    EmailValidator emailValidator = new EmailValidator();
+
+    @DisplayName("Accept well formed emails")
+    @ParameterizedTest
+    @ValueSource(strings = {"tj@gmail.com", "tj+crm.h@mail.example.co", "t_j-h@my-host.io", "a@b1.b2.cc"})
+    void validEmails(String email) {
+        assertThat(emailValidator.isValid(email, null)).isTrue();
+    }
+
+    @DisplayName("Reject malformed emails")
+    @ParameterizedTest
+    @ValueSource(strings = {"", "tj", "tj@", "@gmail.com", "tj@gmail", "tj@gmail.c", "tj@gmail.c0m", "t..j@gmail.com",
+            "tj.@gmail.com", "t.j+@gmail.com", "tj@gmail..com", "tj@gm-ail.co-m", "tj@gmail.com.", "tj@@gmail.com"})
+    void invalidEmails(String email) {
+        assertThat(emailValidator.isValid(email, null)).isFalse();
+    }
+
+    @DisplayName("Reject a null email")
+    @Test
+    void nullEmail() {
+        assertThat(emailValidator.isValid(null, null)).isFalse();
+    }
+
+    @DisplayName("Reject a long adversarial email without backtracking")
+    @Test
+    void adversarialEmail() {
+        assertThat(emailValidator.isValid("tj@" + "a.".repeat(100_000) + "a1", null)).isFalse();
+    }
+
+    @DisplayName("Accept exactly the emails the former regular expression accepted")
+    @Test
+    void matchesFormerRegularExpression() {
+        Random random = new Random(42);
+        String alphabet = "aZ09_-+.@";
+
+        for (int run = 0; run < 200_000; run++) {
+            StringBuilder email = new StringBuilder();
+            int length = random.nextInt(12);
+
+            for (int index = 0; index < length; index++) {
+                email.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+
+            assertThat(EmailValidator.isValidEmail(email))
+                    .as(email.toString())
+                    .isEqualTo(EMAIL_PATTERN.matcher(email).matches());
+        }
+    }
+}
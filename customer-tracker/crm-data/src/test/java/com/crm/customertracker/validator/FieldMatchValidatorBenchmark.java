@@ -0,0 +1,52 @@
+package com.crm.customertracker.validator;
+
+import com.crm.customertracker.entity.security.RegisterUser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.util.concurrent.TimeUnit;
+
+// Compares reading the two compared properties through the cached getters against a BeanWrapper per read,
+// as the FieldMatchValidator used to.
+// Run with: mvn -pl crm-data test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+//           "-Dexec.args=-cp %classpath com.crm.customertracker.validator.FieldMatchValidatorBenchmark"
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldMatchValidatorBenchmark {
+    RegisterUser registerUser = RegisterUser.builder().password("secret").matchingPassword("secret").build();
+
+    @Benchmark
+    public boolean methodHandles() throws Exception {
+        Object first = FieldMatchValidator.getPropertyValue(registerUser, "password");
+        Object second = FieldMatchValidator.getPropertyValue(registerUser, "matchingPassword");
+
+        return first != null && first.equals(second);
+    }
+
+    @Benchmark
+    public boolean beanWrapper() {
+        Object first = new BeanWrapperImpl(registerUser).getPropertyValue("password");
+        Object second = new BeanWrapperImpl(registerUser).getPropertyValue("matchingPassword");
+
+        return first != null && first.equals(second);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FieldMatchValidatorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,54 @@
+package com.crm.customertracker.validator;
+
+import com.crm.customertracker.entity.security.RegisterUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FieldMatchValidatorTest {
+    Validator validator;
+    RegisterUser registerUser;
+
+    @BeforeEach
+    void setUp() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+        registerUser = RegisterUser.builder().userName("tj").password("secret").matchingPassword("secret")
+                .firstName("TJ").lastName("Hawk").email("tj@gmail.com").build();
+    }
+
+    @DisplayName("Matching passwords are valid")
+    @Test
+    void matchingFields() {
+        assertThat(validator.validate(registerUser)).isEmpty();
+    }
+
+    @DisplayName("Mismatched passwords are reported on the first field")
+    @Test
+    void mismatchedFields() {
+        registerUser.setMatchingPassword("other");
+
+        Set<ConstraintViolation<RegisterUser>> violations = validator.validate(registerUser);
+
+        assertThat(violations).hasSize(1);
+        ConstraintViolation<RegisterUser> violation = violations.iterator().next();
+        assertThat(violation.getPropertyPath().toString()).isEqualTo("password");
+        assertThat(violation.getMessage()).isEqualTo("The password field must match");
+    }
+
+    @DisplayName("Read properties the same way as a BeanWrapper")
+    @Test
+    void getPropertyValue() throws Exception {
+        assertThat(FieldMatchValidator.getPropertyValue(registerUser, "password")).isEqualTo("secret");
+        assertThat(FieldMatchValidator.getPropertyValue(registerUser, "formRole")).isNull();
+        assertThrows(Exception.class, () -> FieldMatchValidator.getPropertyValue(registerUser, "unknown"));
+    }
+}
@@ -2,8 +2,10 @@ package com.crm.customertracker;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class CustomerTrackerApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(CustomerTrackerApplication.class, args);
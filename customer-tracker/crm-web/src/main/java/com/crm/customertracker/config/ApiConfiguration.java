@@ -0,0 +1,20 @@
+package com.crm.customertracker.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+@Configuration
+public class ApiConfiguration {
+	// Give every API response an ETag computed from its body, and answer a request whose If-None-Match still
+	// matches with 304 Not Modified, so polling clients don't download an unchanged page again
+	@Bean
+	public FilterRegistrationBean<ShallowEtagHeaderFilter> apiEtagFilter() {
+		FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+		registration.addUrlPatterns("/api/*");
+		registration.setName("apiEtagFilter");
+
+		return registration;
+	}
+}
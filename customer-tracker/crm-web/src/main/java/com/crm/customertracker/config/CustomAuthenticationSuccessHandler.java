@@ -1,6 +1,6 @@
 package com.crm.customertracker.config;
 
-import com.crm.customertracker.entity.security.User;
+import com.crm.customertracker.entity.security.AuthenticatedUserSnapshot;
 import com.crm.customertracker.service.UserService;
 import org.jboss.logging.Logger;
 import org.springframework.security.core.Authentication;
@@ -30,12 +30,12 @@ public class CustomAuthenticationSuccessHandler implements AuthenticationSuccess
 		String username = authentication.getName();
 		logger.info("Username: " + username);
 
-		// Find a User by its username
-		User user = userService.findByUserName(username);
-
-		// Place a User found in DB into an HTTP Session
+		// Place a snapshot of the User's identity into the HTTP Session, so pages can be rendered without querying the DB.
+		// The snapshot is the only User data kept in the HTTP Session: a few hundred bytes when serialized, where the
+		// User entity would drag its lazily loaded Roles along and can't be serialized at all
 		HttpSession session = request.getSession();
-		session.setAttribute("user", user);
+		session.setAttribute(AuthenticatedUserSnapshot.ATTRIBUTE_NAME,
+				userService.createAuthenticatedUserSnapshot(authentication));
 
 		// Forward that User to employees mapping when authentication (logging in) was successfully
 		response.sendRedirect(request.getContextPath() + "/employees/page");
@@ -2,21 +2,33 @@ package com.crm.customertracker.config;
 
 import com.crm.customertracker.entity.customer.Customer;
 import com.crm.customertracker.entity.customer.License;
+import com.crm.customertracker.utils.ConnectionPoolMetricsRegistry;
+import com.crm.customertracker.datasource.ReplicaProperties;
+import com.crm.customertracker.datasource.ReplicaRoutingDataSource;
 import com.zaxxer.hikari.HikariDataSource;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Configuration
 @EnableTransactionManagement
@@ -32,19 +44,58 @@ public class CustomerDataSourceConfiguration {
 	}
 	
 	@Bean
-	@Primary
 	@ConfigurationProperties("app.datasource.customer.configuration")
-	public DataSource customerDataSource() {
-		return customerDataSourceProperites().initializeDataSourceBuilder()
+	public HikariDataSource customerPrimaryDataSource(ConnectionPoolMetricsRegistry connectionPoolMetricsRegistry) {
+		HikariDataSource dataSource = customerDataSourceProperites().initializeDataSourceBuilder()
 				.type(HikariDataSource.class).build();
+
+		// Record the pool's connection counts and acquisition latencies for the admin metrics page
+		dataSource.setMetricsTrackerFactory(connectionPoolMetricsRegistry);
+
+		return dataSource;
+	}
+
+	@Bean
+	@ConfigurationProperties("app.datasource.customer.replica")
+	public ReplicaProperties customerReplicaProperties() {
+		return new ReplicaProperties();
+	}
+
+	// Closed with the context, which also closes the replicas' pools
+	@Bean
+	public ReplicaRoutingDataSource customerRoutingDataSource(
+			@Qualifier("customerPrimaryDataSource") DataSource customerPrimaryDataSource,
+			ConnectionPoolMetricsRegistry connectionPoolMetricsRegistry, Environment environment) {
+		ReplicaProperties replicaProperties = customerReplicaProperties();
+		List<HikariDataSource> replicas = new ArrayList<>();
+
+		for (int index = 0; index < replicaProperties.getUrls().size(); index++) {
+			replicas.add(customerReplicaDataSource(index, replicaProperties, connectionPoolMetricsRegistry, environment));
+		}
+
+		return new ReplicaRoutingDataSource(customerPrimaryDataSource, replicas, replicaProperties.getSelection(),
+				replicaProperties.getRetryDelay());
+	}
+
+	// The lazy proxy only obtains a connection on the first statement, by when the transaction's read-only flag
+	// is known and the routing DataSource can pick a replica
+	@Bean
+	@Primary
+	public DataSource customerDataSource(
+			@Qualifier("customerRoutingDataSource") ReplicaRoutingDataSource customerRoutingDataSource) {
+		return new LazyConnectionDataSourceProxy(customerRoutingDataSource);
 	}
 	
 	@Primary
 	@Bean(name = "customerEntityManagerFactory")
-	public LocalContainerEntityManagerFactoryBean customerEntityManagerFactory(EntityManagerFactoryBuilder builder) {
+	public LocalContainerEntityManagerFactoryBean customerEntityManagerFactory(EntityManagerFactoryBuilder builder,
+			@Qualifier("customerDataSource") DataSource customerDataSource) {
 		return builder
-				.dataSource(customerDataSource())
+				.dataSource(customerDataSource)
 				.packages(Customer.class, License.class)
+				.persistenceUnit("customer")
+				// Each persistence unit gets its own Second Level Cache regions
+				.properties(Map.of("hibernate.javax.cache.uri", "ehcache-customer.xml"))
 				.build();
 	}
 	
@@ -54,4 +105,27 @@ public class CustomerDataSourceConfiguration {
 			final @Qualifier("customerEntityManagerFactory") LocalContainerEntityManagerFactoryBean customerEntityManagerFactory) {
 		return new JpaTransactionManager(customerEntityManagerFactory.getObject());
 	}
+
+	// Helper method: Build the pool of the replica at the given index, configured like the primary's pool
+	// plus any overrides in app.datasource.customer.replica.configuration
+	private HikariDataSource customerReplicaDataSource(int index, ReplicaProperties replicaProperties,
+			ConnectionPoolMetricsRegistry connectionPoolMetricsRegistry, Environment environment) {
+		DataSourceProperties primaryProperties = customerDataSourceProperites();
+		HikariDataSource dataSource = DataSourceBuilder.create()
+				.type(HikariDataSource.class)
+				.driverClassName(primaryProperties.determineDriverClassName())
+				.url(replicaProperties.getUrls().get(index))
+				.username(Objects.requireNonNullElse(replicaProperties.getUsername(), primaryProperties.determineUsername()))
+				.password(Objects.requireNonNullElse(replicaProperties.getPassword(), primaryProperties.determinePassword()))
+				.build();
+
+		Binder binder = Binder.get(environment);
+		binder.bind("app.datasource.customer.configuration", Bindable.ofInstance(dataSource));
+		binder.bind("app.datasource.customer.replica.configuration", Bindable.ofInstance(dataSource));
+
+		dataSource.setPoolName("customer-replica-" + (index + 1));
+		dataSource.setMetricsTrackerFactory(connectionPoolMetricsRegistry);
+
+		return dataSource;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.crm.customertracker.config;
+
+import com.crm.customertracker.service.PasswordHashingRejectedException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+// Logins hash the password inside the Spring Security filter chain, outside of the DispatcherServlet, so the
+// @ResponseStatus of PasswordHashingRejectedException never applies there. Turn it into a 503 here instead.
+public class PasswordHashingRejectionFilter extends OncePerRequestFilter {
+	// Seconds the client is asked to wait before retrying
+	private static final String RETRY_AFTER = "1";
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		try {
+			filterChain.doFilter(request, response);
+		} catch (ServletException | RuntimeException exception) {
+			if (!isRejectedHashing(exception) || response.isCommitted()) {
+				throw exception;
+			}
+
+			response.setHeader("Retry-After", RETRY_AFTER);
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, exception.getMessage());
+		}
+	}
+
+	// Helper method: The rejection may be wrapped (e.g. in a NestedServletException) on its way up
+	private boolean isRejectedHashing(Throwable exception) {
+		for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+			if (cause instanceof PasswordHashingRejectedException) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
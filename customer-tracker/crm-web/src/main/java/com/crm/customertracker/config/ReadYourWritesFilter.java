@@ -0,0 +1,46 @@
+package com.crm.customertracker.config;
+
+import com.crm.customertracker.datasource.ReadYourWrites;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+
+// Remembers in the HTTP Session when a request wrote, and sends every read of that Session's requests to the
+// primary until the read-your-writes window has passed. After saving a Customer, the list page the user is
+// redirected to therefore shows the save even while the read replicas still lag behind.
+@Component
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+	// Name of the HTTP Session attribute holding the time of the Session's last write
+	static final String LAST_WRITE_ATTRIBUTE = "readYourWrites.lastWrite";
+
+	private final long windowMillis;
+
+	public ReadYourWritesFilter(@Value("${app.datasource.customer.replica.read-your-writes-window:5000}") long windowMillis) {
+		this.windowMillis = windowMillis;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		HttpSession session = request.getSession(false);
+		Object lastWrite = session != null ? session.getAttribute(LAST_WRITE_ATTRIBUTE) : null;
+		boolean recentWrite = lastWrite instanceof Long && System.currentTimeMillis() - (Long) lastWrite < windowMillis;
+
+		ReadYourWrites.beginRequest(recentWrite);
+
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			if (ReadYourWrites.endRequest()) {
+				request.getSession().setAttribute(LAST_WRITE_ATTRIBUTE, System.currentTimeMillis());
+			}
+		}
+	}
+}
@@ -1,14 +1,19 @@
 package com.crm.customertracker.config;
 
+import com.crm.customertracker.service.PasswordHashingService;
 import com.crm.customertracker.service.UserService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
@@ -16,10 +21,15 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
 	// Contains the reference that uses the Security Data Source
 	private final UserService userService;
 	private final CustomAuthenticationSuccessHandler customAuthenticationSuccessHandler;
+	private final UserCache userCache;
+	private final PasswordHashingService passwordHashingService;
 
-	public SecurityConfiguration(UserService userService, CustomAuthenticationSuccessHandler customAuthenticationSuccessHandler) {
+	public SecurityConfiguration(UserService userService, CustomAuthenticationSuccessHandler customAuthenticationSuccessHandler,
+								 UserCache userCache, PasswordHashingService passwordHashingService) {
 		this.userService = userService;
 		this.customAuthenticationSuccessHandler = customAuthenticationSuccessHandler;
+		this.userCache = userCache;
+		this.passwordHashingService = passwordHashingService;
 	}
 
 	@Override
@@ -32,8 +42,10 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
 		http.authorizeRequests()
 			.antMatchers("/").permitAll()
 			.antMatchers("/employees/**").hasRole("EMPLOYEE")
+			.antMatchers("/customers/import/**").hasAnyRole("MANAGER", "ADMIN")
 			.antMatchers("/customers/**").hasRole("EMPLOYEE")
 			.antMatchers("/licenses/**").hasAnyRole("MANAGER", "ADMIN")
+			.antMatchers("/admin/**").hasRole("ADMIN")
 			.and()
 			.formLogin()
 				.loginPage("/login/showLoginPage")
@@ -44,6 +56,40 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
 			.logout().logoutSuccessUrl("/").permitAll()
 			.and()
 			.exceptionHandling().accessDeniedPage("/login/accessDenied");
+
+		// Respond with 503 when a login is turned away because too many passwords are being hashed
+		http.addFilterBefore(new PasswordHashingRejectionFilter(), UsernamePasswordAuthenticationFilter.class);
+	}
+
+	// The JSON API is used by machine clients, so it authenticates with HTTP Basic instead of the login form
+	// and answers 401 instead of redirecting. A client that keeps the JSESSIONID cookie only has its password
+	// hashed once, later requests are authenticated from the HTTP Session.
+	@Configuration
+	@Order(1)
+	public static class ApiSecurityConfiguration extends WebSecurityConfigurerAdapter {
+		private final DaoAuthenticationProvider authenticationProvider;
+
+		public ApiSecurityConfiguration(DaoAuthenticationProvider authenticationProvider) {
+			this.authenticationProvider = authenticationProvider;
+		}
+
+		@Override
+		protected void configure(AuthenticationManagerBuilder auth) {
+			auth.authenticationProvider(authenticationProvider);
+		}
+
+		@Override
+		protected void configure(HttpSecurity http) throws Exception {
+			http.antMatcher("/api/**")
+				.authorizeRequests()
+				.antMatchers(HttpMethod.GET, "/api/v1/customers/**").hasRole("EMPLOYEE")
+				.antMatchers(HttpMethod.GET, "/api/v1/licenses/**").hasAnyRole("MANAGER", "ADMIN")
+				.anyRequest().denyAll()
+				.and()
+				.httpBasic();
+
+			http.addFilterBefore(new PasswordHashingRejectionFilter(), BasicAuthenticationFilter.class);
+		}
 	}
 
 	// A simple authentication provider that uses a Data Access Object (DAO) to  retrieve user information from a relational database.
@@ -52,8 +98,10 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
 	public DaoAuthenticationProvider authenticationProvider() {
 		DaoAuthenticationProvider auth = new DaoAuthenticationProvider();
 		auth.setUserDetailsService(userService);
-		// Use BCryptPasswordEncoder to encode the password when we register a new User
-		auth.setPasswordEncoder(new BCryptPasswordEncoder());
+		// Use the shared BCrypt encoder, which hashes on its own bounded executor instead of the request thread
+		auth.setPasswordEncoder(passwordHashingService);
+		// Cache the loaded UserDetails, so repeated logins don't query the security DB for the User and its Roles
+		auth.setUserCache(userCache);
 		return auth;
 	}
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.crm.customertracker.config;
 
+import java.util.Map;
+
 import javax.sql.DataSource;
 
-import org.apache.commons.dbcp2.BasicDataSource;
+import com.zaxxer.hikari.HikariDataSource;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -10,12 +12,16 @@ import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import com.crm.customertracker.entity.security.Role;
 import com.crm.customertracker.entity.security.User;
+import com.crm.customertracker.entity.security.UserImage;
+import com.crm.customertracker.utils.ConnectionPoolMetricsRegistry;
 
 @Configuration	
 @EnableJpaRepositories(basePackages = "com.crm.customertracker.repository.security",
@@ -30,15 +36,32 @@ public class SecurityDataSourceConfiguration {
 	
 	@Bean
 	@ConfigurationProperties("app.datasource.security.configuration")
-	public DataSource securityDataSource() {
-		return securityDataSourceProperties().initializeDataSourceBuilder()
-				.type(BasicDataSource.class).build();
+	public HikariDataSource securityDataSource(ConnectionPoolMetricsRegistry connectionPoolMetricsRegistry) {
+		HikariDataSource dataSource = securityDataSourceProperties().initializeDataSourceBuilder()
+				.type(HikariDataSource.class).build();
+
+		// Record the pool's connection counts and acquisition latencies for the admin metrics page
+		dataSource.setMetricsTrackerFactory(connectionPoolMetricsRegistry);
+
+		return dataSource;
+	}
+	
+	// Plain JDBC access to the Security Data Source, used to stream profile images without loading them into entities
+	@Bean
+	public JdbcTemplate securityJdbcTemplate(@Qualifier("securityDataSource") DataSource securityDataSource) {
+		return new JdbcTemplate(securityDataSource);
 	}
 	
 	@Bean(name = "securityEntityManagerFactory")
-	public LocalContainerEntityManagerFactoryBean securityEntityManagerFactory(EntityManagerFactoryBuilder builder) {
-		return builder.dataSource(securityDataSource())
-				.packages(User.class, Role.class)
+	public LocalContainerEntityManagerFactoryBean securityEntityManagerFactory(EntityManagerFactoryBuilder builder,
+			@Qualifier("securityDataSource") DataSource securityDataSource) {
+		// The lazy proxy only obtains a connection on the first statement, so a read-only transaction that is
+		// answered from a cache never takes a connection from the pool
+		return builder.dataSource(new LazyConnectionDataSourceProxy(securityDataSource))
+				.packages(User.class, Role.class, UserImage.class)
+				.persistenceUnit("security")
+				// Each persistence unit gets its own Second Level Cache regions
+				.properties(Map.of("hibernate.javax.cache.uri", "ehcache-security.xml"))
 				.build();
 	}
 	
@@ -0,0 +1,126 @@
+package com.crm.customertracker.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpSessionAttributeListener;
+import javax.servlet.http.HttpSessionBindingEvent;
+import javax.servlet.http.HttpSessionEvent;
+import javax.servlet.http.HttpSessionListener;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Serialized size of every live HTTP Session, tracked per attribute as attributes are set and removed,
+// so the admin metrics page shows what a Session costs to keep in memory or to replicate
+@Slf4j
+@Component
+public class SessionSizeMetrics implements HttpSessionListener, HttpSessionAttributeListener {
+	// Size recorded for an attribute that can't be serialized
+	static final int NOT_SERIALIZABLE = -1;
+
+	// Session ID -> attribute name -> serialized size in bytes
+	private final Map<String, Map<String, Integer>> sessions = new ConcurrentHashMap<>();
+
+	@Override
+	public void sessionCreated(HttpSessionEvent event) {
+		sessions.putIfAbsent(event.getSession().getId(), new ConcurrentHashMap<>());
+	}
+
+	@Override
+	public void sessionDestroyed(HttpSessionEvent event) {
+		sessions.remove(event.getSession().getId());
+	}
+
+	@Override
+	public void attributeAdded(HttpSessionBindingEvent event) {
+		record(event);
+	}
+
+	@Override
+	public void attributeReplaced(HttpSessionBindingEvent event) {
+		record(event);
+	}
+
+	@Override
+	public void attributeRemoved(HttpSessionBindingEvent event) {
+		Map<String, Integer> attributes = sessions.get(event.getSession().getId());
+
+		if (attributes != null) {
+			attributes.remove(event.getName());
+		}
+	}
+
+	public int getSessions() {
+		return sessions.size();
+	}
+
+	public long getTotalBytes() {
+		return sessions.values().stream().mapToLong(SessionSizeMetrics::sessionBytes).sum();
+	}
+
+	public long getMeanBytes() {
+		int count = sessions.size();
+		return count == 0 ? 0 : getTotalBytes() / count;
+	}
+
+	public long getMaxBytes() {
+		return sessions.values().stream().mapToLong(SessionSizeMetrics::sessionBytes).max().orElse(0);
+	}
+
+	// Number of attributes across all Sessions that would break Session serialization
+	public long getNotSerializableAttributes() {
+		return sessions.values().stream()
+				.flatMap(attributes -> attributes.values().stream())
+				.filter(size -> size == NOT_SERIALIZABLE)
+				.count();
+	}
+
+	// Helper method: Record the serialized size of the attribute that was set
+	private void record(HttpSessionBindingEvent event) {
+		// For an attribute replacement the event holds the old value, so read the new one from the Session
+		Object value = event.getSession().getAttribute(event.getName());
+		int size = serializedSize(value);
+
+		if (size == NOT_SERIALIZABLE) {
+			log.warn("HTTP Session attribute " + event.getName() + " of type " + value.getClass().getName()
+					+ " is not serializable");
+		}
+
+		sessions.computeIfAbsent(event.getSession().getId(), id -> new ConcurrentHashMap<>())
+				.put(event.getName(), size);
+	}
+
+	private static long sessionBytes(Map<String, Integer> attributes) {
+		return attributes.values().stream().mapToLong(size -> Math.max(size, 0)).sum();
+	}
+
+	// Number of bytes Java serialization writes for the value, or NOT_SERIALIZABLE
+	static int serializedSize(Object value) {
+		CountingOutputStream counter = new CountingOutputStream();
+
+		try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(counter)) {
+			objectOutputStream.writeObject(value);
+		} catch (IOException e) {
+			return NOT_SERIALIZABLE;
+		}
+
+		return counter.count;
+	}
+
+	private static class CountingOutputStream extends OutputStream {
+		private int count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
+	}
+}
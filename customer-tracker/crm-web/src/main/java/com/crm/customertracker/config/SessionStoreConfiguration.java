@@ -0,0 +1,75 @@
+package com.crm.customertracker.config;
+
+import com.crm.customertracker.session.DeflateSessionSerializer;
+import com.crm.customertracker.session.InMemorySessionStore;
+import com.crm.customertracker.session.JdkSessionSerializer;
+import com.crm.customertracker.session.MappedFileSessionStore;
+import com.crm.customertracker.session.SessionSerializer;
+import com.crm.customertracker.session.SessionStore;
+import com.crm.customertracker.session.SessionStoreProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// Replaces the servlet container's HTTP Sessions with Spring Session backed by a SessionStore, unless
+// app.session.store is tomcat. With the mapped-file store, instances behind a load balancer on the same host
+// share their Sessions without sticky sessions, and Sessions survive a restart.
+@Slf4j
+@Configuration
+@EnableSpringHttpSession
+@ConditionalOnExpression("!'${app.session.store:tomcat}'.equalsIgnoreCase('tomcat')")
+public class SessionStoreConfiguration {
+	private final ObjectProvider<SessionStore> sessionStore;
+
+	public SessionStoreConfiguration(ObjectProvider<SessionStore> sessionStore) {
+		this.sessionStore = sessionStore;
+	}
+
+	@Bean
+	@ConfigurationProperties("app.session")
+	public SessionStoreProperties sessionStoreProperties() {
+		return new SessionStoreProperties();
+	}
+
+	// Closed with the context, which unmaps the mapped-file store
+	@Bean
+	public SessionStore sessionRepository(
+			@Value("${spring.session.timeout:${server.servlet.session.timeout:30m}}") Duration timeout) throws IOException {
+		SessionStoreProperties properties = sessionStoreProperties();
+		SessionSerializer serializer = new JdkSessionSerializer(getClass().getClassLoader());
+
+		if (properties.getSerialization() == SessionStoreProperties.Serialization.DEFLATE) {
+			serializer = new DeflateSessionSerializer(serializer);
+		}
+
+		if (properties.getStore() == SessionStoreProperties.Store.MAPPED_FILE) {
+			if (properties.getFile() == null) {
+				throw new IllegalStateException("app.session.file must be set for the mapped-file session store");
+			}
+
+			log.info("HTTP Sessions are stored in " + properties.getFile());
+			return new MappedFileSessionStore(properties.getFile(), properties.getSlots(), properties.getSlotSize(),
+					serializer, timeout);
+		}
+
+		return new InMemorySessionStore(serializer, timeout);
+	}
+
+	@Scheduled(fixedDelayString = "${app.session.cleanup-interval:60000}")
+	public void cleanUpExpiredSessions() {
+		int removed = sessionStore.getObject().cleanUpExpiredSessions();
+
+		if (removed > 0) {
+			log.debug("Removed " + removed + " expired HTTP Sessions");
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package com.crm.customertracker.controller;
+
+import com.crm.customertracker.cache.CacheStatistics;
+import com.crm.customertracker.cache.CustomerCache;
+import com.crm.customertracker.cache.RoleRegistry;
+import com.crm.customertracker.cache.SecondLevelCacheStatistics;
+import com.crm.customertracker.cache.TtlUserCache;
+import com.crm.customertracker.config.SessionSizeMetrics;
+import com.crm.customertracker.entity.security.AuthenticatedUserSnapshot;
+import com.crm.customertracker.service.UserService;
+import com.crm.customertracker.session.SessionStore;
+import com.crm.customertracker.utils.ConnectionPoolMetricsRegistry;
+import com.crm.customertracker.utils.MethodCalls;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Controller
+@RequestMapping("/admin")
+public class AdminController {
+	private final UserService userService;
+	private final MethodCalls methodCalls;
+	private final CustomerCache customerCache;
+	private final TtlUserCache userCache;
+	private final SecondLevelCacheStatistics secondLevelCacheStatistics;
+	private final ConnectionPoolMetricsRegistry connectionPoolMetricsRegistry;
+	private final RoleRegistry roleRegistry;
+	private final SessionSizeMetrics sessionSizeMetrics;
+	private final ObjectProvider<SessionStore> sessionStore;
+
+	public AdminController(UserService userService, MethodCalls methodCalls, CustomerCache customerCache,
+						   TtlUserCache userCache, SecondLevelCacheStatistics secondLevelCacheStatistics,
+						   ConnectionPoolMetricsRegistry connectionPoolMetricsRegistry, RoleRegistry roleRegistry,
+						   SessionSizeMetrics sessionSizeMetrics, ObjectProvider<SessionStore> sessionStore) {
+		this.userService = userService;
+		this.methodCalls = methodCalls;
+		this.customerCache = customerCache;
+		this.userCache = userCache;
+		this.secondLevelCacheStatistics = secondLevelCacheStatistics;
+		this.connectionPoolMetricsRegistry = connectionPoolMetricsRegistry;
+		this.roleRegistry = roleRegistry;
+		this.sessionSizeMetrics = sessionSizeMetrics;
+		this.sessionStore = sessionStore;
+	}
+
+	@ModelAttribute("firstName")
+	public String getAuthenticatedUserFirstName() {
+		// Obtain the authenticated User's snapshot from User Service (memoized per HTTP Request and HTTP Session)
+		AuthenticatedUserSnapshot user = userService.retrieveAuthenticatedUserSnapshot();
+
+		// Add Authenticated User's First Name to Model Attribute
+		return user.getFirstName();
+	}
+
+	@GetMapping("/metrics")
+	public String showMetrics(Model model) {
+		// Add the call counts and latency histograms of every service and repository method to Model Attribute
+		model.addAttribute("methodMetrics", methodCalls.methodMetrics());
+
+		// Add the size and hit ratio of every cache to Model Attribute
+		Map<String, CacheStatistics> cacheStatistics = new LinkedHashMap<>();
+		cacheStatistics.put("Customers", customerCache.getCustomers());
+		cacheStatistics.put("Customer Licenses", customerCache.getCustomerLicenses());
+		cacheStatistics.put("User Details", userCache);
+		model.addAttribute("cacheStatistics", cacheStatistics);
+
+		// Add the hit, miss and put counts of every Hibernate Second Level Cache region to Model Attribute
+		model.addAttribute("regionStatistics", secondLevelCacheStatistics.regionStatistics());
+
+		// Add the connection counts and acquisition latencies of every connection pool to Model Attribute
+		model.addAttribute("poolMetrics", connectionPoolMetricsRegistry.poolMetrics());
+
+		// Add the number and serialized size of the live HTTP Sessions to Model Attribute
+		model.addAttribute("sessionMetrics", sessionSizeMetrics);
+		// Add the Session store when Sessions are kept in one instead of the servlet container (null otherwise)
+		model.addAttribute("sessionStore", sessionStore.getIfAvailable());
+
+		// Add the number of Roles in the Role registry to Model Attribute
+		model.addAttribute("roleCount", roleRegistry.size());
+
+		return "admin/metrics";
+	}
+
+	@PostMapping("/roles/refresh")
+	public String refreshRoles() {
+		// Reload every Role into the Role registry, so Roles inserted into the DB can be assigned at registration
+		roleRegistry.refresh();
+
+		return "redirect:/admin/metrics";
+	}
+}
@@ -0,0 +1,101 @@
+package com.crm.customertracker.controller;
+
+import com.crm.customertracker.dto.CustomerDto;
+import com.crm.customertracker.dto.LicenseDto;
+import com.crm.customertracker.pagination.KeysetPage;
+import com.crm.customertracker.service.CustomerService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// JSON API over the Customers for machine clients. Listings seek with keyset cursors and select only
+// the DTO's columns, the ETag filter answers unchanged responses with 304 and Tomcat gzips the rest.
+@RestController
+@RequestMapping("/api/v1/customers")
+public class CustomerApiController {
+	static final int DEFAULT_PAGE_SIZE = 50;
+	static final int MAX_PAGE_SIZE = 500;
+
+	// Every field of a CustomerDto, which are also the fields a listing can be sorted by
+	static final Map<String, Function<CustomerDto, Object>> CUSTOMER_FIELDS = new LinkedHashMap<>();
+	static {
+		CUSTOMER_FIELDS.put("id", CustomerDto::getId);
+		CUSTOMER_FIELDS.put("firstName", CustomerDto::getFirstName);
+		CUSTOMER_FIELDS.put("lastName", CustomerDto::getLastName);
+		CUSTOMER_FIELDS.put("email", CustomerDto::getEmail);
+	}
+
+	private final CustomerService customerService;
+
+	public CustomerApiController(CustomerService customerService) {
+		this.customerService = customerService;
+	}
+
+	@GetMapping
+	public ResponseEntity<KeysetPage<Object>> listCustomers(@RequestParam(value = "cursor", required = false) String cursor,
+															@RequestParam(value = "limit", defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+															@RequestParam(value = "sortField", defaultValue = "id") String sortField,
+															@RequestParam(value = "sortDirection", defaultValue = "asc") String sortDirection,
+															@RequestParam(value = "fields", required = false) String fields) {
+		FieldSelection<CustomerDto> fieldSelection = FieldSelection.of(CUSTOMER_FIELDS, fields);
+		checkSortField(CUSTOMER_FIELDS, sortField);
+
+		// Seek to the page of Customers after (or before) the cursor
+		KeysetPage<CustomerDto> page = customerService.findPaginatedCustomers(cursor, pageSize(limit), sortField, sortDirection);
+
+		return ok(new KeysetPage<>(fieldSelection.apply(page.getContent()), page.getNextCursor(), page.getPreviousCursor()));
+	}
+
+	@GetMapping("/{customerId}")
+	public ResponseEntity<Object> getCustomer(@PathVariable("customerId") int customerId,
+											  @RequestParam(value = "fields", required = false) String fields) {
+		FieldSelection<CustomerDto> fieldSelection = FieldSelection.of(CUSTOMER_FIELDS, fields);
+
+		return ok(fieldSelection.apply(findCustomer(customerId)));
+	}
+
+	@GetMapping("/{customerId}/licenses")
+	public ResponseEntity<List<Object>> listCustomerLicenses(@PathVariable("customerId") int customerId,
+															 @RequestParam(value = "fields", required = false) String fields) {
+		FieldSelection<LicenseDto> fieldSelection = FieldSelection.of(LicenseApiController.LICENSE_FIELDS, fields);
+
+		// Answer 404 for an unknown Customer rather than an empty list
+		findCustomer(customerId);
+
+		return ok(fieldSelection.apply(customerService.findCustomerLicenseDtos(customerId)));
+	}
+
+	// Helper method: Find the Customer (usually from the Customer cache), a missing Customer is Not Found
+	private CustomerDto findCustomer(int customerId) {
+		return customerService.findCustomerDtoById(customerId)
+				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Customer ID not found: " + customerId));
+	}
+
+	// Helper method: Only a field of the resource can be sorted by, anything else is a Bad Request
+	static void checkSortField(Map<String, ?> fields, String sortField) {
+		if (!fields.containsKey(sortField)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown sort field: " + sortField);
+		}
+	}
+
+	// Helper method: Keep the requested page size between 1 and the maximum page size
+	static int pageSize(int limit) {
+		return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+	}
+
+	// Helper method: Let clients cache the response, but revalidate it with its ETag every time
+	static <T> ResponseEntity<T> ok(T body) {
+		return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(body);
+	}
+}
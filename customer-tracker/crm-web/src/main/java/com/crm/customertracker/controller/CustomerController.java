@@ -1,8 +1,11 @@
 package com.crm.customertracker.controller;
 
+import com.crm.customertracker.dto.CustomerDto;
+import com.crm.customertracker.dto.CustomerLicensesDto;
 import com.crm.customertracker.entity.customer.Customer;
-import com.crm.customertracker.entity.customer.License;
-import com.crm.customertracker.entity.security.User;
+import com.crm.customertracker.entity.security.AuthenticatedUserSnapshot;
+import com.crm.customertracker.pagination.KeysetCursor;
+import com.crm.customertracker.pagination.KeysetPage;
 import com.crm.customertracker.service.CustomerService;
 import com.crm.customertracker.service.UserService;
 import org.springframework.data.domain.Page;
@@ -14,6 +17,8 @@ import org.springframework.web.bind.annotation.*;
 import javax.validation.Valid;
 import java.util.List;
 
+import static com.crm.customertracker.controller.CustomerApiController.checkSortField;
+
 @Controller
 @RequestMapping("/customers")
 public class CustomerController {
@@ -27,8 +32,8 @@ public class CustomerController {
 
 	@ModelAttribute("firstName")
 	public String getAuthenticatedUserFirstName() {
-		// Obtain the authenticated User from User Service
-		User user = userService.retrieveAuthenticatedPrincipalByUsername();
+		// Obtain the authenticated User's snapshot from User Service (memoized per HTTP Request and HTTP Session)
+		AuthenticatedUserSnapshot user = userService.retrieveAuthenticatedUserSnapshot();
 
 		// Add Authenticated User's First Name to Model Attribute
 		return user.getFirstName();
@@ -38,7 +43,7 @@ public class CustomerController {
 	public String listCustomers(Model model) {
 		// Call the findPaginated(): Set the starting page number (zero-based), sort field,
 		// sort direction, and model object
-		return findPaginatedCustomers(1, "firstName", "asc", model);
+		return findPaginatedCustomers(1, "firstName", "asc", null, model);
 	}
 
 	@GetMapping("/showFormForAddingCustomer")
@@ -88,16 +93,13 @@ public class CustomerController {
 	@GetMapping("/licenses")
 	public String listCustomerLicenses(@RequestParam("customerId") int customerId, Model model) {
 		// Obtain the Customer along with its License using Customer Service
-		Customer customer = customerService.findCustomerLicenses(customerId);
+		CustomerLicensesDto customerLicenses = customerService.findCustomerLicenses(customerId);
 
 		// Add Customer to Model Attribute
-		model.addAttribute("customer", customer);
-
-		// Retrieve all Licenses from Customer
-		List<License> licenses = customer.getLicenses();
+		model.addAttribute("customer", customerLicenses.getCustomer());
 
-		// Add License to Model Attribute
-		model.addAttribute("licenses", licenses);
+		// Add the Customer's Licenses to Model Attribute
+		model.addAttribute("licenses", customerLicenses.getLicenses());
 
 		return "customers/customer-licenses";
 	}
@@ -117,18 +119,45 @@ public class CustomerController {
 	public String findPaginatedCustomers(@PathVariable(value = "pageNumber") int pageNumber,
 										 @RequestParam("sortField") String sortField,
 										 @RequestParam("sortDirection") String sortDirection,
+										 @RequestParam(value = "cursor", required = false) String cursor,
 										 Model model) {
+		// Only the fields the API can sort by are accepted, anything else is a Bad Request rather than a failed query
+		checkSortField(CustomerApiController.CUSTOMER_FIELDS, sortField);
+
 		// Set Page Size for each Page
 		int pageSize = 5;
 
-		// Get all Customers from Page using CustomerService
-		Page<Customer> page = customerService.findPaginatedCustomers(pageNumber, pageSize, sortField, sortDirection);
-		List<Customer> customers = page.getContent();
+		List<CustomerDto> customers;
+		long totalItems;
+		String nextCursor;
+		String previousCursor;
+
+		if (cursor != null) {
+			// Keyset mode: seek from the cursor instead of skipping (pageNumber - 1) * pageSize rows
+			KeysetPage<CustomerDto> page = customerService.findPaginatedCustomers(cursor, pageSize, sortField, sortDirection);
+			customers = page.getContent();
+			totalItems = customerService.countCustomers();
+			nextCursor = page.getNextCursor();
+			previousCursor = page.getPreviousCursor();
+		} else {
+			// Get the columns of a page of Customers using CustomerService
+			Page<CustomerDto> page = customerService.findPaginatedCustomers(pageNumber, pageSize, sortField, sortDirection);
+			customers = page.getContent();
+			totalItems = page.getTotalElements();
+
+			// Let the Next and Previous links seek from the rows of this page
+			nextCursor = page.hasNext() && !customers.isEmpty()
+					? KeysetCursor.after(customers.get(customers.size() - 1), sortField) : null;
+			previousCursor = page.hasPrevious() && !customers.isEmpty()
+					? KeysetCursor.before(customers.get(0), sortField) : null;
+		}
 
-		// Set Pagination Values to Model Attribute
+		// Set Pagination Values to Model Attribute (totalItems is an approximate count from the count cache)
 		model.addAttribute("currentPage", pageNumber);
-		model.addAttribute("totalPages", page.getTotalPages());
-		model.addAttribute("totalItems", page.getTotalElements());
+		model.addAttribute("totalPages", (int) Math.ceil((double) totalItems / pageSize));
+		model.addAttribute("totalItems", totalItems);
+		model.addAttribute("nextCursor", nextCursor);
+		model.addAttribute("previousCursor", previousCursor);
 
 		// Set Sort Values to Model Attribute
 		model.addAttribute("sortField", sortField);
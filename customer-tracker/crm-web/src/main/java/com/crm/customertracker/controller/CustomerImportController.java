@@ -0,0 +1,119 @@
+package com.crm.customertracker.controller;
+
+import com.crm.customertracker.entity.security.AuthenticatedUserSnapshot;
+import com.crm.customertracker.importing.CustomerImportFormat;
+import com.crm.customertracker.importing.CustomerImportListener;
+import com.crm.customertracker.importing.CustomerImportResult;
+import com.crm.customertracker.importing.RejectedRow;
+import com.crm.customertracker.service.CustomerImportService;
+import com.crm.customertracker.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Controller
+@RequestMapping("/customers/import")
+public class CustomerImportController {
+	private final CustomerImportService customerImportService;
+	private final UserService userService;
+	private final ObjectMapper objectMapper;
+
+	public CustomerImportController(CustomerImportService customerImportService, UserService userService,
+									ObjectMapper objectMapper) {
+		this.customerImportService = customerImportService;
+		this.userService = userService;
+		this.objectMapper = objectMapper;
+	}
+
+	@ModelAttribute("firstName")
+	public String getAuthenticatedUserFirstName() {
+		// Obtain the authenticated User's snapshot from User Service (memoized per HTTP Request and HTTP Session)
+		AuthenticatedUserSnapshot user = userService.retrieveAuthenticatedUserSnapshot();
+
+		// Add Authenticated User's First Name to Model Attribute
+		return user.getFirstName();
+	}
+
+	@GetMapping
+	public String showImportForm() {
+		return "customers/import-form";
+	}
+
+	@PostMapping
+	public void importCustomers(@RequestParam("file") MultipartFile file, HttpServletResponse response) throws IOException {
+		// Report back as newline delimited JSON, written while the import runs: every rejected row,
+		// the running totals after every saved batch and finally the summary
+		response.setContentType("application/x-ndjson");
+		response.setCharacterEncoding("UTF-8");
+		PrintWriter writer = response.getWriter();
+
+		CustomerImportListener listener = new CustomerImportListener() {
+			@Override
+			public void onProgress(CustomerImportResult result) {
+				writeLine(writer, totals("progress", result));
+
+				// Push the progress to the client now rather than when the response buffer fills up
+				writer.flush();
+			}
+
+			@Override
+			public void onRejected(RejectedRow rejectedRow) {
+				Map<String, Object> line = new LinkedHashMap<>();
+				line.put("type", "rejected");
+				line.put("line", rejectedRow.getLineNumber());
+				line.put("reason", rejectedRow.getReason());
+
+				writeLine(writer, line);
+			}
+		};
+
+		// The upload is parsed straight from the multipart file (spooled to disk), never read into memory
+		try (InputStream input = file.getInputStream()) {
+			CustomerImportResult result = customerImportService.importCustomers(input,
+					CustomerImportFormat.fromFileName(file.getOriginalFilename()), listener);
+
+			writeLine(writer, totals("summary", result));
+		} catch (IllegalArgumentException e) {
+			// The upload can't be imported at all, e.g. the CSV header is missing a column
+			Map<String, Object> line = new LinkedHashMap<>();
+			line.put("type", "error");
+			line.put("reason", e.getMessage());
+
+			writeLine(writer, line);
+		}
+
+		writer.flush();
+	}
+
+	// Helper method: The processed, imported and rejected totals of the import
+	private static Map<String, Object> totals(String type, CustomerImportResult result) {
+		Map<String, Object> line = new LinkedHashMap<>();
+		line.put("type", type);
+		line.put("processed", result.getProcessed());
+		line.put("imported", result.getImported());
+		line.put("rejected", result.getRejected());
+
+		return line;
+	}
+
+	// Helper method: Write a value as one line of JSON
+	private void writeLine(PrintWriter writer, Object value) {
+		try {
+			writer.println(objectMapper.writeValueAsString(value));
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to write import progress", e);
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package com.crm.customertracker.controller;
 
+import com.crm.customertracker.entity.security.AuthenticatedUserSnapshot;
 import com.crm.customertracker.entity.security.User;
 import com.crm.customertracker.service.UserService;
 import com.crm.customertracker.utils.PasswordHider;
@@ -22,8 +23,8 @@ public class EmployeeController {
 
     @ModelAttribute("firstName")
     public String getAuthenticatedUserFirstName() {
-        // Obtain the authenticated User from User Service
-        User user = userService.retrieveAuthenticatedPrincipalByUsername();
+        // Obtain the authenticated User's snapshot from User Service (memoized per HTTP Request and HTTP Session)
+        AuthenticatedUserSnapshot user = userService.retrieveAuthenticatedUserSnapshot();
 
         // Add Authenticated User's First Name to Model Attribute
         return user.getFirstName();
@@ -43,6 +44,9 @@ public class EmployeeController {
         model.addAttribute("user", user);
         model.addAttribute("maskedPassword", passwordHider.passwordMasking(user.getPassword()));
 
+        // Add the hash of the User's uploaded Image (null if none) to decide which profile picture to show
+        model.addAttribute("imageHash", userService.retrieveAuthenticatedUserSnapshot().getImageHash());
+
         return "employees/employee-profile";
     }
 
@@ -0,0 +1,60 @@
+package com.crm.customertracker.controller;
+
+import com.crm.customertracker.exporting.ExportFormat;
+import com.crm.customertracker.service.CustomerExportService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+
+@Controller
+public class ExportController {
+	private final CustomerExportService customerExportService;
+
+	public ExportController(CustomerExportService customerExportService) {
+		this.customerExportService = customerExportService;
+	}
+
+	@GetMapping("/customers/export")
+	public void exportCustomers(@RequestParam(value = "format", defaultValue = "csv") String format,
+								HttpServletResponse response) throws IOException {
+		ExportFormat exportFormat = exportFormat(format);
+		prepareResponse(response, exportFormat, "customers");
+
+		// Rows are written to the response as they are read, so no list of Customers is built
+		customerExportService.exportCustomers(response.getWriter(), exportFormat);
+	}
+
+	@GetMapping("/licenses/export")
+	public void exportLicenses(@RequestParam(value = "format", defaultValue = "csv") String format,
+							   HttpServletResponse response) throws IOException {
+		ExportFormat exportFormat = exportFormat(format);
+		prepareResponse(response, exportFormat, "licenses");
+
+		// Rows are written to the response as they are read, so no list of Licenses is built
+		customerExportService.exportLicenses(response.getWriter(), exportFormat);
+	}
+
+	// Helper method: Parse the format request parameter, an unknown format is a Bad Request
+	private static ExportFormat exportFormat(String format) {
+		try {
+			return ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown export format: " + format);
+		}
+	}
+
+	// Helper method: Send the export as a file download named after what is exported
+	private static void prepareResponse(HttpServletResponse response, ExportFormat format, String fileName) {
+		response.setContentType(format.getContentType());
+		response.setCharacterEncoding("UTF-8");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+				"attachment; filename=\"" + fileName + "." + format.getFileExtension() + "\"");
+	}
+}
@@ -0,0 +1,71 @@
+package com.crm.customertracker.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Fields of an API resource, each with its getter, so a client can ask for only some of them with
+// ?fields=id,email. The getters are called directly, no reflection runs per row.
+class FieldSelection<T> {
+	private final Map<String, Function<T, Object>> fields;
+
+	// Names of the selected fields, null when every field is selected
+	private final List<String> selected;
+
+	private FieldSelection(Map<String, Function<T, Object>> fields, List<String> selected) {
+		this.fields = fields;
+		this.selected = selected;
+	}
+
+	// Parse the fields request parameter, an unknown field is a Bad Request
+	static <T> FieldSelection<T> of(Map<String, Function<T, Object>> fields, String fieldsParameter) {
+		if (fieldsParameter == null || fieldsParameter.isBlank()) {
+			return new FieldSelection<>(fields, null);
+		}
+
+		List<String> selected = new ArrayList<>();
+
+		for (String field : fieldsParameter.split(",")) {
+			String name = field.trim();
+
+			if (!fields.containsKey(name)) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown field: " + name);
+			}
+			if (!selected.contains(name)) {
+				selected.add(name);
+			}
+		}
+
+		return new FieldSelection<>(fields, selected);
+	}
+
+	// Return the row itself when every field is selected, otherwise a map of the selected fields only
+	Object apply(T row) {
+		if (selected == null) {
+			return row;
+		}
+
+		Map<String, Object> values = new LinkedHashMap<>();
+
+		for (String name : selected) {
+			values.put(name, fields.get(name).apply(row));
+		}
+
+		return values;
+	}
+
+	List<Object> apply(List<T> rows) {
+		List<Object> values = new ArrayList<>(rows.size());
+
+		for (T row : rows) {
+			values.add(apply(row));
+		}
+
+		return values;
+	}
+}
@@ -1,20 +1,18 @@
 package com.crm.customertracker.controller;
 
-import com.crm.customertracker.entity.security.User;
+import com.crm.customertracker.entity.security.AuthenticatedUserSnapshot;
 import com.crm.customertracker.service.ImageService;
 import com.crm.customertracker.service.UserService;
-import org.apache.tomcat.util.http.fileupload.IOUtils;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.http.HttpServletResponse;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 
 @Controller
 public class ImageController {
@@ -28,8 +26,8 @@ public class ImageController {
 
     @GetMapping("/employees/image")
     public String showImageUploadForm(Model model) {
-        // Obtain the authenticated User from User Service
-        User user = userService.retrieveAuthenticatedPrincipalByUsername();
+        // Obtain the authenticated User's snapshot from User Service
+        AuthenticatedUserSnapshot user = userService.retrieveAuthenticatedUserSnapshot();
 
         // Add Authenticated User properties to Model Attribute
         model.addAttribute("firstName", user.getFirstName());
@@ -38,40 +36,48 @@ public class ImageController {
     }
 
     @PostMapping("/employees/image")
-    public String processImageUploadForm(@RequestParam("imageFile") MultipartFile file) {
-        // Retrieved the Authenticated User's Username
-        String username = userService.retrieveAuthenticatedPrincipalByUsername().getUsername();
+    public String processImageUploadForm(@RequestParam("imageFile") MultipartFile file, Model model) {
+        // Retrieved the Authenticated User's snapshot
+        AuthenticatedUserSnapshot user = userService.retrieveAuthenticatedUserSnapshot();
 
         // Call the Image Service's saveImage(...) to save the Image uploaded by the User
-        imageService.saveImage(username, file);
+        try {
+            imageService.saveImage(user.getUsername(), file);
+        } catch (IOException exception) {
+            // The upload could not be read, so show the form again instead of the unchanged profile
+            model.addAttribute("firstName", user.getFirstName());
+            model.addAttribute("uploadError", "The image could not be uploaded, please try again.");
+
+            return "employees/imageUploadForm";
+        }
 
         return "redirect:/employee/profile";
     }
 
     @GetMapping("/employees/profileImage")
-    public void renderImageFromDB(HttpServletResponse response) throws IOException {
-        // Obtain the authenticated User from User Service
-        User user = userService.retrieveAuthenticatedPrincipalByUsername();
-
-        // If the User has uploaded an Image
-        if (user.getImage() != null) {
-            // Create a primitive byte array of same size as number of bytes in the image uploaded
-            byte[] byteArray = new byte[user.getImage().length];
-
-            // Convert the wrapper Bytes to primitive bytes
-            int i = 0;
-            for (Byte wrappedByte : user.getImage()){
-                byteArray[i++] = wrappedByte; //auto unboxing
-            }
+    public void renderImageFromDB(WebRequest webRequest, HttpServletResponse response) throws IOException {
+        // Obtain the authenticated User's snapshot from User Service
+        AuthenticatedUserSnapshot user = userService.retrieveAuthenticatedUserSnapshot();
+
+        // The snapshot holds the hash of the User's Image, respond with 404 if the User has not uploaded an Image
+        String imageHash = user.getImageHash();
+        if (imageHash == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
 
-            // Set the HttpServletResponse as image type of jpeg
-            response.setContentType("image/jpeg");
+        // Respond with 304 if the browser already has this exact Image (the hash is the Image's ETag)
+        if (webRequest.checkNotModified("\"" + imageHash + "\"")) {
+            return;
+        }
 
-            // Set the InputStream as the bytes of the uploaded Image
-            InputStream is = new ByteArrayInputStream(byteArray);
+        // Set the HttpServletResponse as image type of jpeg
+        response.setContentType("image/jpeg");
 
-            // Render the Uploaded Image byte's to output the Image to the User's Profile Page
-            IOUtils.copy(is, response.getOutputStream());
+        // Stream the Uploaded Image's bytes from the DB straight to the response to output the Image
+        // to the User's Profile Page
+        if (!imageService.writeImage(user.getUsername(), response.getOutputStream())) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.crm.customertracker.controller;
+
+import com.crm.customertracker.dto.LicenseDto;
+import com.crm.customertracker.pagination.KeysetPage;
+import com.crm.customertracker.service.CustomerService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.crm.customertracker.controller.CustomerApiController.DEFAULT_PAGE_SIZE;
+import static com.crm.customertracker.controller.CustomerApiController.checkSortField;
+import static com.crm.customertracker.controller.CustomerApiController.ok;
+import static com.crm.customertracker.controller.CustomerApiController.pageSize;
+
+// JSON API over the Licenses, read the same way as the Customers of CustomerApiController
+@RestController
+@RequestMapping("/api/v1/licenses")
+public class LicenseApiController {
+	// Every field of a LicenseDto, customerId can't be sorted by since it isn't an attribute of License
+	static final Map<String, Function<LicenseDto, Object>> LICENSE_FIELDS = new LinkedHashMap<>();
+	static final Map<String, Function<LicenseDto, Object>> SORT_FIELDS = new LinkedHashMap<>();
+	static {
+		LICENSE_FIELDS.put("id", LicenseDto::getId);
+		LICENSE_FIELDS.put("licenseName", LicenseDto::getLicenseName);
+		LICENSE_FIELDS.put("startDate", LicenseDto::getStartDate);
+		LICENSE_FIELDS.put("expirationDate", LicenseDto::getExpirationDate);
+
+		SORT_FIELDS.putAll(LICENSE_FIELDS);
+
+		LICENSE_FIELDS.put("customerId", LicenseDto::getCustomerId);
+	}
+
+	private final CustomerService customerService;
+
+	public LicenseApiController(CustomerService customerService) {
+		this.customerService = customerService;
+	}
+
+	@GetMapping
+	public ResponseEntity<KeysetPage<Object>> listLicenses(@RequestParam(value = "cursor", required = false) String cursor,
+														   @RequestParam(value = "limit", defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+														   @RequestParam(value = "sortField", defaultValue = "id") String sortField,
+														   @RequestParam(value = "sortDirection", defaultValue = "asc") String sortDirection,
+														   @RequestParam(value = "fields", required = false) String fields) {
+		FieldSelection<LicenseDto> fieldSelection = FieldSelection.of(LICENSE_FIELDS, fields);
+		checkSortField(SORT_FIELDS, sortField);
+
+		// Seek to the page of Licenses after (or before) the cursor
+		KeysetPage<LicenseDto> page = customerService.findPaginatedLicenses(cursor, pageSize(limit), sortField, sortDirection);
+
+		return ok(new KeysetPage<>(fieldSelection.apply(page.getContent()), page.getNextCursor(), page.getPreviousCursor()));
+	}
+}
@@ -2,7 +2,10 @@ package com.crm.customertracker.controller;
 
 import java.util.List;
 
-import com.crm.customertracker.entity.security.User;
+import com.crm.customertracker.dto.LicenseDto;
+import com.crm.customertracker.entity.security.AuthenticatedUserSnapshot;
+import com.crm.customertracker.pagination.KeysetCursor;
+import com.crm.customertracker.pagination.KeysetPage;
 import com.crm.customertracker.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -10,9 +13,10 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
-import com.crm.customertracker.entity.customer.License;
 import com.crm.customertracker.service.CustomerService;
 
+import static com.crm.customertracker.controller.CustomerApiController.checkSortField;
+
 @Controller
 @RequestMapping("/licenses")
 public class LicenseController {
@@ -26,8 +30,8 @@ public class LicenseController {
 
 	@ModelAttribute("firstName")
 	public String getAuthenticatedUserFirstName() {
-		// Obtain the authenticated User from User Service
-		User user = userService.retrieveAuthenticatedPrincipalByUsername();
+		// Obtain the authenticated User's snapshot from User Service (memoized per HTTP Request and HTTP Session)
+		AuthenticatedUserSnapshot user = userService.retrieveAuthenticatedUserSnapshot();
 
 		// Add Authenticated User's First Name to Model Attribute
 		return user.getFirstName();
@@ -35,7 +39,7 @@ public class LicenseController {
 
 	@GetMapping("/list")
 	public String listLicenses(Model model) {
-		return findPaginatedLicenses(1, "licenseName", "asc", model);
+		return findPaginatedLicenses(1, "licenseName", "asc", null, model);
 	}
 
 	@GetMapping("/deleteLicense")
@@ -50,18 +54,45 @@ public class LicenseController {
 	public String findPaginatedLicenses(@PathVariable(value = "pageNumber") int pageNumber,
 										@RequestParam("sortField") String sortField,
 										@RequestParam("sortDirection") String sortDirection,
+										@RequestParam(value = "cursor", required = false) String cursor,
 										Model model) {
+		// Only the fields the API can sort by are accepted, anything else is a Bad Request rather than a failed query
+		checkSortField(LicenseApiController.SORT_FIELDS, sortField);
+
 		// Set the page size for each page of licenses
 		int pageSize = 5;
 
-		// Get all licenses from page using customer service
-		Page<License> licensePage = customerService.findPaginatedLicenses(pageNumber, pageSize, sortField, sortDirection);
-		List<License> licenses = licensePage.getContent();
-
-		// Set Pagination Values to Model Attribute
+		List<LicenseDto> licenses;
+		long totalItems;
+		String nextCursor;
+		String previousCursor;
+
+		if (cursor != null) {
+			// Keyset mode: seek from the cursor instead of skipping (pageNumber - 1) * pageSize rows
+			KeysetPage<LicenseDto> licensePage = customerService.findPaginatedLicenses(cursor, pageSize, sortField, sortDirection);
+			licenses = licensePage.getContent();
+			totalItems = customerService.countLicenses();
+			nextCursor = licensePage.getNextCursor();
+			previousCursor = licensePage.getPreviousCursor();
+		} else {
+			// Get the columns of a page of licenses using customer service
+			Page<LicenseDto> licensePage = customerService.findPaginatedLicenses(pageNumber, pageSize, sortField, sortDirection);
+			licenses = licensePage.getContent();
+			totalItems = licensePage.getTotalElements();
+
+			// Let the Next and Previous links seek from the rows of this page
+			nextCursor = licensePage.hasNext() && !licenses.isEmpty()
+					? KeysetCursor.after(licenses.get(licenses.size() - 1), sortField) : null;
+			previousCursor = licensePage.hasPrevious() && !licenses.isEmpty()
+					? KeysetCursor.before(licenses.get(0), sortField) : null;
+		}
+
+		// Set Pagination Values to Model Attribute (totalItems is an approximate count from the count cache)
 		model.addAttribute("currentPage", pageNumber);
-		model.addAttribute("totalPages", licensePage.getTotalPages());
-		model.addAttribute("totalItems", licensePage.getTotalElements());
+		model.addAttribute("totalPages", (int) Math.ceil((double) totalItems / pageSize));
+		model.addAttribute("totalItems", totalItems);
+		model.addAttribute("nextCursor", nextCursor);
+		model.addAttribute("previousCursor", previousCursor);
 
 		// Set Sort Values to Model Attribute
 		model.addAttribute("sortField", sortField);
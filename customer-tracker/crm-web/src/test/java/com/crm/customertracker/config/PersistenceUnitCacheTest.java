@@ -0,0 +1,78 @@
+package com.crm.customertracker.config;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Boots each persistence unit against H2 with the Hibernate properties of application.properties, so the
+// Second Level Cache (and its per unit ehcache-*.xml) is configured exactly as it is in the application
+class PersistenceUnitCacheTest {
+    LocalContainerEntityManagerFactoryBean entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.destroy();
+    }
+
+    @DisplayName("Boot the customer persistence unit with its Second Level Cache regions")
+    @Test
+    void customerPersistenceUnit() throws IOException {
+        entityManagerFactory = new CustomerDataSourceConfiguration()
+                .customerEntityManagerFactory(entityManagerFactoryBuilder(), dataSource("customer"));
+        entityManagerFactory.afterPropertiesSet();
+
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.getObject().unwrap(SessionFactoryImplementor.class);
+
+        assertThat(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()).isTrue();
+        assertThat(sessionFactory.getCache().getRegion("customer")).isNotNull();
+        assertThat(sessionFactory.getCache().getRegion("customer.licenses")).isNotNull();
+    }
+
+    @DisplayName("Boot the security persistence unit with its Second Level Cache regions")
+    @Test
+    void securityPersistenceUnit() throws IOException {
+        entityManagerFactory = new SecurityDataSourceConfiguration()
+                .securityEntityManagerFactory(entityManagerFactoryBuilder(), dataSource("security"));
+        entityManagerFactory.afterPropertiesSet();
+
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.getObject().unwrap(SessionFactoryImplementor.class);
+
+        assertThat(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()).isTrue();
+        assertThat(sessionFactory.getCache().getRegion("role")).isNotNull();
+    }
+
+    // Helper method: Builder with the spring.jpa.properties.* of application.properties, the way Spring Boot
+    // would create it
+    private static EntityManagerFactoryBuilder entityManagerFactoryBuilder() throws IOException {
+        Properties applicationProperties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        Map<String, Object> jpaProperties = new HashMap<>();
+
+        for (String name : applicationProperties.stringPropertyNames()) {
+            if (name.startsWith("spring.jpa.properties.")) {
+                jpaProperties.put(name.substring("spring.jpa.properties.".length()), applicationProperties.getProperty(name));
+            }
+        }
+        jpaProperties.put("hibernate.hbm2ddl.auto", "create-drop");
+
+        return new EntityManagerFactoryBuilder(new HibernateJpaVendorAdapter(), jpaProperties, null);
+    }
+
+    private static DataSource dataSource(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+    }
+}
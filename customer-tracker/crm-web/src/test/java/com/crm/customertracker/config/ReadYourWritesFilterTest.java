@@ -0,0 +1,76 @@
+package com.crm.customertracker.config;
+
+import com.crm.customertracker.datasource.ReadYourWrites;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadYourWritesFilterTest {
+    ReadYourWritesFilter readYourWritesFilter = new ReadYourWritesFilter(5000);
+
+    @DisplayName("Read from the primary in the requests following a write of the same Session")
+    @Test
+    void writerReadsFromPrimary() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+
+        assertThat(request(session, false)).isFalse();
+        assertThat(request(session, true)).isFalse();
+        assertThat(session.getAttribute(ReadYourWritesFilter.LAST_WRITE_ATTRIBUTE)).isNotNull();
+
+        // The redirect after the write, and any other request within the window
+        assertThat(request(session, false)).isTrue();
+        assertThat(request(session, false)).isTrue();
+
+        // Other Sessions keep reading from the replicas
+        assertThat(request(new MockHttpSession(), false)).isFalse();
+        assertThat(ReadYourWrites.isPrimaryRequired()).isFalse();
+    }
+
+    @DisplayName("Go back to the replicas once the window after the last write has passed")
+    @Test
+    void windowExpires() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute(ReadYourWritesFilter.LAST_WRITE_ATTRIBUTE, System.currentTimeMillis() - 6000);
+
+        assertThat(request(session, false)).isFalse();
+    }
+
+    @DisplayName("Don't create a Session for a request that doesn't write")
+    @Test
+    void noSessionWithoutWrite() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        readYourWritesFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(request.getSession(false)).isNull();
+    }
+
+    // Helper method: Run a request of the Session through the filter, returning whether its reads went to the primary
+    private boolean request(MockHttpSession session, boolean write) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setSession(session);
+        boolean[] primaryRequired = new boolean[1];
+
+        readYourWritesFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                primaryRequired[0] = ReadYourWrites.isPrimaryRequired();
+
+                if (write) {
+                    ReadYourWrites.recordWrite();
+                }
+            }
+        }));
+
+        return primaryRequired[0];
+    }
+}
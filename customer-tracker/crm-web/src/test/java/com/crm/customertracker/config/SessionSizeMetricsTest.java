@@ -0,0 +1,74 @@
+package com.crm.customertracker.config;
+
+import com.crm.customertracker.entity.security.AuthenticatedUserSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpSession;
+
+import javax.servlet.http.HttpSessionBindingEvent;
+import javax.servlet.http.HttpSessionEvent;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionSizeMetricsTest {
+    SessionSizeMetrics sessionSizeMetrics = new SessionSizeMetrics();
+
+    @DisplayName("Keep the authenticated User's snapshot to a few hundred bytes")
+    @Test
+    void snapshotIsCompact() {
+        AuthenticatedUserSnapshot snapshot = AuthenticatedUserSnapshot.builder()
+                .id(1).username("admin").firstName("Ray").lastName("Jones")
+                .roles(List.of("ROLE_EMPLOYEE", "ROLE_MANAGER", "ROLE_ADMIN"))
+                .imageHash("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
+                .version(3).build();
+
+        assertThat(SessionSizeMetrics.serializedSize(snapshot)).isBetween(1, 512);
+    }
+
+    @DisplayName("Sum the serialized size of every attribute of the live Sessions")
+    @Test
+    void trackSessionSizes() {
+        MockHttpSession first = session("first");
+        MockHttpSession second = session("second");
+
+        setAttribute(first, "greeting", "hello");
+        setAttribute(first, "numbers", new int[100]);
+        setAttribute(second, "greeting", "hi");
+
+        assertThat(sessionSizeMetrics.getSessions()).isEqualTo(2);
+        assertThat(sessionSizeMetrics.getMaxBytes()).isGreaterThan(400);
+        assertThat(sessionSizeMetrics.getTotalBytes()).isEqualTo(SessionSizeMetrics.serializedSize("hello")
+                + SessionSizeMetrics.serializedSize(new int[100]) + SessionSizeMetrics.serializedSize("hi"));
+
+        first.removeAttribute("numbers");
+        sessionSizeMetrics.attributeRemoved(new HttpSessionBindingEvent(first, "numbers"));
+        sessionSizeMetrics.sessionDestroyed(new HttpSessionEvent(second));
+
+        assertThat(sessionSizeMetrics.getSessions()).isEqualTo(1);
+        assertThat(sessionSizeMetrics.getTotalBytes()).isEqualTo(SessionSizeMetrics.serializedSize("hello"));
+    }
+
+    @DisplayName("Count attributes that would break Session serialization")
+    @Test
+    void countNotSerializableAttributes() {
+        MockHttpSession session = session("first");
+
+        setAttribute(session, "entity", new Object());
+
+        assertThat(sessionSizeMetrics.getNotSerializableAttributes()).isEqualTo(1);
+        assertThat(sessionSizeMetrics.getTotalBytes()).isZero();
+    }
+
+    private MockHttpSession session(String id) {
+        MockHttpSession session = new MockHttpSession(null, id);
+        sessionSizeMetrics.sessionCreated(new HttpSessionEvent(session));
+
+        return session;
+    }
+
+    private void setAttribute(MockHttpSession session, String name, Object value) {
+        session.setAttribute(name, value);
+        sessionSizeMetrics.attributeAdded(new HttpSessionBindingEvent(session, name, value));
+    }
+}
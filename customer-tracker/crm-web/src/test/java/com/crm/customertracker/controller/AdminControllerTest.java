@@ -0,0 +1,106 @@
+package com.crm.customertracker.controller;
+
+import com.crm.customertracker.cache.CustomerCache;
+import com.crm.customertracker.cache.RoleRegistry;
+import com.crm.customertracker.cache.SecondLevelCacheStatistics;
+import com.crm.customertracker.cache.TtlUserCache;
+import com.crm.customertracker.config.SessionSizeMetrics;
+import com.crm.customertracker.entity.security.AuthenticatedUserSnapshot;
+import com.crm.customertracker.service.UserService;
+import com.crm.customertracker.session.SessionStore;
+import com.crm.customertracker.utils.ConnectionPoolMetricsRegistry;
+import com.crm.customertracker.utils.MethodCalls;
+import com.crm.customertracker.utils.MethodMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Map;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminControllerTest {
+    @Mock
+    UserService userService;
+
+    @Mock
+    MethodCalls methodCalls;
+
+    @Mock
+    CustomerCache customerCache;
+
+    @Mock
+    TtlUserCache userCache;
+
+    @Mock
+    SecondLevelCacheStatistics secondLevelCacheStatistics;
+
+    @Mock
+    ConnectionPoolMetricsRegistry connectionPoolMetricsRegistry;
+
+    @Mock
+    RoleRegistry roleRegistry;
+
+    @Mock
+    SessionSizeMetrics sessionSizeMetrics;
+
+    @Mock
+    ObjectProvider<SessionStore> sessionStore;
+
+    @InjectMocks
+    AdminController adminController;
+
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(adminController).build();
+
+        given(userService.retrieveAuthenticatedUserSnapshot())
+                .willReturn(AuthenticatedUserSnapshot.builder().firstName("Tom").build());
+    }
+
+    @DisplayName("Display the metrics of every called method")
+    @Test
+    void showMetrics() throws Exception {
+        Map<String, MethodMetrics> methodMetrics = Map.of("CustomerServiceImpl.findCustomerById", new MethodMetrics());
+        given(methodCalls.methodMetrics()).willReturn(methodMetrics);
+        given(secondLevelCacheStatistics.regionStatistics()).willReturn(Map.of());
+        given(connectionPoolMetricsRegistry.poolMetrics()).willReturn(Map.of());
+        given(roleRegistry.size()).willReturn(3);
+
+        mockMvc.perform(get("/admin/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("admin/metrics"))
+                .andExpect(model().attribute("methodMetrics", methodMetrics))
+                .andExpect(model().attributeExists("cacheStatistics"))
+                .andExpect(model().attribute("regionStatistics", Map.of()))
+                .andExpect(model().attribute("poolMetrics", Map.of()))
+                .andExpect(model().attribute("roleCount", 3))
+                .andExpect(model().attribute("sessionMetrics", sessionSizeMetrics))
+                .andExpect(model().attributeDoesNotExist("sessionStore"))
+                .andExpect(model().attributeExists("firstName"));
+    }
+
+    @DisplayName("Reload the Role registry and go back to the metrics")
+    @Test
+    void refreshRoles() throws Exception {
+        mockMvc.perform(post("/admin/roles/refresh"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(view().name("redirect:/admin/metrics"));
+
+        then(roleRegistry).should().refresh();
+    }
+}
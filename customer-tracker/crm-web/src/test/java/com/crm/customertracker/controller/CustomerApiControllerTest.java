@@ -0,0 +1,124 @@
+package com.crm.customertracker.controller;
+
+import com.crm.customertracker.dto.CustomerDto;
+import com.crm.customertracker.dto.LicenseDto;
+import com.crm.customertracker.pagination.KeysetPage;
+import com.crm.customertracker.service.CustomerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerApiControllerTest {
+    public static final CustomerDto CUSTOMER = new CustomerDto(1, "TJ", "Hawk", "TJH@gmail.com");
+
+    @Mock
+    CustomerService customerService;
+
+    @InjectMocks
+    CustomerApiController customerApiController;
+
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(customerApiController)
+                .addFilters(new ShallowEtagHeaderFilter())
+                .build();
+    }
+
+    @DisplayName("List a page of customers with the cursor of the next page")
+    @Test
+    void listCustomers() throws Exception {
+        given(customerService.findPaginatedCustomers(null, CustomerApiController.DEFAULT_PAGE_SIZE, "id", "asc"))
+                .willReturn(new KeysetPage<>(List.of(CUSTOMER), "next", null));
+
+        mockMvc.perform(get("/api/v1/customers"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.content[0].email").value("TJH@gmail.com"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @DisplayName("Only return the selected fields and cap the page size")
+    @Test
+    void listCustomersWithSelectedFields() throws Exception {
+        given(customerService.findPaginatedCustomers("cursor", CustomerApiController.MAX_PAGE_SIZE, "lastName", "desc"))
+                .willReturn(new KeysetPage<>(List.of(CUSTOMER), null, "previous"));
+
+        mockMvc.perform(get("/api/v1/customers").param("cursor", "cursor").param("limit", "100000")
+                        .param("sortField", "lastName").param("sortDirection", "desc").param("fields", "id,email"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].email").value("TJH@gmail.com"))
+                .andExpect(jsonPath("$.content[0].firstName").doesNotExist());
+    }
+
+    @DisplayName("Reject an unknown field or sort field")
+    @Test
+    void rejectUnknownFields() throws Exception {
+        mockMvc.perform(get("/api/v1/customers").param("fields", "password"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/customers").param("sortField", "licenses"))
+                .andExpect(status().isBadRequest());
+
+        then(customerService).should(never()).findPaginatedCustomers(nullable(String.class), anyInt(), anyString(), anyString());
+    }
+
+    @DisplayName("Answer an unchanged customer with 304 Not Modified")
+    @Test
+    void getCustomerNotModified() throws Exception {
+        given(customerService.findCustomerDtoById(1)).willReturn(Optional.of(CUSTOMER));
+
+        String etag = mockMvc.perform(get("/api/v1/customers/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastName").value("Hawk"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/customers/1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @DisplayName("Answer an unknown customer with 404 Not Found")
+    @Test
+    void getUnknownCustomer() throws Exception {
+        given(customerService.findCustomerDtoById(2)).willReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/customers/2"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/customers/2/licenses"))
+                .andExpect(status().isNotFound());
+    }
+
+    @DisplayName("List a customer's licenses")
+    @Test
+    void listCustomerLicenses() throws Exception {
+        given(customerService.findCustomerDtoById(1)).willReturn(Optional.of(CUSTOMER));
+        given(customerService.findCustomerLicenseDtos(1))
+                .willReturn(List.of(new LicenseDto(3, "Office", null, null, 1)));
+
+        mockMvc.perform(get("/api/v1/customers/1/licenses").param("fields", "licenseName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].licenseName").value("Office"))
+                .andExpect(jsonPath("$[0].id").doesNotExist());
+    }
+}
@@ -1,8 +1,11 @@
 package com.crm.customertracker.controller;
 
+import com.crm.customertracker.dto.CustomerDto;
+import com.crm.customertracker.dto.CustomerLicensesDto;
+import com.crm.customertracker.dto.LicenseDto;
 import com.crm.customertracker.entity.customer.Customer;
-import com.crm.customertracker.entity.customer.License;
-import com.crm.customertracker.entity.security.User;
+import com.crm.customertracker.entity.security.AuthenticatedUserSnapshot;
+import com.crm.customertracker.pagination.KeysetPage;
 import com.crm.customertracker.service.CustomerService;
 import com.crm.customertracker.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,6 +25,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -50,9 +54,9 @@ class CustomerControllerTest {
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(customerController).build();
 
-        User user = User.builder().id(PAGE_NUMBER).firstName(FIRST_NAME).build();
+        AuthenticatedUserSnapshot user = AuthenticatedUserSnapshot.builder().id(PAGE_NUMBER).firstName(FIRST_NAME).build();
 
-        given(userService.retrieveAuthenticatedPrincipalByUsername()).willReturn(user);
+        given(userService.retrieveAuthenticatedUserSnapshot()).willReturn(user);
     }
 
     @DisplayName("Retrieve authenticated user's first name")
@@ -133,7 +137,8 @@ class CustomerControllerTest {
     @Test
     void listCustomerLicenses() throws Exception {
         given(customerService.findCustomerLicenses(anyInt()))
-                .willReturn(Customer.builder().licenses(List.of(License.builder().build())).build());
+                .willReturn(new CustomerLicensesDto(new CustomerDto(1, "TJ", "Hawk", "TJH@gmail.com"),
+                        List.of(new LicenseDto(1, "Photoshop", null, null, 1))));
 
         mockMvc.perform(get("/customers/licenses")
                         .param("customerId", CUSTOMER_ID))
@@ -168,4 +173,37 @@ class CustomerControllerTest {
                 .andExpect(model().attributeExists("currentPage", "totalPages", "totalItems",
                         "sortField", "sortDirection", "reverseSortDirection", "customers"));
     }
-}
\ No newline at end of file
+
+    @DisplayName("Display a page of customers seeking from a cursor")
+    @Test
+    void findPaginatedWithCursor() throws Exception {
+        given(customerService.findPaginatedCustomers("cursor", PAGE_SIZE, SORT_FIELD, SORT_DIRECTION))
+                .willReturn(new KeysetPage<>(List.of(new CustomerDto(1, "TJ", "Hawk", "TJH@gmail.com")), "next", "previous"));
+        given(customerService.countCustomers()).willReturn(20L);
+
+        mockMvc.perform(get("/customers/page/2")
+                        .param("sortField", SORT_FIELD)
+                        .param("sortDirection", SORT_DIRECTION)
+                        .param("cursor", "cursor"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("customers/list-customers"))
+                .andExpect(model().attribute("nextCursor", "next"))
+                .andExpect(model().attribute("previousCursor", "previous"))
+                .andExpect(model().attribute("totalPages", 4))
+                .andExpect(model().attributeExists("customers"));
+
+        then(customerService).should(never()).findPaginatedCustomers(anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    @DisplayName("Reject a page sorted by a field that isn't listed")
+    @Test
+    void findPaginatedUnknownSortField() throws Exception {
+        mockMvc.perform(get("/customers/page/1")
+                        .param("sortField", "licenses")
+                        .param("sortDirection", SORT_DIRECTION)
+                        .param("cursor", "cursor"))
+                .andExpect(status().isBadRequest());
+
+        then(customerService).shouldHaveNoInteractions();
+    }
+}
@@ -0,0 +1,105 @@
+package com.crm.customertracker.controller;
+
+import com.crm.customertracker.entity.security.AuthenticatedUserSnapshot;
+import com.crm.customertracker.importing.CustomerImportFormat;
+import com.crm.customertracker.importing.CustomerImportListener;
+import com.crm.customertracker.importing.CustomerImportResult;
+import com.crm.customertracker.importing.RejectedRow;
+import com.crm.customertracker.service.CustomerImportService;
+import com.crm.customertracker.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.InputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerImportControllerTest {
+    @Mock
+    CustomerImportService customerImportService;
+
+    @Mock
+    UserService userService;
+
+    @Spy
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    CustomerImportController customerImportController;
+
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(customerImportController).build();
+
+        given(userService.retrieveAuthenticatedUserSnapshot())
+                .willReturn(AuthenticatedUserSnapshot.builder().firstName("Tom").build());
+    }
+
+    @DisplayName("Display the form to import customers")
+    @Test
+    void showImportForm() throws Exception {
+        mockMvc.perform(get("/customers/import"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("customers/import-form"))
+                .andExpect(model().attributeExists("firstName"));
+    }
+
+    @DisplayName("Stream the rejected rows, progress and summary of an import")
+    @Test
+    void importCustomers() throws Exception {
+        given(customerImportService.importCustomers(any(InputStream.class), eq(CustomerImportFormat.NDJSON),
+                any(CustomerImportListener.class))).willAnswer(invocation -> {
+            CustomerImportListener listener = invocation.getArgument(2);
+            CustomerImportResult result = new CustomerImportResult(10);
+
+            result.processed();
+            result.processed();
+            result.imported(1);
+            RejectedRow rejectedRow = new RejectedRow(2, "email must not be null");
+            result.rejected(rejectedRow);
+
+            listener.onRejected(rejectedRow);
+            listener.onProgress(result);
+            return result;
+        });
+
+        mockMvc.perform(multipart("/customers/import")
+                        .file(new MockMultipartFile("file", "partners.ndjson", "application/x-ndjson", new byte[0])))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andExpect(content().string(
+                        "{\"type\":\"rejected\",\"line\":2,\"reason\":\"email must not be null\"}\n" +
+                        "{\"type\":\"progress\",\"processed\":2,\"imported\":1,\"rejected\":1}\n" +
+                        "{\"type\":\"summary\",\"processed\":2,\"imported\":1,\"rejected\":1}\n"));
+    }
+
+    @DisplayName("Report an upload that can't be imported")
+    @Test
+    void importCustomersInvalidFile() throws Exception {
+        given(customerImportService.importCustomers(any(InputStream.class), eq(CustomerImportFormat.CSV),
+                any(CustomerImportListener.class))).willThrow(new IllegalArgumentException("missing columns"));
+
+        mockMvc.perform(multipart("/customers/import")
+                        .file(new MockMultipartFile("file", "partners.csv", "text/csv", new byte[0])))
+                .andExpect(status().isOk())
+                .andExpect(content().string("{\"type\":\"error\",\"reason\":\"missing columns\"}\n"));
+    }
+}
@@ -1,5 +1,6 @@
 package com.crm.customertracker.controller;
 
+import com.crm.customertracker.entity.security.AuthenticatedUserSnapshot;
 import com.crm.customertracker.entity.security.User;
 import com.crm.customertracker.service.UserService;
 import com.crm.customertracker.utils.PasswordHider;
@@ -45,7 +46,8 @@ class EmployeeControllerTest {
         user = User.builder().id(ID).firstName(FIRST_NAME)
                 .lastName(LAST_NAME).password(PASSWORD).build();
 
-        given(userService.retrieveAuthenticatedPrincipalByUsername()).willReturn(user);
+        given(userService.retrieveAuthenticatedUserSnapshot()).willReturn(AuthenticatedUserSnapshot.builder().id(ID)
+                .firstName(FIRST_NAME).lastName(LAST_NAME).imageHash("hash").build());
     }
 
     @DisplayName("Retrieve authenticated user's first name")
@@ -67,12 +69,13 @@ class EmployeeControllerTest {
     @DisplayName("Display employee profile")
     @Test
     void getEmployeeProfile() throws Exception {
+        given(userService.retrieveAuthenticatedPrincipalByUsername()).willReturn(user);
         given(passwordHider.passwordMasking(anyString())).willReturn(PASSWORD);
 
         mockMvc.perform(get("/employees/profile"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("employees/employee-profile"))
-                .andExpect(model().attributeExists("user", "maskedPassword", "firstName"));
+                .andExpect(model().attributeExists("user", "maskedPassword", "firstName", "imageHash"));
     }
 
     @DisplayName("Display logout navigation bar")
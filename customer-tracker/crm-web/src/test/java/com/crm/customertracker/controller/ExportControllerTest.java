@@ -0,0 +1,74 @@
+package com.crm.customertracker.controller;
+
+import com.crm.customertracker.exporting.ExportFormat;
+import com.crm.customertracker.service.CustomerExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.Writer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportControllerTest {
+    @Mock
+    CustomerExportService customerExportService;
+
+    @InjectMocks
+    ExportController exportController;
+
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(exportController).build();
+    }
+
+    @DisplayName("Export customers as a CSV download")
+    @Test
+    void exportCustomers() throws Exception {
+        given(customerExportService.exportCustomers(any(Writer.class), eq(ExportFormat.CSV))).willAnswer(invocation -> {
+            Writer writer = invocation.getArgument(0);
+            writer.write("id,first_name,last_name,email\r\n");
+            return 0L;
+        });
+
+        mockMvc.perform(get("/customers/export"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"customers.csv\""))
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(content().string("id,first_name,last_name,email\r\n"));
+    }
+
+    @DisplayName("Export licenses as an NDJSON download")
+    @Test
+    void exportLicenses() throws Exception {
+        mockMvc.perform(get("/licenses/export").param("format", "ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"licenses.ndjson\""));
+
+        then(customerExportService).should().exportLicenses(any(Writer.class), eq(ExportFormat.NDJSON));
+    }
+
+    @DisplayName("An unknown export format is a bad request")
+    @Test
+    void exportUnknownFormat() throws Exception {
+        mockMvc.perform(get("/customers/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        then(customerExportService).should(never()).exportCustomers(any(), any());
+    }
+}
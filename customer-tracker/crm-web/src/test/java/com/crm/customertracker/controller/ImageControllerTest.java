@@ -1,6 +1,6 @@
 package com.crm.customertracker.controller;
 
-import com.crm.customertracker.entity.security.User;
+import com.crm.customertracker.entity.security.AuthenticatedUserSnapshot;
 import com.crm.customertracker.service.ImageService;
 import com.crm.customertracker.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,11 +15,17 @@ import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -36,20 +42,20 @@ class ImageControllerTest {
     ImageController imageController;
 
     MockMvc mockMvc;
-    User user;
+    AuthenticatedUserSnapshot.AuthenticatedUserSnapshotBuilder user;
 
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(imageController).build();
 
-        user = User.builder().id(1).firstName("Tom").username("TomJ").build();
-
-        given(userService.retrieveAuthenticatedPrincipalByUsername()).willReturn(user);
+        user = AuthenticatedUserSnapshot.builder().id(1).firstName("Tom").username("TomJ");
     }
 
     @DisplayName("Display image upload form for registered users")
     @Test
     void showImageUploadForm() throws Exception {
+        given(userService.retrieveAuthenticatedUserSnapshot()).willReturn(user.build());
+
         mockMvc.perform(get("/employees/image"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("employees/imageUploadForm"))
@@ -61,32 +67,69 @@ class ImageControllerTest {
     void processImageUploadForm() throws Exception {
         MockMultipartFile multipartFile = new MockMultipartFile("imageFile", "testing.txt",
                 "text/plain", "Some text to test".getBytes());
+        given(userService.retrieveAuthenticatedUserSnapshot()).willReturn(user.build());
 
         mockMvc.perform(multipart("/employees/image").file(multipartFile))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(header().string("Location", "/employee/profile"));
 
-        then(imageService).should().saveImage(anyString(), any());
+        then(imageService).should().saveImage(eq("TomJ"), any());
+    }
+
+    @DisplayName("Show the upload form again with an error when the image could not be saved")
+    @Test
+    void processImageUploadFormFailure() throws Exception {
+        MockMultipartFile multipartFile = new MockMultipartFile("imageFile", "testing.txt",
+                "text/plain", "Some text to test".getBytes());
+        given(userService.retrieveAuthenticatedUserSnapshot()).willReturn(user.build());
+        willThrow(new IOException("Stream closed")).given(imageService).saveImage(eq("TomJ"), any());
+
+        mockMvc.perform(multipart("/employees/image").file(multipartFile))
+                .andExpect(status().isOk())
+                .andExpect(view().name("employees/imageUploadForm"))
+                .andExpect(model().attributeExists("uploadError"));
     }
 
     @DisplayName("Render image byte array from specified registered user")
     @Test
     void renderImageFromDB() throws Exception {
         String testString = "Some text to test";
-        Byte[] imageBytes = new Byte[testString.getBytes().length];
 
-        int currentBytes = 0;
-        for (byte primitiveByte : testString.getBytes()) {
-            imageBytes[currentBytes++] = primitiveByte;
-        }
-
-        user.setImage(imageBytes);
+        given(userService.retrieveAuthenticatedUserSnapshot()).willReturn(user.imageHash("hash").build());
+        given(imageService.writeImage(eq("TomJ"), any(OutputStream.class))).willAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write(testString.getBytes());
+            return true;
+        });
 
         MockHttpServletResponse response = mockMvc.perform(get("/employees/profileImage"))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType("image/jpeg"))
+                .andExpect(header().string("ETag", "\"hash\""))
                 .andReturn().getResponse();
 
         byte[] responseBytes = response.getContentAsByteArray();
         assertThat(testString.getBytes().length).isEqualTo(responseBytes.length);
     }
+
+    @DisplayName("Respond with not found when the registered user has no image")
+    @Test
+    void renderImageFromDBWithoutImage() throws Exception {
+        given(userService.retrieveAuthenticatedUserSnapshot()).willReturn(user.build());
+
+        mockMvc.perform(get("/employees/profileImage"))
+                .andExpect(status().isNotFound());
+
+        then(imageService).should(never()).writeImage(anyString(), any());
+    }
+
+    @DisplayName("Respond with not modified when the browser already has the image")
+    @Test
+    void renderImageFromDBNotModified() throws Exception {
+        given(userService.retrieveAuthenticatedUserSnapshot()).willReturn(user.imageHash("hash").build());
+
+        mockMvc.perform(get("/employees/profileImage").header("If-None-Match", "\"hash\""))
+                .andExpect(status().isNotModified());
+
+        then(imageService).should(never()).writeImage(anyString(), any());
+    }
 }
\ No newline at end of file
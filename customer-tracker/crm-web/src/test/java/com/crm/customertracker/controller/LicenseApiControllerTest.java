@@ -0,0 +1,55 @@
+package com.crm.customertracker.controller;
+
+import com.crm.customertracker.dto.LicenseDto;
+import com.crm.customertracker.pagination.KeysetPage;
+import com.crm.customertracker.service.CustomerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class LicenseApiControllerTest {
+    @Mock
+    CustomerService customerService;
+
+    @InjectMocks
+    LicenseApiController licenseApiController;
+
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(licenseApiController).build();
+    }
+
+    @DisplayName("List a page of licenses with their customer's ID")
+    @Test
+    void listLicenses() throws Exception {
+        given(customerService.findPaginatedLicenses(null, 10, "licenseName", "asc"))
+                .willReturn(new KeysetPage<>(List.of(new LicenseDto(3, "Office", null, null, 1)), null, null));
+
+        mockMvc.perform(get("/api/v1/licenses").param("limit", "10").param("sortField", "licenseName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].licenseName").value("Office"))
+                .andExpect(jsonPath("$.content[0].customerId").value(1));
+    }
+
+    @DisplayName("Reject sorting by the customer's ID, which isn't a License attribute")
+    @Test
+    void rejectCustomerIdSortField() throws Exception {
+        mockMvc.perform(get("/api/v1/licenses").param("sortField", "customerId"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -1,6 +1,8 @@
 package com.crm.customertracker.controller;
 
-import com.crm.customertracker.entity.security.User;
+import com.crm.customertracker.dto.LicenseDto;
+import com.crm.customertracker.entity.security.AuthenticatedUserSnapshot;
+import com.crm.customertracker.pagination.KeysetPage;
 import com.crm.customertracker.service.CustomerService;
 import com.crm.customertracker.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +16,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
@@ -41,7 +45,8 @@ class LicenseControllerTest {
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(licenseController).build();
 
-        given(userService.retrieveAuthenticatedPrincipalByUsername()).willReturn(User.builder().firstName("Tom").build());
+        given(userService.retrieveAuthenticatedUserSnapshot())
+                .willReturn(AuthenticatedUserSnapshot.builder().firstName("Tom").build());
     }
 
     @DisplayName("Display a list of licenses")
@@ -81,4 +86,33 @@ class LicenseControllerTest {
                 .andExpect(model().attributeExists("currentPage", "totalPages", "totalItems",
                         "sortField", "sortDirection", "reverseSortDirection", "licenses"));
     }
-}
\ No newline at end of file
+
+    @DisplayName("Display a page of licenses seeking from a cursor")
+    @Test
+    void findPaginatedLicensesWithCursor() throws Exception {
+        given(customerService.findPaginatedLicenses("cursor", PAGE_SIZE, SORT_FIELD, SORT_DIRECTION))
+                .willReturn(new KeysetPage<>(List.of(new LicenseDto(1, "Photoshop", null, null, 1)), null, "previous"));
+        given(customerService.countLicenses()).willReturn(6L);
+
+        mockMvc.perform(get("/licenses/page/2")
+                        .param("sortField", SORT_FIELD)
+                        .param("sortDirection", SORT_DIRECTION)
+                        .param("cursor", "cursor"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("customers/list-licenses"))
+                .andExpect(model().attribute("previousCursor", "previous"))
+                .andExpect(model().attribute("totalPages", 2))
+                .andExpect(model().attributeExists("licenses"));
+    }
+
+    @DisplayName("Reject a page of licenses sorted by a field that isn't listed")
+    @Test
+    void findPaginatedLicensesUnknownSortField() throws Exception {
+        mockMvc.perform(get("/licenses/page/1")
+                        .param("sortField", "customer")
+                        .param("sortDirection", SORT_DIRECTION))
+                .andExpect(status().isBadRequest());
+
+        then(customerService).shouldHaveNoInteractions();
+    }
+}
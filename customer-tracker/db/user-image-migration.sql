@@ -0,0 +1,20 @@
+USE spring_security_custom_user;
+
+-- Moves the profile images of a database created before the user_image table (when the image was a column of
+-- user) into user_image, filling in the SHA-256 content hash and size, then drops the old column.
+-- Run once before starting the application on such a database.
+
+CREATE TABLE IF NOT EXISTS user_image (
+	user_id INT NOT NULL PRIMARY KEY,
+	content MEDIUMBLOB,
+	content_hash CHAR(64),
+	size BIGINT NOT NULL,
+	FOREIGN KEY(user_id) REFERENCES user(id)
+	ON DELETE CASCADE ON UPDATE NO ACTION
+);
+
+-- An image already uploaded into user_image is newer than the one on the user row, so it is kept
+INSERT IGNORE INTO user_image (user_id, content, content_hash, size)
+	SELECT id, image, SHA2(image, 256), LENGTH(image) FROM user WHERE image IS NOT NULL;
+
+ALTER TABLE user DROP COLUMN image;
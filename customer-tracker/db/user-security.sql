@@ -11,7 +11,7 @@ CREATE TABLE user (
     	first_name VARCHAR(50) NOT NULL,
     	last_name VARCHAR(50) NOT NULL,
     	email VARCHAR(50) NOT NULL,
-	image MEDIUMBLOB
+	snapshot_version BIGINT NOT NULL DEFAULT 0
 );
 
 INSERT INTO user (username, password, first_name, last_name, email) VALUES 
@@ -19,6 +19,17 @@ INSERT INTO user (username, password, first_name, last_name, email) VALUES
 	('rob@gmail.com','$2a$12$ZQ7ZB8IQplDGcQnknYWRq.JKk1nTZ18I.SwA1sVanHYilR9eDuDAm','Rob','Public','RP@gmail.com'),
 	('Mary','$2a$04$eFytJDGtjbThXa80FyOOBuFdK2IwjyWefYkMpiBEFlpBwDH.5PM0K','Mary','Adams','maryadams6@hotmail.com');
 
+DROP TABLE IF EXISTS user_image;
+
+CREATE TABLE user_image (
+	user_id INT NOT NULL PRIMARY KEY,
+	content MEDIUMBLOB,
+	content_hash CHAR(64),
+	size BIGINT NOT NULL,
+	FOREIGN KEY(user_id) REFERENCES user(id)
+	ON DELETE CASCADE ON UPDATE NO ACTION
+);
+
 DROP TABLE IF EXISTS role;
 
 CREATE TABLE role (
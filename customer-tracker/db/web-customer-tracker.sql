@@ -35,4 +35,19 @@ INSERT INTO license(license_name, start_date, expiration_date, customer_id)
         ('Illustrator', '2010/12/15 05:41:32', '2020/12/15 05:41:32', 4),
         ('Photoshop', '2014/06/30 03:42:45', '2020/06/30 03:42:45', 1),
 		('Dreamweaver', '2014/06/30 07:14:25', '2025/06/30 07:14:25', 1),
-		('Indesign', '2014/06/30 11:56:44', '2019/06/30 11:56:44', 1);
\ No newline at end of file
+		('Indesign', '2014/06/30 11:56:44', '2019/06/30 11:56:44', 1);
+
+DROP TABLE IF EXISTS id_generator;
+
+-- Last ID handed out for each table, by Hibernate in blocks (must be at least the highest ID inserted above;
+-- the application also moves them up to MAX(id) at startup, for databases created before this table)
+CREATE TABLE id_generator (
+	sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+	next_val BIGINT DEFAULT NULL
+);
+
+INSERT INTO id_generator(sequence_name, next_val)
+	SELECT 'customer', COALESCE(MAX(id), 0) FROM customer;
+
+INSERT INTO id_generator(sequence_name, next_val)
+	SELECT 'license', COALESCE(MAX(id), 0) FROM license;
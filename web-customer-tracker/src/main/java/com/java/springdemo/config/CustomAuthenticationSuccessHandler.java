@@ -15,6 +15,7 @@ import org.springframework.stereotype.Component;
 
 import com.java.springdemo.entity.User;
 import com.java.springdemo.service.UserService;
+import com.java.springdemo.user.SessionUser;
 
 @Component
 public class CustomAuthenticationSuccessHandler implements AuthenticationSuccessHandler {
@@ -34,9 +35,9 @@ public class CustomAuthenticationSuccessHandler implements AuthenticationSuccess
 
 		User theUser = userService.findByUserName(userName);
 		
-		// Place a User found in DB into a HTTP Session
+		// Place a compact copy of the User found in DB into a HTTP Session, not the User entity itself
 		HttpSession session = request.getSession();
-		session.setAttribute("user", theUser);
+		session.setAttribute("user", SessionUser.of(theUser));
 		
 		// Forward that User to employees mapping when authentication (logging in) was successfully
 		response.sendRedirect(request.getContextPath() + "/employees");
@@ -1,7 +1,13 @@
 package com.java.springdemo.dao;
 
+import java.util.List;
+
 import com.java.springdemo.entity.Role;
 
 public interface RoleDAO {
 	Role findRoleByName(String roleName);
+	
+	List<Role> findAll();
+	
+	Role getReference(int roleId);
 }
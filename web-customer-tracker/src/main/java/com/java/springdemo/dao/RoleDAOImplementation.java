@@ -1,5 +1,7 @@
 package com.java.springdemo.dao;
 
+import java.util.List;
+
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.query.Query;
@@ -32,4 +34,19 @@ public class RoleDAOImplementation implements RoleDAO {
 		
 		return role;
 	}
+	
+	@Override
+	public List<Role> findAll() {
+		Session currentSession = sessionFactory.getCurrentSession();
+		
+		return currentSession.createQuery("FROM Role", Role.class).getResultList();
+	}
+	
+	@Override
+	public Role getReference(int roleId) {
+		Session currentSession = sessionFactory.getCurrentSession();
+		
+		// Uninitialized proxy of the Role, obtained without querying the DB
+		return currentSession.load(Role.class, roleId);
+	}
 }
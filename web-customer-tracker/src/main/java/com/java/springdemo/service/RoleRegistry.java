@@ -0,0 +1,63 @@
+package com.java.springdemo.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.jboss.logging.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.java.springdemo.dao.RoleDAO;
+import com.java.springdemo.entity.Role;
+
+// Every Role by its name, loaded once into an immutable map so registering a User resolves its Roles without
+// a query per Role. Roles are only ever inserted, so the map is reloaded every 10 minutes.
+@Component
+public class RoleRegistry {
+	@Autowired
+	private RoleDAO roleDAO;
+	
+	private Logger logger = Logger.getLogger(getClass().getName());
+	
+	// Replaced as a whole by every refresh
+	private volatile Map<String, Role> rolesByName = Map.of();
+	
+	@EventListener(ContextRefreshedEvent.class)
+	@Scheduled(initialDelay = 600000, fixedDelay = 600000)
+	@Transactional("securityTransactionManager")
+	public void refresh() {
+		Map<String, Role> roles = roleDAO.findAll().stream()
+				.collect(Collectors.toUnmodifiableMap(Role::getName, Function.identity()));
+		
+		rolesByName = roles;
+		logger.info("Role registry loaded " + roles.size() + " roles");
+	}
+	
+	// Resolve the Roles of the given names in the same order, throwing for a name no Role has.
+	// The User's Roles cascade on save, so the current Session gets references of its own instead of the
+	// shared Roles, which saveOrUpdate would otherwise re-attach and UPDATE.
+	@Transactional("securityTransactionManager")
+	public List<Role> resolve(List<String> roleNames) {
+		Map<String, Role> roles = rolesByName;
+		List<Role> resolved = new ArrayList<>(roleNames.size());
+		
+		for (String roleName : roleNames) {
+			Role role = roles.get(roleName);
+			
+			if (role == null) {
+				throw new IllegalArgumentException("Role not found: " + roleName);
+			}
+			
+			resolved.add(roleDAO.getReference(role.getId()));
+		}
+		
+		return resolved;
+	}
+}
@@ -1,6 +1,5 @@
 package com.java.springdemo.service;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -14,7 +13,6 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.java.springdemo.dao.RoleDAO;
 import com.java.springdemo.dao.UserDAO;
 import com.java.springdemo.entity.Role;
 import com.java.springdemo.entity.User;
@@ -26,7 +24,7 @@ public class UserServiceImplementation implements UserService {
 	private UserDAO userDAO;
 	
 	@Autowired
-	private RoleDAO roleDAO;
+	private RoleRegistry roleRegistry;
 
 	@Autowired
 	private BCryptPasswordEncoder passwordEncoder;
@@ -66,16 +64,9 @@ public class UserServiceImplementation implements UserService {
 		user.setLastName(registerUser.getLastName());
 		user.setEmail(registerUser.getEmail());
 		
-		user.setRoles(userRoles(roles));
+		// Resolve the Roles from the Role registry, so registering only runs the User's insert
+		user.setRoles(roleRegistry.resolve(roles));
 
 		userDAO.save(user);
 	}
-	
-	private List<Role> userRoles(List<String> roles) {
-		List<Role> userRoles = new ArrayList<>();
-		for (String role : roles) {
-			userRoles.add(roleDAO.findRoleByName(role));
-		}
-		return userRoles;
-	}
 }
@@ -0,0 +1,56 @@
+package com.java.springdemo.user;
+
+import java.io.Serializable;
+
+import com.java.springdemo.entity.User;
+
+// Immutable copy of the logged in User's identity, kept in the HTTP Session instead of the User entity.
+// The entity carries its lazily loaded Roles and isn't serializable, this copy is a few hundred bytes.
+public final class SessionUser implements Serializable {
+	private static final long serialVersionUID = 1L;
+	
+	private final int id;
+	private final String username;
+	private final String firstName;
+	private final String lastName;
+	private final String email;
+	
+	public SessionUser(int id, String username, String firstName, String lastName, String email) {
+		this.id = id;
+		this.username = username;
+		this.firstName = firstName;
+		this.lastName = lastName;
+		this.email = email;
+	}
+	
+	public static SessionUser of(User user) {
+		return new SessionUser(user.getId(), user.getUsername(), user.getFirstName(), user.getLastName(),
+				user.getEmail());
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public String getFirstName() {
+		return firstName;
+	}
+
+	public String getLastName() {
+		return lastName;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	@Override
+	public String toString() {
+		return "SessionUser [id=" + id + ", username=" + username + ", firstName=" + firstName + ", lastName="
+				+ lastName + ", email=" + email + "]";
+	}
+}
@@ -1,12 +1,33 @@
 package com.java.springdemo.validator;
 
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeanWrapperImpl;
 
 
 public class FieldMatchValidator implements ConstraintValidator<FieldMatch, Object> {
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	// Getter of every (class, property) compared so far, resolved once and shared by all validator instances.
+	// An empty Optional marks a property without a plain getter (e.g. a nested path), which is read through a BeanWrapper.
+	private static final ClassValue<Map<String, Optional<MethodHandle>>> GETTERS = new ClassValue<>() {
+		@Override
+		protected Map<String, Optional<MethodHandle>> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
 	private String firstFieldName;
 	private String secondFieldName;
 	private String message;
@@ -21,9 +42,10 @@ public class FieldMatchValidator implements ConstraintValidator<FieldMatch, Obje
 	@Override
 	public boolean isValid(final Object value, final ConstraintValidatorContext context) {
 		boolean valid = true;
+		
 		try {
-			final Object firstObj = new BeanWrapperImpl(value).getPropertyValue(firstFieldName);
-			final Object secondObj = new BeanWrapperImpl(value).getPropertyValue(secondFieldName);
+			final Object firstObj = getPropertyValue(value, firstFieldName);
+			final Object secondObj = getPropertyValue(value, secondFieldName);
 
 			valid = firstObj == null && secondObj == null || firstObj != null && firstObj.equals(secondObj);
 		} catch (final Exception ignore) {
@@ -39,4 +61,41 @@ public class FieldMatchValidator implements ConstraintValidator<FieldMatch, Obje
 
 		return valid;
 	}
+
+	// Helper method: Read the property through its cached getter, same as BeanWrapperImpl.getPropertyValue()
+	static Object getPropertyValue(Object bean, String propertyName) throws Exception {
+		Optional<MethodHandle> getter = GETTERS.get(bean.getClass())
+				.computeIfAbsent(propertyName, name -> findGetter(bean.getClass(), name));
+
+		if (getter.isEmpty()) {
+			return new BeanWrapperImpl(bean).getPropertyValue(propertyName);
+		}
+
+		try {
+			return (Object) getter.get().invokeExact(bean);
+		} catch (Exception | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	// Helper method: Resolve the property's getter as a MethodHandle of type (Object) -> Object
+	private static Optional<MethodHandle> findGetter(Class<?> type, String propertyName) {
+		PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, propertyName);
+		Method readMethod = descriptor != null ? descriptor.getReadMethod() : null;
+
+		if (readMethod == null) {
+			return Optional.empty();
+		}
+
+		try {
+			// Getters declared by non-public classes need their access check suppressed, as BeanWrapperImpl does
+			readMethod.trySetAccessible();
+
+			return Optional.of(MethodHandles.lookup().unreflect(readMethod).asType(GETTER_TYPE));
+		} catch (IllegalAccessException e) {
+			return Optional.empty();
+		}
+	}
 }